@@ -17,6 +17,7 @@
 package rife.bld.extension.propertyfile;
 
 import java.util.function.IntFunction;
+import java.util.function.LongUnaryOperator;
 
 /**
  * Implements the calculation functions.
@@ -31,10 +32,18 @@ public final class Calc {
      * The add function.
      */
     public static final IntFunction<Integer> ADD = Calc::add;
+    /**
+     * The add function for {@link EntryLong long} values.
+     */
+    public static final LongUnaryOperator ADD_LONG = Calc::add;
     /**
      * The sub function.
      */
     public static final IntFunction<Integer> SUB = Calc::sub;
+    /**
+     * The sub function for {@link EntryLong long} values.
+     */
+    public static final LongUnaryOperator SUB_LONG = Calc::sub;
 
 
     private Calc() {
@@ -51,6 +60,16 @@ public final class Calc {
         return v + 1;
     }
 
+    /**
+     * Adds {@code 1} to the value.
+     *
+     * @param v the value
+     * @return the new value
+     */
+    public static long add(long v) {
+        return v + 1;
+    }
+
     /**
      * Subtracts {@code 1} to the value.
      *
@@ -60,5 +79,14 @@ public final class Calc {
     public static Integer sub(int v) {
         return v - 1;
     }
-}
 
+    /**
+     * Subtracts {@code 1} to the value.
+     *
+     * @param v the value
+     * @return the new value
+     */
+    public static long sub(long v) {
+        return v - 1;
+    }
+}
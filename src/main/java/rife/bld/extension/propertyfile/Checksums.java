@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes the checksum of files and directory trees.
+ * <p>
+ * Files are hashed in parallel, large files through memory-mapped reads. The digest of each file is cached by
+ * path, and reused as long as the file key, e.g. the inode, the last modified time and the size are the same, so
+ * unchanged files are not hashed again. A file rewritten in place with the same size within the resolution of the
+ * modified time, or whose modified time was restored, is therefore not detected.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class Checksums {
+
+    private static final Map<CacheKey, CachedDigest> CACHE = new ConcurrentHashMap<>();
+    private static final long MAP_CHUNK = 64L * 1024 * 1024;
+    private static final long MAP_THRESHOLD = 64L * 1024;
+
+    private Checksums() {
+        // no-op
+    }
+
+    /**
+     * Computes the checksum of files and directory trees.
+     *
+     * @param files     the files and directories
+     * @param includes  the glob patterns matching the files to include from directories, all if empty
+     * @param algorithm the {@link MessageDigest} algorithm
+     * @return the checksum, as a lowercase hexadecimal string
+     * @throws IOException              if a file could not be read
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     */
+    static String checksum(List<Path> files, List<String> includes, String algorithm)
+            throws IOException, NoSuchAlgorithmException {
+        var md = MessageDigest.getInstance(algorithm);
+        var matchers = includes.stream()
+                .map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob))
+                .collect(Collectors.toList());
+
+        byte[] digest = null;
+        for (var file : files) {
+            var rootDigest = Files.isDirectory(file) ? tree(file, matchers, algorithm) : digest(file, algorithm);
+            if (files.size() == 1) {
+                digest = rootDigest;
+            } else {
+                md.update(rootDigest);
+            }
+        }
+        return HexFormat.of().formatHex(digest != null ? digest : md.digest());
+    }
+
+    // Digests a single file, using the cached digest if the file has not changed.
+    private static byte[] digest(Path file, String algorithm) throws IOException {
+        var attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        var key = new CacheKey(algorithm, file.toAbsolutePath().normalize());
+        var cached = CACHE.get(key);
+        if (cached != null && cached.size() == attrs.size() && cached.lastModified().equals(attrs.lastModifiedTime())
+                && Objects.equals(cached.fileKey(), attrs.fileKey())) {
+            return cached.digest();
+        }
+
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        if (attrs.size() < MAP_THRESHOLD) {
+            md.update(Files.readAllBytes(file));
+        } else {
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                var size = channel.size();
+                for (var pos = 0L; pos < size; pos += MAP_CHUNK) {
+                    md.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_CHUNK, size - pos)));
+                }
+            }
+        }
+        var digest = md.digest();
+        CACHE.put(key, new CachedDigest(attrs.fileKey(), attrs.lastModifiedTime(), attrs.size(), digest));
+        return digest;
+    }
+
+    /**
+     * Returns the path of a file relative to a directory, always separated by {@code /}.
+     *
+     * @param root the directory
+     * @param file the file
+     * @return the relative path
+     */
+    static String relativePath(Path root, Path file) {
+        var sb = new StringBuilder();
+        for (var name : root.relativize(file)) {
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(name);
+        }
+        return sb.toString();
+    }
+
+    private static byte[] tree(Path root, List<PathMatcher> matchers, String algorithm)
+            throws IOException, NoSuchAlgorithmException {
+        // sorted by relative path, so that the order is the same on every platform
+        var files = new TreeMap<String, Path>();
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.filter(Files::isRegularFile)
+                    .filter(f -> matchers.isEmpty()
+                            || matchers.stream().anyMatch(m -> m.matches(root.relativize(f))))
+                    .forEach(f -> files.put(relativePath(root, f), f));
+        }
+
+        List<byte[]> digests;
+        try {
+            digests = new ArrayList<>(files.values()).parallelStream().map(f -> {
+                try {
+                    return digest(f, algorithm);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        var md = MessageDigest.getInstance(algorithm);
+        var i = 0;
+        for (var name : files.keySet()) {
+            md.update(name.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(digests.get(i++));
+        }
+        return md.digest();
+    }
+
+    private record CacheKey(String algorithm, Path path) {
+    }
+
+    private record CachedDigest(Object fileKey, FileTime lastModified, long size, byte[] digest) {
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formats date/time values according to a {@link DateTimeFormatter DateTimeFormatter} pattern.
+ * <p>
+ * Fixed-width numeric patterns such as {@code yyyy-MM-dd}, {@code yyyyMMddHHmmss} or
+ * {@code yyyy-MM-dd'T'HH:mm:ss.SSS} are compiled into a template whose digits are written directly into a reusable
+ * buffer. Any other pattern or value is formatted by the {@link DateTimeFormatter}, so the results are always
+ * identical.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class DateCodec {
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+    private static final Map<Key, DateCodec> CACHE = new ConcurrentHashMap<>();
+    private static final int[] POW10 = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000,
+            1_000_000_000};
+
+    private final boolean fast_;
+    private final char[] fields_;
+    private final DateTimeFormatter formatter_;
+    private final boolean hasDate_;
+    private final boolean hasTime_;
+    private final int[] offsets_;
+    private final char[] template_;
+    private final int[] widths_;
+
+    private DateCodec(String pattern, Locale locale) {
+        formatter_ = DateTimeFormatter.ofPattern(pattern, locale);
+
+        var template = new StringBuilder(pattern.length());
+        var fields = new StringBuilder();
+        var offsets = new int[pattern.length()];
+        var widths = new int[pattern.length()];
+        var fast = true;
+        var i = 0;
+        while (fast && i < pattern.length()) {
+            var c = pattern.charAt(i);
+            if (c == '\'') {
+                // quoted literal, '' being an escaped quote, inside or outside of it
+                var end = pattern.indexOf('\'', i + 1);
+                if (end == i + 1) {
+                    template.append('\'');
+                    i = end + 1;
+                } else {
+                    var start = i + 1;
+                    while (end != -1 && end + 1 < pattern.length() && pattern.charAt(end + 1) == '\'') {
+                        template.append(pattern, start, end + 1);
+                        start = end + 2;
+                        end = pattern.indexOf('\'', start);
+                    }
+                    if (end == -1) {
+                        fast = false;
+                    } else {
+                        template.append(pattern, start, end);
+                        i = end + 1;
+                    }
+                }
+            } else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                var count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if (isFixedWidth(c, count)) {
+                    offsets[fields.length()] = template.length();
+                    widths[fields.length()] = count;
+                    fields.append(c);
+                    template.append("0".repeat(count));
+                } else {
+                    fast = false;
+                }
+                i += count;
+            } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                fast = false;
+            } else {
+                template.append(c);
+                i++;
+            }
+        }
+
+        fast_ = fast && fields.length() > 0;
+        fields_ = fields.toString().toCharArray();
+        offsets_ = Arrays.copyOf(offsets, fields_.length);
+        widths_ = Arrays.copyOf(widths, fields_.length);
+        template_ = template.toString().toCharArray();
+
+        var hasDate = false;
+        var hasTime = false;
+        for (var f : fields_) {
+            if (f == 'y' || f == 'u' || f == 'M' || f == 'd') {
+                hasDate = true;
+            } else {
+                hasTime = true;
+            }
+        }
+        hasDate_ = hasDate;
+        hasTime_ = hasTime;
+    }
+
+    /**
+     * Returns the codec for the given pattern, using the default locale.
+     *
+     * @param pattern the {@link DateTimeFormatter DateTimeFormatter} pattern
+     * @return the codec
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    static DateCodec of(String pattern) {
+        return CACHE.computeIfAbsent(new Key(Locale.getDefault(Locale.Category.FORMAT), pattern),
+                k -> new DateCodec(k.pattern(), k.locale()));
+    }
+
+    private static boolean isFixedWidth(char letter, int count) {
+        switch (letter) {
+            case 'y':
+            case 'u':
+                return count == 2 || count == 4;
+            case 'M':
+            case 'd':
+            case 'H':
+            case 'm':
+            case 's':
+                return count == 2;
+            case 'S':
+                return count <= 9;
+            default:
+                return false;
+        }
+    }
+
+    private static void writeDigits(char[] buf, int offset, int width, int value) {
+        var v = value;
+        for (var pos = offset + width - 1; pos >= offset; pos--) {
+            buf[pos] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+    }
+
+    /**
+     * Formats a date/time value.
+     *
+     * @param temporal the value
+     * @return the formatted value
+     * @throws DateTimeException if an error occurs during formatting
+     */
+    String format(TemporalAccessor temporal) {
+        if (!fast_) {
+            return formatter_.format(temporal);
+        }
+
+        int year;
+        int month;
+        int day;
+        int hour;
+        int minute;
+        int second;
+        int nano;
+        var local = temporal;
+        if (temporal instanceof ZonedDateTime) {
+            local = ((ZonedDateTime) temporal).toLocalDateTime();
+        } else if (temporal instanceof OffsetDateTime) {
+            local = ((OffsetDateTime) temporal).toLocalDateTime();
+        }
+
+        if (local instanceof LocalDateTime) {
+            var dt = (LocalDateTime) local;
+            year = dt.getYear();
+            month = dt.getMonthValue();
+            day = dt.getDayOfMonth();
+            hour = dt.getHour();
+            minute = dt.getMinute();
+            second = dt.getSecond();
+            nano = dt.getNano();
+        } else if (local instanceof LocalDate && !hasTime_) {
+            var d = (LocalDate) local;
+            year = d.getYear();
+            month = d.getMonthValue();
+            day = d.getDayOfMonth();
+            hour = minute = second = nano = 0;
+        } else if (local instanceof LocalTime && !hasDate_) {
+            var t = (LocalTime) local;
+            year = month = day = 1;
+            hour = t.getHour();
+            minute = t.getMinute();
+            second = t.getSecond();
+            nano = t.getNano();
+        } else {
+            // unsupported fields are reported by the formatter
+            return formatter_.format(temporal);
+        }
+
+        if (year < 1 || year > 9999) {
+            // signs, eras and wider years are left to the formatter
+            return formatter_.format(temporal);
+        }
+
+        var buf = BUFFER.get();
+        if (buf.length < template_.length) {
+            buf = new char[template_.length];
+            BUFFER.set(buf);
+        }
+        System.arraycopy(template_, 0, buf, 0, template_.length);
+
+        for (var i = 0; i < fields_.length; i++) {
+            var width = widths_[i];
+            int value;
+            switch (fields_[i]) {
+                case 'y':
+                case 'u':
+                    value = width == 2 ? year % 100 : year;
+                    break;
+                case 'M':
+                    value = month;
+                    break;
+                case 'd':
+                    value = day;
+                    break;
+                case 'H':
+                    value = hour;
+                    break;
+                case 'm':
+                    value = minute;
+                    break;
+                case 's':
+                    value = second;
+                    break;
+                default:
+                    // fraction of second, truncated
+                    value = nano / POW10[9 - width];
+                    break;
+            }
+            writeDigits(buf, offsets_[i], width, value);
+        }
+        return new String(buf, 0, template_.length);
+    }
+
+    /**
+     * Returns {@code true} if the pattern was compiled into a fixed-width template.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean isFast() {
+        return fast_;
+    }
+
+    private record Key(Locale locale, String pattern) {
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Orders {@link EntryDerived derived entries} so that each entry is evaluated after the derived entries it
+ * references.
+ * <p>
+ * Entries that are part of, or depend on, a circular reference are excluded from the order and reported instead.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class DerivedEntries {
+
+    private final List<String> cyclic_ = new ArrayList<>();
+    private final List<EntryDerived> ordered_ = new ArrayList<>();
+
+    /**
+     * Creates a new dependency graph of derived entries.
+     *
+     * @param entries the derived entries, a later entry replacing an earlier one with the same key
+     */
+    DerivedEntries(List<EntryDerived> entries) {
+        var nodes = new LinkedHashMap<String, EntryDerived>();
+        for (var entry : entries) {
+            nodes.put(entry.key(), entry);
+        }
+
+        // Kahn's algorithm, visiting ready entries in declaration order
+        var inDegree = new HashMap<String, Integer>();
+        var dependents = new HashMap<String, List<String>>();
+        for (var node : nodes.values()) {
+            var degree = 0;
+            for (var ref : node.expression().references()) {
+                if (nodes.containsKey(ref)) {
+                    dependents.computeIfAbsent(ref, k -> new ArrayList<>()).add(node.key());
+                    degree++;
+                }
+            }
+            inDegree.put(node.key(), degree);
+        }
+
+        var ready = new ArrayDeque<String>();
+        for (var key : nodes.keySet()) {
+            if (inDegree.get(key) == 0) {
+                ready.add(key);
+            }
+        }
+        while (!ready.isEmpty()) {
+            var key = ready.poll();
+            ordered_.add(nodes.get(key));
+            for (var dependent : dependents.getOrDefault(key, List.of())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (ordered_.size() < nodes.size()) {
+            for (var key : nodes.keySet()) {
+                if (inDegree.get(key) > 0) {
+                    cyclic_.add(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the keys of the entries that could not be ordered because of a circular reference.
+     *
+     * @return the keys, empty if none
+     */
+    List<String> cyclic() {
+        return cyclic_;
+    }
+
+    /**
+     * Returns the entries in evaluation order.
+     *
+     * @return the ordered entries
+     */
+    List<EntryDerived> ordered() {
+        return ordered_;
+    }
+}
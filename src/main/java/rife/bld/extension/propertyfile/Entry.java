@@ -17,6 +17,7 @@
 package rife.bld.extension.propertyfile;
 
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * Declares the modifications to be made to a {@link java.util.Properties String-based property}.
@@ -27,6 +28,7 @@ import java.util.function.BiFunction;
  */
 public class Entry extends EntryBase<Entry> {
 
+    private boolean isInterpolate_;
     private String modifyValue_ = "";
     private BiFunction<String, String, String> modify_;
 
@@ -39,6 +41,17 @@ public class Entry extends EntryBase<Entry> {
         super(key);
     }
 
+    /**
+     * Indicates that {@code ${key}} references in the value are to be resolved against the other
+     * {@link java.util.Properties properties}, environment variables and system properties.
+     *
+     * @return the entry
+     */
+    public Entry interpolate() {
+        isInterpolate_ = true;
+        return this;
+    }
+
     /**
      * Sets the modify function.
      *
@@ -72,6 +85,29 @@ public class Entry extends EntryBase<Entry> {
         return this;
     }
 
+    /**
+     * Sets the new {@link java.util.Properties property} value to the result of a supplier.
+     * <p>
+     * The supplier is only called when the entry is applied, and at most once. A {@code null} supplier is the same
+     * as a {@code null} value.
+     *
+     * @param s The new value supplier
+     * @return the entry
+     */
+    public Entry set(Supplier<?> s) {
+        newValue(LazyValue.of(s));
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if references in the value are to be resolved.
+     *
+     * @return {@code true} or {@code false}
+     */
+    protected boolean isInterpolate() {
+        return isInterpolate_;
+    }
+
     /**
      * Returns the modify function.
      *
@@ -17,6 +17,7 @@
 package rife.bld.extension.propertyfile;
 
 import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * Declares the modifications to be made to a {@link java.util.Properties property}.
@@ -76,6 +77,19 @@ public abstract class EntryBase<T> {
         return (T) this;
     }
 
+    /**
+     * Sets the initial value to set the {@link java.util.Properties property} to, if not already defined.
+     * <p>
+     * The supplier is only called if the default value is needed, and at most once. A {@code null} supplier is the
+     * same as a {@code null} value.
+     *
+     * @param defaultValue the default value supplier
+     */
+    public T defaultValue(Supplier<?> defaultValue) {
+        defaultValue_ = LazyValue.of(defaultValue);
+        return (T) this;
+    }
+
     /**
      * Indicates that the {@link java.util.Properties property} is to be deleted.
      */
@@ -120,7 +134,7 @@ public abstract class EntryBase<T> {
      * @return the default value
      */
     protected Object defaultValue() {
-        return defaultValue_;
+        return LazyValue.resolve(defaultValue_);
     }
 
     /**
@@ -141,13 +155,31 @@ public abstract class EntryBase<T> {
         return key_;
     }
 
+    /**
+     * Returns the default value supplier, if any.
+     *
+     * @return the lazy default value, or {@code null}
+     */
+    LazyValue lazyDefaultValue() {
+        return defaultValue_ instanceof LazyValue ? (LazyValue) defaultValue_ : null;
+    }
+
+    /**
+     * Returns the new value supplier, if any.
+     *
+     * @return the lazy new value, or {@code null}
+     */
+    LazyValue lazyNewValue() {
+        return newValue_ instanceof LazyValue ? (LazyValue) newValue_ : null;
+    }
+
     /**
      * Returns the new value to set the {@link java.util.Properties property)} to.
      *
      * @return the new value
      */
     protected Object newValue() {
-        return newValue_;
+        return LazyValue.resolve(newValue_);
     }
 
     /**
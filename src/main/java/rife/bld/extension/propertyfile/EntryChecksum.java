@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Declares a {@link java.util.Properties property} set to the checksum of files or directory trees.
+ * <p>
+ * The checksum of a single file is the digest of its content. The checksum of a directory tree combines the path,
+ * relative to the directory, and the digest of each file, in path order, so it only changes if a file is added,
+ * removed, renamed or modified. Multiple files or trees are combined in the order they were specified.
+ * <p>
+ * The digest of each file is cached for the lifetime of the build, and only computed again if the size, the last
+ * modified time or the file key, e.g. the inode, of the file changed. A file modified in place without changing its
+ * size, within the resolution of the file system's modified time, or whose modified time was restored afterward, keeps
+ * its previous digest.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryChecksum extends EntryBase<EntryChecksum> {
+
+    private final List<Path> files_ = new ArrayList<>();
+    private final List<String> includes_ = new ArrayList<>();
+    private String algorithm_ = "SHA-256";
+
+    /**
+     * Creates a new {@link EntryChecksum entry}.
+     *
+     * @param key the required property key
+     */
+    public EntryChecksum(String key) {
+        super(key);
+    }
+
+    /**
+     * Sets the {@link java.security.MessageDigest MessageDigest} algorithm, defaults to {@code SHA-256}.
+     *
+     * @param algorithm the algorithm
+     * @return this instance
+     */
+    public EntryChecksum algorithm(String algorithm) {
+        algorithm_ = algorithm;
+        return this;
+    }
+
+    /**
+     * Adds a file or directory tree to compute the checksum of.
+     *
+     * @param file the file or directory
+     * @return this instance
+     */
+    public EntryChecksum file(File file) {
+        return file(file.toPath());
+    }
+
+    /**
+     * Adds a file or directory tree to compute the checksum of.
+     *
+     * @param file the file or directory
+     * @return this instance
+     */
+    public EntryChecksum file(Path file) {
+        files_.add(file);
+        return this;
+    }
+
+    /**
+     * Adds a file or directory tree to compute the checksum of.
+     *
+     * @param file the file or directory
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public EntryChecksum file(String file) {
+        return file(Path.of(file));
+    }
+
+    /**
+     * Only includes the files of directory trees matching any of the given glob patterns, e.g.
+     * {@code **}{@code /*.properties}.
+     * <p>
+     * The patterns are matched against the path of the file relative to its directory.
+     *
+     * @param globs the glob patterns
+     * @return this instance
+     */
+    public EntryChecksum include(String... globs) {
+        Collections.addAll(includes_, globs);
+        return this;
+    }
+
+    /**
+     * Returns the algorithm.
+     *
+     * @return the algorithm
+     */
+    protected String algorithm() {
+        return algorithm_;
+    }
+
+    /**
+     * Returns the files and directories.
+     *
+     * @return the files and directories
+     */
+    protected List<Path> files() {
+        return Collections.unmodifiableList(files_);
+    }
+
+    /**
+     * Returns the glob patterns.
+     *
+     * @return the glob patterns
+     */
+    protected List<String> includes() {
+        return Collections.unmodifiableList(includes_);
+    }
+}
@@ -19,6 +19,7 @@ package rife.bld.extension.propertyfile;
 import java.time.*;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.function.Supplier;
 
 /**
  * Declares the modifications to be made to a {@link java.util.Properties Date-based property}.
@@ -138,6 +139,20 @@ public class EntryDate extends EntryBase<EntryDate> {
         return this;
     }
 
+    /**
+     * Sets the new {@link java.util.Properties property} value to the result of a supplier.
+     * <p>
+     * The supplier is only called when the entry is applied, and at most once. A {@code null} supplier is the same
+     * as a {@code null} value.
+     *
+     * @param date the supplier of the date or time to set the value to
+     * @return this instance
+     */
+    public EntryDate set(Supplier<?> date) {
+        newValue(LazyValue.of(date));
+        return this;
+    }
+
     /**
      * Returns the {@link EntryDate.Units unit}.
      *
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.UnaryOperator;
+
+/**
+ * Declares the modifications to be made to a {@link java.util.Properties BigDecimal-based property}.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryDecimal extends EntryBase<EntryDecimal> {
+
+    private UnaryOperator<BigDecimal> calcDecimal_;
+    private RoundingMode roundingMode_ = RoundingMode.HALF_EVEN;
+    private Integer scale_;
+
+    /**
+     * Creates a new {@link EntryDecimal entry}.
+     *
+     * @param key the required property key
+     */
+    public EntryDecimal(String key) {
+        super(key);
+    }
+
+    /**
+     * Sets the calculation function, which operates on {@link BigDecimal} values.
+     * <p>
+     * Takes precedence over the {@link #calc(java.util.function.IntFunction) int-based} function, which can only be
+     * applied to integral values within the {@code int} range.
+     *
+     * @param calc the calc function
+     * @return this instance
+     */
+    public EntryDecimal calcDecimal(UnaryOperator<BigDecimal> calc) {
+        calcDecimal_ = calc;
+        return this;
+    }
+
+    /**
+     * Sets the {@link java.text.DecimalFormat DecimalFormat} pattern.
+     * <p>
+     * If no pattern is specified, the value is written in plain notation.
+     *
+     * @param pattern the pattern
+     * @return this instance
+     */
+    public EntryDecimal pattern(String pattern) {
+        super.pattern(pattern);
+        return this;
+    }
+
+    /**
+     * Returns the {@link RoundingMode rounding mode}.
+     *
+     * @return the rounding mode
+     */
+    public RoundingMode roundingMode() {
+        return roundingMode_;
+    }
+
+    /**
+     * Sets the {@link RoundingMode rounding mode} used when applying the {@link #scale(int) scale} or the
+     * {@link #pattern(String) pattern}. Defaults to {@link RoundingMode#HALF_EVEN HALF_EVEN}.
+     *
+     * @param roundingMode the rounding mode
+     * @return this instance
+     */
+    public EntryDecimal roundingMode(RoundingMode roundingMode) {
+        roundingMode_ = roundingMode;
+        return this;
+    }
+
+    /**
+     * Returns the scale, if any.
+     *
+     * @return the scale, or {@code null}
+     */
+    public Integer scale() {
+        return scale_;
+    }
+
+    /**
+     * Sets the scale, i.e. the number of digits to the right of the decimal point, of the value.
+     *
+     * @param scale the scale
+     * @return this instance
+     */
+    public EntryDecimal scale(int scale) {
+        scale_ = scale;
+        return this;
+    }
+
+    /**
+     * Sets the new {@link java.util.Properties property} value to a {@link BigDecimal}.
+     *
+     * @param d The {@link BigDecimal} to set the value to
+     * @return this instance
+     */
+    public EntryDecimal set(BigDecimal d) {
+        newValue(d);
+        return this;
+    }
+
+    /**
+     * Sets the new {@link java.util.Properties property} value to a double.
+     *
+     * @param d The double to set the value to
+     * @return this instance
+     */
+    public EntryDecimal set(double d) {
+        newValue(BigDecimal.valueOf(d));
+        return this;
+    }
+
+    /**
+     * Sets the new {@link java.util.Properties property} value to a long.
+     *
+     * @param l The long to set the value to
+     * @return this instance
+     */
+    public EntryDecimal set(long l) {
+        newValue(BigDecimal.valueOf(l));
+        return this;
+    }
+
+    /**
+     * Returns the {@link BigDecimal} calculation function.
+     *
+     * @return the calc function
+     */
+    protected UnaryOperator<BigDecimal> calcDecimal() {
+        return calcDecimal_;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+/**
+ * Declares a {@link java.util.Properties property} whose value is derived from other properties, e.g.
+ * {@code ${version.major}.${version.minor}.${version.patch}}.
+ * <p>
+ * Derived entries are evaluated after all other entries, in dependency order, so they always reflect the final
+ * values of the properties they reference, including other derived entries.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryDerived extends EntryBase<EntryDerived> {
+
+    private Expression expression_;
+
+    /**
+     * Creates a new {@link EntryDerived entry}.
+     *
+     * @param key the required property key
+     */
+    public EntryDerived(String key) {
+        super(key);
+    }
+
+    /**
+     * Sets the expression used to derive the {@link java.util.Properties property} value.
+     * <p>
+     * Other properties are referenced using the {@code ${key}} syntax, a {@code $${} sequence can be used to
+     * produce a literal {@code ${}.
+     *
+     * @param expression the expression
+     * @return this instance
+     */
+    public EntryDerived expression(String expression) {
+        expression_ = Expression.compile(expression);
+        newValue(expression);
+        return this;
+    }
+
+    /**
+     * Returns the compiled expression.
+     *
+     * @return the expression, or {@code null}
+     */
+    Expression expression() {
+        return expression_;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Declares a {@link java.util.Properties property} set to information about the current Git commit.
+ * <p>
+ * The information is read directly from the {@code .git} directory, without spawning {@code git}, and cached per
+ * repository. If the information is not available, e.g. no tag is reachable, the default value is used, if any.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryGit extends EntryBase<EntryGit> {
+
+    private Path directory_;
+    private Info info_ = Info.COMMIT;
+
+    /**
+     * Creates a new {@link EntryGit entry}.
+     *
+     * @param key the required property key
+     */
+    public EntryGit(String key) {
+        super(key);
+    }
+
+    /**
+     * Sets the directory of the repository, or any of its subdirectories, defaults to the current directory.
+     *
+     * @param directory the directory
+     * @return this instance
+     */
+    public EntryGit directory(File directory) {
+        return directory(directory.toPath());
+    }
+
+    /**
+     * Sets the directory of the repository, or any of its subdirectories, defaults to the current directory.
+     *
+     * @param directory the directory
+     * @return this instance
+     */
+    public EntryGit directory(Path directory) {
+        directory_ = directory;
+        return this;
+    }
+
+    /**
+     * Sets the directory of the repository, or any of its subdirectories, defaults to the current directory.
+     *
+     * @param directory the directory
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public EntryGit directory(String directory) {
+        return directory(Path.of(directory));
+    }
+
+    /**
+     * Sets the {@link Info information} to set the {@link java.util.Properties property} to, defaults to
+     * {@link Info#COMMIT COMMIT}.
+     *
+     * @param info the {@link Info information}
+     * @return this instance
+     */
+    public EntryGit info(Info info) {
+        info_ = info;
+        return this;
+    }
+
+    /**
+     * Returns the directory.
+     *
+     * @return the directory, or {@code null}
+     */
+    protected Path directory() {
+        return directory_;
+    }
+
+    /**
+     * Returns the {@link Info information}.
+     *
+     * @return the {@link Info information}
+     */
+    protected Info info() {
+        return info_;
+    }
+
+    /**
+     * The Git information.
+     */
+    public enum Info {
+        /**
+         * The current branch, or {@code HEAD} if detached, like {@code git rev-parse --abbrev-ref HEAD}.
+         */
+        BRANCH,
+        /**
+         * The commit id, like {@code git rev-parse HEAD}.
+         */
+        COMMIT,
+        /**
+         * The number of commits, like {@code git rev-list --count HEAD}.
+         */
+        COMMIT_COUNT,
+        /**
+         * The abbreviated (7 characters) commit id.
+         */
+        SHORT_COMMIT,
+        /**
+         * The nearest tag reachable from the commit.
+         */
+        TAG,
+        /**
+         * The number of commits since the nearest tag.
+         */
+        TAG_DISTANCE
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Declares the modifications to be made to a {@link java.util.Properties Long-based property}.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryLong extends EntryBase<EntryLong> {
+
+    private LongUnaryOperator calcLong_;
+
+    /**
+     * Creates a new {@link EntryLong entry}.
+     *
+     * @param key the required property key
+     */
+    public EntryLong(String key) {
+        super(key);
+    }
+
+    /**
+     * Sets the calculation function, which operates on {@code long} values.
+     * <p>
+     * Takes precedence over the {@link #calc(java.util.function.IntFunction) int-based} function, which cannot be
+     * applied to values outside the {@code int} range.
+     *
+     * @param calc the calc function
+     * @return this instance
+     */
+    public EntryLong calcLong(LongUnaryOperator calc) {
+        calcLong_ = calc;
+        return this;
+    }
+
+    /**
+     * Sets the {@link java.text.DecimalFormat DecimalFormat} pattern.
+     *
+     * @param pattern the pattern
+     * @return this instance
+     */
+    public EntryLong pattern(String pattern) {
+        super.pattern(pattern);
+        return this;
+    }
+
+    /**
+     * Sets the new {@link java.util.Properties property} value to a long.
+     *
+     * @param l The long to set the value to
+     * @return this instance
+     */
+    public EntryLong set(long l) {
+        newValue(l);
+        return this;
+    }
+
+    /**
+     * Returns the {@code long} calculation function.
+     *
+     * @return the calc function
+     */
+    protected LongUnaryOperator calcLong() {
+        return calcLong_;
+    }
+}
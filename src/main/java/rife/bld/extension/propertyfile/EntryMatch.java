@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Declares the modifications to be made to all the {@link java.util.Properties properties} whose key matches a
+ * regular expression, e.g. {@code .*\.timeout}, and optionally whose value matches a predicate.
+ * <p>
+ * Consecutive match entries are applied together, in a single pass over the keys, and the number of properties
+ * matched by each entry is reported.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryMatch extends EntryBase<EntryMatch> {
+
+    private BiFunction<String, String, String> modify_;
+    private Pattern regex_;
+    private Predicate<String> when_;
+
+    /**
+     * Creates a new {@link EntryMatch entry}.
+     *
+     * @param regex the regular expression that must match the whole key
+     */
+    public EntryMatch(String regex) {
+        super(regex);
+    }
+
+    /**
+     * Sets the function computing the new value of each matching {@link java.util.Properties property}, from its
+     * current value and its key.
+     * <p>
+     * The property is deleted if the function returns {@code null}.
+     *
+     * @param modify the modify function
+     * @return this instance
+     */
+    public EntryMatch modify(BiFunction<String, String, String> modify) {
+        modify_ = modify;
+        return this;
+    }
+
+    /**
+     * Sets the new value of each matching {@link java.util.Properties property}.
+     *
+     * @param value the new value
+     * @return this instance
+     */
+    public EntryMatch set(Object value) {
+        newValue(value);
+        return this;
+    }
+
+    /**
+     * Only modifies the {@link java.util.Properties properties} whose current value matches the predicate, e.g.
+     * {@code v -> Long.parseLong(v) > 30000}.
+     *
+     * @param when the value predicate
+     * @return this instance
+     */
+    public EntryMatch when(Predicate<String> when) {
+        when_ = when;
+        return this;
+    }
+
+    /**
+     * Returns the modify function.
+     *
+     * @return the modify function, or {@code null}
+     */
+    BiFunction<String, String, String> modify() {
+        return modify_;
+    }
+
+    /**
+     * Returns the compiled regular expression.
+     *
+     * @return the regular expression
+     * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+     */
+    Pattern regex() {
+        if (regex_ == null || !regex_.pattern().equals(key())) {
+            regex_ = Pattern.compile(key());
+        }
+        return regex_;
+    }
+
+    /**
+     * Returns the value predicate.
+     *
+     * @return the predicate, or {@code null}
+     */
+    Predicate<String> when() {
+        return when_;
+    }
+}
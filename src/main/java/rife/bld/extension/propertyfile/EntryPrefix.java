@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+/**
+ * Declares the modifications to be made to all the {@link java.util.Properties properties} whose key starts with a
+ * prefix, e.g. {@code feature.legacy.}, such as deleting, renaming or copying the whole namespace.
+ * <p>
+ * The keys are looked up in a sorted index, built when the first prefix entry is applied and kept up to date by the
+ * following entries, so that only the matching properties are visited.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryPrefix extends EntryBase<EntryPrefix> {
+
+    private boolean copy_;
+    private String target_;
+
+    /**
+     * Creates a new {@link EntryPrefix entry}.
+     * <p>
+     * A trailing {@code *} is ignored, so that {@code feature.legacy.*} and {@code feature.legacy.} are equivalent.
+     *
+     * @param prefix the required key prefix
+     */
+    public EntryPrefix(String prefix) {
+        super(prefix);
+    }
+
+    /**
+     * Copies the matching {@link java.util.Properties properties} to the given prefix, e.g. {@code a.b} to
+     * {@code c.b} when copying {@code a.} to {@code c.}.
+     * <p>
+     * Existing properties with the same keys are replaced. A trailing {@code *} is ignored, as for the matching
+     * prefix.
+     *
+     * @param prefix the new prefix
+     * @return this instance
+     */
+    public EntryPrefix copyTo(String prefix) {
+        target_ = prefix;
+        copy_ = true;
+        return this;
+    }
+
+    /**
+     * Renames the prefix of the matching {@link java.util.Properties properties}, e.g. {@code a.b} to {@code c.b}
+     * when renaming {@code a.} to {@code c.}.
+     * <p>
+     * Existing properties with the same keys are replaced. A trailing {@code *} is ignored, as for the matching
+     * prefix.
+     *
+     * @param prefix the new prefix
+     * @return this instance
+     */
+    public EntryPrefix renamePrefix(String prefix) {
+        target_ = prefix;
+        copy_ = false;
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if the matching properties are copied rather than renamed.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean isCopy() {
+        return copy_;
+    }
+
+    /**
+     * Returns the prefix, without any trailing {@code *}.
+     *
+     * @return the prefix
+     */
+    String prefix() {
+        return stripWildcard(key());
+    }
+
+    /**
+     * Returns the prefix to rename or copy the matching properties to, without any trailing {@code *}.
+     *
+     * @return the new prefix, or {@code null}
+     */
+    String target() {
+        return stripWildcard(target_);
+    }
+
+    private static String stripWildcard(String prefix) {
+        return prefix != null && prefix.endsWith("*") ? prefix.substring(0, prefix.length() - 1) : prefix;
+    }
+}
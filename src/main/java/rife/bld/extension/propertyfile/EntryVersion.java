@@ -0,0 +1,236 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.List;
+
+/**
+ * Declares the modifications to be made to a <a href="https://semver.org/">semantic version</a>
+ * {@link java.util.Properties property}, or to a set of version component properties.
+ * <p>
+ * The version is parsed once, the {@link Bump bump} is applied, and all the affected properties are written at
+ * once, resetting the lower components as needed.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class EntryVersion extends EntryBase<EntryVersion> {
+
+    private Bump bump_;
+    private String build_;
+    private boolean components_;
+    private String prerelease_;
+
+    /**
+     * Creates a new {@link EntryVersion entry}.
+     *
+     * @param key the required property key, or the key prefix if using {@link #components() components}
+     */
+    public EntryVersion(String key) {
+        super(key);
+    }
+
+    /**
+     * Sets the build metadata, e.g. {@code build.5}.
+     * <p>
+     * Build metadata is otherwise cleared by any {@link Bump bump} other than {@link Bump#BUILD BUILD}.
+     *
+     * @param build the build metadata
+     * @return this instance
+     */
+    public EntryVersion build(String build) {
+        build_ = build;
+        return this;
+    }
+
+    /**
+     * Sets the {@link Bump bump} to apply.
+     *
+     * @param bump the {@link Bump bump}
+     * @return this instance
+     */
+    public EntryVersion bump(Bump bump) {
+        bump_ = bump;
+        return this;
+    }
+
+    /**
+     * Stores the version in separate properties instead of a single one.
+     * <p>
+     * The key is then used as a prefix, e.g. {@code version.major}, {@code version.minor}, {@code version.patch},
+     * {@code version.prerelease} and {@code version.build} for the {@code version} key. The pre-release and build
+     * properties are only written if not empty.
+     *
+     * @return this instance
+     */
+    public EntryVersion components() {
+        components_ = true;
+        return this;
+    }
+
+    /**
+     * Sets the pre-release label, e.g. {@code beta}.
+     * <p>
+     * When {@link Bump#PRERELEASE bumping the pre-release}, a numeric identifier is appended to, or incremented
+     * on, the label.
+     *
+     * @param prerelease the pre-release label
+     * @return this instance
+     */
+    public EntryVersion prerelease(String prerelease) {
+        prerelease_ = prerelease;
+        return this;
+    }
+
+    /**
+     * Sets the new {@link java.util.Properties property} version, before any {@link Bump bump} is applied.
+     *
+     * @param version the semantic version, e.g. {@code 1.2.3}
+     * @return this instance
+     */
+    public EntryVersion set(String version) {
+        newValue(version);
+        return this;
+    }
+
+    /**
+     * Returns the build metadata.
+     *
+     * @return the build metadata, or {@code null}
+     */
+    protected String build() {
+        return build_;
+    }
+
+    /**
+     * Returns the build metadata key.
+     *
+     * @return the key
+     */
+    protected String buildKey() {
+        return key() + ".build";
+    }
+
+    /**
+     * Returns the {@link Bump bump}.
+     *
+     * @return the bump, or {@code null}
+     */
+    protected Bump bump() {
+        return bump_;
+    }
+
+    /**
+     * Returns {@code true} if the version is stored in separate properties.
+     *
+     * @return {@code true} or {@code false}
+     */
+    protected boolean isComponents() {
+        return components_;
+    }
+
+    /**
+     * Returns the keys of all the {@link java.util.Properties properties} holding the version.
+     *
+     * @return the keys
+     */
+    protected List<String> keys() {
+        if (components_) {
+            return List.of(majorKey(), minorKey(), patchKey(), prereleaseKey(), buildKey());
+        }
+        return List.of(key());
+    }
+
+    /**
+     * Returns the major version key.
+     *
+     * @return the key
+     */
+    protected String majorKey() {
+        return key() + ".major";
+    }
+
+    /**
+     * Returns the minor version key.
+     *
+     * @return the key
+     */
+    protected String minorKey() {
+        return key() + ".minor";
+    }
+
+    /**
+     * Returns the patch version key.
+     *
+     * @return the key
+     */
+    protected String patchKey() {
+        return key() + ".patch";
+    }
+
+    /**
+     * Returns the pre-release label.
+     *
+     * @return the pre-release label, or {@code null}
+     */
+    protected String prerelease() {
+        return prerelease_;
+    }
+
+    /**
+     * Returns the pre-release key.
+     *
+     * @return the key
+     */
+    protected String prereleaseKey() {
+        return key() + ".prerelease";
+    }
+
+    /**
+     * The bumps available for {@link EntryVersion}.
+     *
+     * <uL>
+     * <li>{@link Bump#MAJOR MAJOR}</li>
+     * <li>{@link Bump#MINOR MINOR}</li>
+     * <li>{@link Bump#PATCH PATCH}</li>
+     * <li>{@link Bump#PRERELEASE PRERELEASE}</li>
+     * <li>{@link Bump#BUILD BUILD}</li>
+     * </uL>
+     */
+    public enum Bump {
+        /**
+         * Increments the major version, resetting the minor and patch versions.
+         */
+        MAJOR,
+        /**
+         * Increments the minor version, resetting the patch version.
+         */
+        MINOR,
+        /**
+         * Increments the patch version.
+         */
+        PATCH,
+        /**
+         * Increments the pre-release, or starts one on the next patch version.
+         */
+        PRERELEASE,
+        /**
+         * Increments the build metadata, leaving the version unchanged.
+         */
+        BUILD
+    }
+}
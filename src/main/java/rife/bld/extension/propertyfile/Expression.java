@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * A compiled expression referencing other {@link java.util.Properties properties}, e.g.
+ * {@code ${version.major}.${version.minor}}.
+ * <p>
+ * A {@code $${} sequence is used to produce a literal {@code ${}.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class Expression {
+
+    private final String[] literals_;
+    private final Set<String> references_;
+    private final String[] refs_;
+    private final String source_;
+
+    private Expression(String source, List<String> literals, List<String> refs) {
+        source_ = source;
+        literals_ = literals.toArray(new String[0]);
+        refs_ = refs.toArray(new String[0]);
+        references_ = Collections.unmodifiableSet(new LinkedHashSet<>(refs));
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param source the expression
+     * @return the compiled expression
+     */
+    static Expression compile(String source) {
+        var literals = new ArrayList<String>();
+        var refs = new ArrayList<String>();
+        var literal = new StringBuilder();
+        var i = 0;
+        while (i < source.length()) {
+            var c = source.charAt(i);
+            if (c == '$' && source.startsWith("$${", i)) {
+                literal.append("${");
+                i += 3;
+            } else if (c == '$' && source.startsWith("${", i) && source.indexOf('}', i + 2) != -1) {
+                var end = source.indexOf('}', i + 2);
+                literals.add(literal.toString());
+                literal.setLength(0);
+                refs.add(source.substring(i + 2, end).trim());
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new Expression(source, literals, refs);
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param lookup the function returning the value of a referenced key, or {@code null} if it is undefined
+     * @return the value
+     * @throws IllegalArgumentException if a referenced key is undefined
+     */
+    String evaluate(UnaryOperator<String> lookup) {
+        if (refs_.length == 0) {
+            return literals_[0];
+        }
+        var sb = new StringBuilder(source_.length() + 16);
+        for (var i = 0; i < refs_.length; i++) {
+            sb.append(literals_[i]);
+            var value = lookup.apply(refs_[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Undefined reference: ${" + refs_[i] + '}');
+            }
+            sb.append(value);
+        }
+        return sb.append(literals_[refs_.length]).toString();
+    }
+
+    /**
+     * Returns the referenced keys, in order of first appearance.
+     *
+     * @return the referenced keys
+     */
+    Set<String> references() {
+        return references_;
+    }
+
+    @Override
+    public String toString() {
+        return source_;
+    }
+}
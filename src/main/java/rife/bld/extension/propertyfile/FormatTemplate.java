@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Formattable;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formats a single value according to a {@link java.util.Formatter Formatter} pattern.
+ * <p>
+ * Patterns made of literal text and at most one {@code %s} or {@code %d} conversion, optionally with a width,
+ * precision or {@code -} flag, are compiled once and rendered into a reusable buffer. Any other pattern or
+ * argument is formatted by {@link String#format(String, Object...) String.format}, so the results, and the
+ * exceptions, are always identical.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class FormatTemplate {
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+    private static final Map<Key, FormatTemplate> CACHE = new ConcurrentHashMap<>();
+    private static final char NONE = 0;
+
+    private final String after_;
+    private final String before_;
+    private final char conversion_;
+    private final boolean fast_;
+    private final boolean leftJustify_;
+    private final String pattern_;
+    private final int precision_;
+    private final int width_;
+
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    private FormatTemplate(String pattern, Locale locale) {
+        pattern_ = pattern;
+
+        var before = new StringBuilder();
+        var after = new StringBuilder();
+        var conversion = NONE;
+        var leftJustify = false;
+        var width = -1;
+        var precision = -1;
+        var fast = true;
+        var i = 0;
+        while (fast && i < pattern.length()) {
+            var c = pattern.charAt(i++);
+            var literal = conversion == NONE ? before : after;
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            // %[-][width][.precision](s|d|%|n), anything else is left to the Formatter
+            var left = i < pattern.length() && pattern.charAt(i) == '-';
+            if (left) {
+                i++;
+            }
+            var w = -1;
+            var start = i;
+            while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                // a leading zero is the zero-padding flag
+                w = pattern.charAt(start) == '0' ? 0 : parse(pattern, start, i);
+            }
+            var p = -1;
+            if (i < pattern.length() && pattern.charAt(i) == '.') {
+                start = ++i;
+                while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                    i++;
+                }
+                p = i > start ? parse(pattern, start, i) : -2;
+            }
+            var conv = i < pattern.length() ? pattern.charAt(i++) : NONE;
+            var plain = !left && w == -1 && p == -1;
+
+            if (conv == '%' && plain) {
+                literal.append('%');
+            } else if (conv == 'n' && plain) {
+                literal.append(System.lineSeparator());
+            } else if (conversion == NONE && w != 0 && p >= -1 && (!left || w > 0)
+                    && (conv == 's' || (conv == 'd' && p == -1
+                    && DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0'))) {
+                conversion = conv;
+                leftJustify = left;
+                width = w;
+                precision = p;
+            } else {
+                fast = false;
+            }
+        }
+
+        fast_ = fast;
+        before_ = before.toString();
+        after_ = after.toString();
+        conversion_ = conversion;
+        leftJustify_ = leftJustify;
+        width_ = width;
+        precision_ = precision;
+    }
+
+    /**
+     * Returns the template for the given pattern, using the default locale.
+     *
+     * @param pattern the {@link java.util.Formatter Formatter} pattern
+     * @return the template
+     */
+    static FormatTemplate of(String pattern) {
+        return CACHE.computeIfAbsent(new Key(Locale.getDefault(Locale.Category.FORMAT), pattern),
+                k -> new FormatTemplate(k.pattern(), k.locale()));
+    }
+
+    /**
+     * Formats a value with a pattern that is only used once, without caching its template.
+     *
+     * @param pattern the {@link java.util.Formatter Formatter} pattern
+     * @param arg     the value
+     * @return the formatted value
+     * @throws java.util.IllegalFormatException if the pattern is invalid or does not match the value
+     */
+    static String format(String pattern, Object arg) {
+        return new FormatTemplate(pattern, Locale.getDefault(Locale.Category.FORMAT)).format(arg);
+    }
+
+    private static void pad(StringBuilder sb, int count) {
+        for (var i = 0; i < count; i++) {
+            sb.append(' ');
+        }
+    }
+
+    private static int parse(String s, int start, int end) {
+        try {
+            return Integer.parseInt(s, start, end, 10);
+        } catch (NumberFormatException e) {
+            // too large, let the Formatter report it
+            return 0;
+        }
+    }
+
+    /**
+     * Formats a value.
+     *
+     * @param arg the value
+     * @return the formatted value
+     * @throws java.util.IllegalFormatException if the pattern is invalid or does not match the value
+     */
+    @SuppressFBWarnings("FORMAT_STRING_MANIPULATION")
+    String format(Object arg) {
+        if (!fast_) {
+            return String.format(pattern_, arg);
+        }
+
+        String value;
+        if (conversion_ == NONE) {
+            return before_ + after_;
+        } else if (conversion_ == 's' && !(arg instanceof Formattable)) {
+            value = String.valueOf(arg);
+            if (precision_ != -1 && precision_ < value.length()) {
+                value = value.substring(0, precision_);
+            }
+        } else if (conversion_ == 'd' && (arg == null || arg instanceof Integer || arg instanceof Long
+                || arg instanceof Short || arg instanceof Byte)) {
+            value = String.valueOf(arg);
+        } else {
+            return String.format(pattern_, arg);
+        }
+
+        var sb = BUFFER.get();
+        sb.setLength(0);
+        sb.append(before_);
+        var padding = width_ - value.length();
+        if (!leftJustify_) {
+            pad(sb, padding);
+        }
+        sb.append(value);
+        if (leftJustify_) {
+            pad(sb, padding);
+        }
+        return sb.append(after_).toString();
+    }
+
+    /**
+     * Returns {@code true} if the pattern was compiled into a template.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean isFast() {
+        return fast_;
+    }
+
+    private record Key(Locale locale, String pattern) {
+    }
+}
@@ -0,0 +1,596 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads commit information directly from a Git repository, without spawning {@code git}.
+ * <p>
+ * References are resolved from {@code HEAD}, loose refs and {@code packed-refs}; commits are read from loose objects
+ * and pack files, including deltified objects. Since commits never change, their parents and commit counts are
+ * cached for the lifetime of the repository instance, which is itself cached per Git directory. The shallow commits
+ * are only read once, and the packed refs and tags only again if their files changed.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class GitRepository {
+
+    private static final Map<Path, GitRepository> CACHE = new ConcurrentHashMap<>();
+    private static final int IDX_MAGIC = 0xFF744F63;
+    private static final String[] NO_PARENTS = new String[0];
+    private static final int OBJ_COMMIT = 1;
+    private static final int OBJ_OFS_DELTA = 6;
+    private static final int OBJ_REF_DELTA = 7;
+    private static final int OBJ_TAG = 4;
+    private static final String REF_PREFIX = "ref: ";
+
+    private final Path commonDir_;
+    private final Map<String, Long> counts_ = new ConcurrentHashMap<>();
+    private final Path gitDir_;
+    private final Map<String, String[]> parents_ = new ConcurrentHashMap<>();
+    private volatile Cached<Map<String, String[]>> packedRefs_;
+    private volatile List<Pack> packs_;
+    private volatile Set<String> shallow_;
+    private volatile Cached<Map<String, String>> tags_;
+
+    private GitRepository(Path gitDir) throws IOException {
+        gitDir_ = gitDir;
+        // linked worktrees share the objects and refs of the main repository
+        var commonDir = gitDir.resolve("commondir");
+        commonDir_ = Files.isRegularFile(commonDir)
+                ? gitDir.resolve(Files.readString(commonDir).trim()).normalize()
+                : gitDir;
+    }
+
+    /**
+     * Returns the repository containing the given directory.
+     *
+     * @param directory the directory, or any of its subdirectories
+     * @return the repository
+     * @throws IOException if no repository could be found or read
+     */
+    static GitRepository find(Path directory) throws IOException {
+        var dir = directory.toAbsolutePath().normalize();
+        while (dir != null) {
+            var dotGit = dir.resolve(".git");
+            if (Files.isDirectory(dotGit)) {
+                return of(dotGit);
+            } else if (Files.isRegularFile(dotGit)) {
+                // worktrees and submodules: "gitdir: <path>"
+                var content = Files.readString(dotGit).trim();
+                if (content.startsWith("gitdir:")) {
+                    return of(dir.resolve(content.substring("gitdir:".length()).trim()).normalize());
+                }
+            }
+            dir = dir.getParent();
+        }
+        throw new IOException("No Git repository found in: " + directory);
+    }
+
+    private static GitRepository of(Path gitDir) throws IOException {
+        var key = gitDir.toRealPath();
+        var repo = CACHE.get(key);
+        if (repo == null) {
+            repo = new GitRepository(key);
+            var previous = CACHE.putIfAbsent(key, repo);
+            if (previous != null) {
+                repo = previous;
+            }
+        }
+        return repo;
+    }
+
+    private static byte[] applyDelta(byte[] base, byte[] delta) throws IOException {
+        var pos = new int[]{0};
+        var baseSize = readSize(delta, pos);
+        if (baseSize != base.length) {
+            throw new IOException("Invalid delta base size");
+        }
+        var result = new byte[(int) readSize(delta, pos)];
+        var out = 0;
+        var i = pos[0];
+        while (i < delta.length) {
+            var op = delta[i++] & 0xFF;
+            if ((op & 0x80) != 0) {
+                // copy from the base
+                var offset = 0;
+                var size = 0;
+                for (var bit = 0; bit < 4; bit++) {
+                    if ((op & (1 << bit)) != 0) {
+                        offset |= (delta[i++] & 0xFF) << (8 * bit);
+                    }
+                }
+                for (var bit = 0; bit < 3; bit++) {
+                    if ((op & (0x10 << bit)) != 0) {
+                        size |= (delta[i++] & 0xFF) << (8 * bit);
+                    }
+                }
+                if (size == 0) {
+                    size = 0x10000;
+                }
+                System.arraycopy(base, offset, result, out, size);
+                out += size;
+            } else if (op != 0) {
+                // insert literal bytes
+                System.arraycopy(delta, i, result, out, op);
+                i += op;
+                out += op;
+            } else {
+                throw new IOException("Invalid delta instruction");
+            }
+        }
+        return result;
+    }
+
+    private static byte[] inflate(ByteBuffer buffer, int position, long size) throws IOException {
+        var inflater = new Inflater();
+        try {
+            var input = buffer.duplicate().position(position);
+            inflater.setInput(input);
+            var out = new ByteArrayOutputStream((int) Math.max(size, 32));
+            var chunk = new byte[8192];
+            while (!inflater.finished()) {
+                var n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated object");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt object: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static List<String> parseHeaders(byte[] data, String name) {
+        var values = new ArrayList<String>();
+        var text = new String(data, StandardCharsets.UTF_8);
+        var start = 0;
+        while (start < text.length()) {
+            var end = text.indexOf('\n', start);
+            if (end == -1) {
+                end = text.length();
+            }
+            if (end == start) {
+                break; // end of the headers
+            }
+            if (text.startsWith(name, start)) {
+                values.add(text.substring(start + name.length(), end));
+            }
+            start = end + 1;
+        }
+        return values;
+    }
+
+    private static long readSize(byte[] delta, int[] pos) {
+        long size = 0;
+        var shift = 0;
+        int b;
+        do {
+            b = delta[pos[0]++] & 0xFF;
+            size |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return size;
+    }
+
+    // the modification time, size and identity of a file, or an empty list if it does not exist
+    private static List<Object> version(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return Arrays.asList(attributes.lastModifiedTime(), attributes.size(), attributes.fileKey());
+    }
+
+    /**
+     * Returns the current branch name, or {@code HEAD} if detached.
+     *
+     * @return the branch
+     * @throws IOException if the repository could not be read
+     */
+    String branch() throws IOException {
+        var head = Files.readString(gitDir_.resolve("HEAD")).trim();
+        if (head.startsWith(REF_PREFIX)) {
+            var ref = head.substring(REF_PREFIX.length());
+            return ref.startsWith("refs/heads/") ? ref.substring("refs/heads/".length()) : ref;
+        }
+        return "HEAD";
+    }
+
+    /**
+     * Returns the number of commits reachable from a commit, including itself.
+     *
+     * @param commit the commit id
+     * @return the count
+     * @throws IOException if the repository could not be read
+     */
+    long count(String commit) throws IOException {
+        var count = counts_.get(commit);
+        if (count == null) {
+            count = (long) ancestors(commit).size();
+            counts_.put(commit, count);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the commit id of {@code HEAD}.
+     *
+     * @return the commit id
+     * @throws IOException if {@code HEAD} could not be resolved
+     */
+    String head() throws IOException {
+        var id = resolve("HEAD");
+        if (id == null) {
+            throw new IOException("HEAD does not point to a commit");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the nearest tag reachable from a commit, searching breadth-first.
+     *
+     * @param commit the commit id
+     * @return the tag, or {@code null} if none
+     * @throws IOException if the repository could not be read
+     */
+    Tag nearestTag(String commit) throws IOException {
+        var tags = tags();
+        if (tags.isEmpty()) {
+            return null;
+        }
+        var seen = new HashSet<String>();
+        var queue = new ArrayDeque<String>();
+        queue.add(commit);
+        seen.add(commit);
+        while (!queue.isEmpty()) {
+            var id = queue.poll();
+            var tag = tags.get(id);
+            if (tag != null) {
+                return new Tag(tag, id);
+            }
+            for (var parent : parents(id)) {
+                if (seen.add(parent)) {
+                    queue.add(parent);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Set<String> ancestors(String commit) throws IOException {
+        var seen = new HashSet<String>();
+        var stack = new ArrayDeque<String>();
+        stack.push(commit);
+        seen.add(commit);
+        while (!stack.isEmpty()) {
+            for (var parent : parents(stack.pop())) {
+                if (seen.add(parent)) {
+                    stack.push(parent);
+                }
+            }
+        }
+        return seen;
+    }
+
+    private String[] parents(String commit) throws IOException {
+        var parents = parents_.get(commit);
+        if (parents == null) {
+            if (shallow().contains(commit)) {
+                parents = NO_PARENTS;
+            } else {
+                var object = read(commit);
+                if (object.type() != OBJ_COMMIT) {
+                    throw new IOException("Not a commit: " + commit);
+                }
+                parents = parseHeaders(object.data(), "parent ").toArray(NO_PARENTS);
+            }
+            parents_.put(commit, parents);
+        }
+        return parents;
+    }
+
+    // Peels annotated tags to the commit they point to.
+    private String peel(String id) throws IOException {
+        var current = id;
+        for (var depth = 0; depth < 16; depth++) {
+            var object = read(current);
+            if (object.type() != OBJ_TAG) {
+                return current;
+            }
+            var targets = parseHeaders(object.data(), "object ");
+            if (targets.isEmpty()) {
+                return current;
+            }
+            current = targets.get(0);
+        }
+        return current;
+    }
+
+    private List<Pack> packs() throws IOException {
+        var packs = packs_;
+        if (packs == null) {
+            packs = new ArrayList<>();
+            var packDir = commonDir_.resolve("objects/pack");
+            if (Files.isDirectory(packDir)) {
+                try (var files = Files.newDirectoryStream(packDir, "*.idx")) {
+                    for (var idx : files) {
+                        var name = idx.getFileName().toString();
+                        var pack = idx.resolveSibling(name.substring(0, name.length() - 4) + ".pack");
+                        var index = map(idx);
+                        // only version 2 indexes, the default since Git 1.5.2
+                        if (Files.isRegularFile(pack) && index.getInt(0) == IDX_MAGIC && index.getInt(4) == 2) {
+                            packs.add(new Pack(index, map(pack)));
+                        }
+                    }
+                }
+            }
+            packs_ = packs;
+        }
+        return packs;
+    }
+
+    private GitObject read(String id) throws IOException {
+        var loose = commonDir_.resolve("objects").resolve(id.substring(0, 2)).resolve(id.substring(2));
+        if (Files.isRegularFile(loose)) {
+            var raw = inflate(ByteBuffer.wrap(Files.readAllBytes(loose)), 0, 0);
+            var nul = 0;
+            while (raw[nul] != 0) {
+                nul++;
+            }
+            var header = new String(raw, 0, nul, StandardCharsets.US_ASCII);
+            var type = header.startsWith("commit ") ? OBJ_COMMIT : header.startsWith("tag ") ? OBJ_TAG : 0;
+            var data = new byte[raw.length - nul - 1];
+            System.arraycopy(raw, nul + 1, data, 0, data.length);
+            return new GitObject(type, data);
+        }
+
+        var binary = HexFormat.of().parseHex(id);
+        for (var attempt = 0; attempt < 2; attempt++) {
+            for (var pack : packs()) {
+                var offset = pack.find(binary);
+                if (offset >= 0) {
+                    return readPacked(pack, offset);
+                }
+            }
+            // the repository may have been repacked since
+            packs_ = null;
+        }
+        throw new IOException("Object not found: " + id);
+    }
+
+    private GitObject readPacked(Pack pack, long offset) throws IOException {
+        var data = pack.data();
+        var pos = (int) offset;
+        var b = data.get(pos++) & 0xFF;
+        var type = (b >> 4) & 0x07;
+        long size = b & 0x0F;
+        var shift = 4;
+        while ((b & 0x80) != 0) {
+            b = data.get(pos++) & 0xFF;
+            size |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+
+        if (type == OBJ_OFS_DELTA) {
+            b = data.get(pos++) & 0xFF;
+            long baseOffset = b & 0x7F;
+            while ((b & 0x80) != 0) {
+                b = data.get(pos++) & 0xFF;
+                baseOffset = ((baseOffset + 1) << 7) | (b & 0x7F);
+            }
+            var base = readPacked(pack, offset - baseOffset);
+            return new GitObject(base.type(), applyDelta(base.data(), inflate(data, pos, size)));
+        } else if (type == OBJ_REF_DELTA) {
+            var baseId = new byte[20];
+            data.get(pos, baseId);
+            var base = read(HexFormat.of().formatHex(baseId));
+            return new GitObject(base.type(), applyDelta(base.data(), inflate(data, pos + 20, size)));
+        }
+        return new GitObject(type, inflate(data, pos, size));
+    }
+
+    private String resolve(String ref) throws IOException {
+        var current = ref;
+        for (var depth = 0; depth < 16; depth++) {
+            // HEAD is per worktree, other refs are shared
+            var file = "HEAD".equals(current) ? gitDir_.resolve(current) : commonDir_.resolve(current);
+            String value = null;
+            if (Files.isRegularFile(file)) {
+                value = Files.readString(file).trim();
+            } else {
+                var packed = packedRefs().get(current);
+                if (packed != null) {
+                    value = packed[0];
+                }
+            }
+            if (value == null) {
+                return null;
+            } else if (value.startsWith(REF_PREFIX)) {
+                current = value.substring(REF_PREFIX.length());
+            } else {
+                return value;
+            }
+        }
+        throw new IOException("Too many levels of symbolic references: " + ref);
+    }
+
+    // ref name -> [id, peeled id or null]
+    private Map<String, String[]> packedRefs() throws IOException {
+        var file = commonDir_.resolve("packed-refs");
+        var version = version(file);
+        var cached = packedRefs_;
+        if (cached != null && cached.version().equals(version)) {
+            return cached.value();
+        }
+        var refs = new TreeMap<String, String[]>();
+        if (Files.isRegularFile(file)) {
+            String[] last = null;
+            for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.startsWith("^") && last != null) {
+                    last[1] = line.substring(1).trim();
+                } else if (!line.isEmpty() && line.charAt(0) != '#') {
+                    var space = line.indexOf(' ');
+                    if (space > 0) {
+                        last = new String[]{line.substring(0, space), null};
+                        refs.put(line.substring(space + 1).trim(), last);
+                    }
+                }
+            }
+        }
+        packedRefs_ = new Cached<>(version, refs);
+        return refs;
+    }
+
+    private Set<String> shallow() throws IOException {
+        // like the parents, which depend on it
+        var shallow = shallow_;
+        if (shallow == null) {
+            var file = commonDir_.resolve("shallow");
+            shallow = Files.isRegularFile(file)
+                    ? new HashSet<>(Files.readAllLines(file, StandardCharsets.US_ASCII))
+                    : Set.of();
+            shallow_ = shallow;
+        }
+        return shallow;
+    }
+
+    // commit id -> tag name, the first tag in name order winning
+    private Map<String, String> tags() throws IOException {
+        var tagDir = commonDir_.resolve("refs/tags");
+        var packedRefs = packedRefs();
+        var version = List.of(packedRefs_.version(), version(tagDir));
+        var cached = tags_;
+        if (cached != null && cached.version().equals(version)) {
+            return cached.value();
+        }
+        var names = new TreeMap<String, String>();
+        for (var entry : packedRefs.entrySet()) {
+            if (entry.getKey().startsWith("refs/tags/")) {
+                var ids = entry.getValue();
+                names.put(entry.getKey(), ids[1] != null ? ids[1] : ids[0]);
+            }
+        }
+        if (Files.isDirectory(tagDir)) {
+            try (var files = Files.walk(tagDir)) {
+                for (var file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    var name = new StringBuilder("refs/tags");
+                    for (var part : tagDir.relativize(file)) {
+                        name.append('/').append(part);
+                    }
+                    names.put(name.toString(), Files.readString(file).trim());
+                }
+            }
+        }
+
+        var tags = new HashMap<String, String>();
+        for (var entry : names.entrySet()) {
+            var commit = peel(entry.getValue());
+            tags.putIfAbsent(commit, entry.getKey().substring("refs/tags/".length()));
+        }
+        tags_ = new Cached<>(version, tags);
+        return tags;
+    }
+
+    /**
+     * A tag and the commit it points to.
+     *
+     * @param name   the tag name
+     * @param commit the commit id
+     */
+    record Tag(String name, String commit) {
+    }
+
+    private record Cached<T>(Object version, T value) {
+    }
+
+    private record GitObject(int type, byte[] data) {
+    }
+
+    private record Pack(ByteBuffer index, ByteBuffer data) {
+
+        // Returns the offset of an object in the pack, or -1 if not found (version 2 index).
+        long find(byte[] id) {
+            var first = id[0] & 0xFF;
+            var lo = first == 0 ? 0 : index.getInt(8 + (first - 1) * 4);
+            var hi = index.getInt(8 + first * 4);
+            var total = index.getInt(8 + 255 * 4);
+            var namesStart = 8 + 256 * 4;
+            while (lo < hi) {
+                var mid = (lo + hi) >>> 1;
+                var cmp = compare(namesStart + mid * 20, id);
+                if (cmp < 0) {
+                    lo = mid + 1;
+                } else if (cmp > 0) {
+                    hi = mid;
+                } else {
+                    var offsetsStart = namesStart + total * 24;
+                    var offset = index.getInt(offsetsStart + mid * 4) & 0xFFFFFFFFL;
+                    if ((offset & 0x80000000L) != 0) {
+                        var largeStart = offsetsStart + total * 4;
+                        offset = index.getLong(largeStart + (int) (offset & 0x7FFFFFFFL) * 8);
+                    }
+                    return offset;
+                }
+            }
+            return -1;
+        }
+
+        private int compare(int position, byte[] id) {
+            for (var i = 0; i < 20; i++) {
+                var c = Integer.compare(index.get(position + i) & 0xFF, id[i] & 0xFF);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        }
+    }
+}
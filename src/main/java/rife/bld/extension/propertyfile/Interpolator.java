@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves {@code ${key}} references against {@link Properties properties}, then environment variables and system
+ * properties.
+ * <p>
+ * References are resolved recursively for {@link Properties properties} values, environment variables and system
+ * properties being used as-is. Each key is resolved at most once and memoized, so a chain of references is resolved
+ * in linear time. When a property changes, {@link #invalidate(String)} discards only the values that depend on it.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class Interpolator {
+
+    private final Map<String, String> cache_ = new HashMap<>();
+    private final Map<String, Set<String>> dependents_ = new HashMap<>();
+    private final UnaryOperator<String> environment_;
+    private final Properties properties_;
+
+    /**
+     * Creates a new interpolator.
+     *
+     * @param properties the {@link Properties properties}
+     */
+    Interpolator(Properties properties) {
+        this(properties, System::getenv);
+    }
+
+    /**
+     * Creates a new interpolator.
+     *
+     * @param properties  the {@link Properties properties}
+     * @param environment the function returning the value of an environment variable, or {@code null}
+     */
+    Interpolator(Properties properties, UnaryOperator<String> environment) {
+        properties_ = properties;
+        environment_ = environment;
+    }
+
+    private static String path(Set<String> path, String key) {
+        var sb = new StringBuilder();
+        var found = false;
+        for (var k : path) {
+            found = found || k.equals(key);
+            if (found) {
+                sb.append(k).append(" -> ");
+            }
+        }
+        return sb.append(key).toString();
+    }
+
+    /**
+     * Discards the resolved value of a key, and of all the keys referencing it directly or indirectly.
+     *
+     * @param key the key that changed
+     */
+    void invalidate(String key) {
+        if (cache_.isEmpty()) {
+            return;
+        }
+        var visited = new HashSet<String>();
+        var pending = new ArrayDeque<String>();
+        pending.add(key);
+        while (!pending.isEmpty()) {
+            var k = pending.poll();
+            if (visited.add(k)) {
+                cache_.remove(k);
+                pending.addAll(dependents_.getOrDefault(k, Set.of()));
+            }
+        }
+    }
+
+    /**
+     * Resolves all the references in a value.
+     *
+     * @param value the value
+     * @return the resolved value
+     * @throws IllegalArgumentException if a reference is undefined or circular
+     */
+    String interpolate(String value) {
+        return Expression.compile(value).evaluate(this::resolve);
+    }
+
+    /**
+     * Resolves the value of a key.
+     *
+     * @param key the key
+     * @return the resolved value, or {@code null} if the key is undefined
+     * @throws IllegalArgumentException if a nested reference is undefined or circular
+     */
+    String resolve(String key) {
+        var value = cache_.get(key);
+        if (value != null || !isDefined(key)) {
+            return value;
+        }
+
+        // iterative depth-first traversal, so that deep chains cannot overflow the stack
+        var path = new LinkedHashSet<String>();
+        var stack = new ArrayDeque<String>();
+        stack.push(key);
+        while (!stack.isEmpty()) {
+            var k = stack.peek();
+            if (cache_.containsKey(k)) {
+                stack.pop();
+            } else if (!properties_.containsKey(k)) {
+                cache_.put(k, external(k));
+                stack.pop();
+            } else if (path.add(k)) {
+                for (var ref : Expression.compile(properties_.getProperty(k)).references()) {
+                    dependents_.computeIfAbsent(ref, r -> new HashSet<>()).add(k);
+                    if (path.contains(ref)) {
+                        throw new IllegalArgumentException("Circular reference: " + path(path, ref));
+                    } else if (!cache_.containsKey(ref)) {
+                        if (!isDefined(ref)) {
+                            throw new IllegalArgumentException("Undefined reference: ${" + ref + '}');
+                        }
+                        stack.push(ref);
+                    }
+                }
+            } else {
+                // all references have been resolved
+                cache_.put(k, Expression.compile(properties_.getProperty(k)).evaluate(cache_::get));
+                path.remove(k);
+                stack.pop();
+            }
+        }
+        return cache_.get(key);
+    }
+
+    private String external(String key) {
+        var value = environment_.apply(key);
+        return value != null ? value : System.getProperty(key);
+    }
+
+    private boolean isDefined(String key) {
+        return properties_.containsKey(key) || external(key) != null;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matches keys against several regular expressions at once.
+ * <p>
+ * The expressions are combined into a single alternation, so that a key matching none of them, usually the vast
+ * majority, is rejected in one pass, and the first expression matching a key is found in the same pass. Only the
+ * expressions following it are then tried individually. Expressions using back references or leaving a quote
+ * open, or that cannot be compiled together, such as ones sharing a named group, are always tried individually.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class KeyMatcher {
+
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(\\d|k<)");
+    // a quote left open would swallow the following alternatives
+    private static final Pattern OPEN_QUOTE = Pattern.compile("\\\\Q(?!.*\\\\E)", Pattern.DOTALL);
+
+    private final Pattern combined_;
+    // the group of each alternative in the combined pattern
+    private final int[] groups_;
+    private final Pattern[] patterns_;
+
+    /**
+     * Creates a new matcher.
+     *
+     * @param patterns the regular expressions, in order
+     */
+    KeyMatcher(List<Pattern> patterns) {
+        patterns_ = patterns.toArray(new Pattern[0]);
+        groups_ = new int[patterns_.length];
+
+        var combinable = patterns_.length > 1;
+        var sb = new StringBuilder();
+        var group = 1;
+        for (var i = 0; i < patterns_.length && combinable; i++) {
+            var pattern = patterns_[i];
+            if (pattern.flags() != 0 || BACK_REFERENCE.matcher(pattern.pattern()).find()
+                    || OPEN_QUOTE.matcher(pattern.pattern()).find()) {
+                combinable = false;
+            } else {
+                if (i > 0) {
+                    sb.append('|');
+                }
+                sb.append('(').append(pattern.pattern()).append(')');
+                groups_[i] = group;
+                group += 1 + pattern.matcher("").groupCount();
+            }
+        }
+        combined_ = combinable ? combine(sb.toString()) : null;
+    }
+
+    // Returns null if the expressions are valid on their own but not together, e.g. sharing a named group.
+    private static Pattern combine(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the index of the first regular expression matching the whole key.
+     *
+     * @param key the key
+     * @return the index, or {@code -1} if none match
+     */
+    int first(String key) {
+        if (combined_ == null) {
+            return next(key, 0);
+        }
+        var matcher = combined_.matcher(key);
+        if (matcher.matches()) {
+            for (var i = 0; i < groups_.length; i++) {
+                if (matcher.start(groups_[i]) != -1) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the next regular expression matching the whole key.
+     *
+     * @param key  the key
+     * @param from the index to start from
+     * @return the index, or {@code -1} if none match
+     */
+    int next(String key, int from) {
+        for (var i = from; i < patterns_.length; i++) {
+            if (patterns_[i].matcher(key).matches()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
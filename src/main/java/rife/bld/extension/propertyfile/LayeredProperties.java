@@ -0,0 +1,365 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link Properties Properties} layered over a parent, which is shared and never modified.
+ * <p>
+ * Lookups fall through to the parent unless the key was set or removed in this layer, so that only the changes are
+ * stored, and a parent loaded once can be edited concurrently by any number of layers. Setting a key to the value it
+ * already inherits is not a change. Removing a key inherited from the parent only records that it is hidden;
+ * {@link #clear() clearing} hides the parent entirely. All the {@link Map} mutators, including
+ * {@link #compute(Object, BiFunction) compute} and {@link #merge(Object, Object, BiFunction) merge}, go through this
+ * layer. Methods returning all entries, such as {@link #entrySet()}, return a merged copy, which is kept until the next
+ * change.
+ * <p>
+ * The parent must not be modified while this layer is in use.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class LayeredProperties extends Properties {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Properties parent_;
+    private final Set<Object> removed_ = new HashSet<>();
+    private boolean cleared_;
+    private Map<Object, Object> merged_;
+
+    /**
+     * Creates a new empty layer.
+     *
+     * @param parent the parent properties
+     */
+    LayeredProperties(Properties parent) {
+        parent_ = parent;
+    }
+
+    /**
+     * Creates a new layer, with its own initial entries.
+     * <p>
+     * The initial entries are kept as is, even if they are the same as those inherited.
+     *
+     * @param parent the parent properties
+     * @param own    the initial entries of this layer
+     */
+    LayeredProperties(Properties parent, Properties own) {
+        parent_ = parent;
+        for (var e : own.entrySet()) {
+            super.put(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Returns the keys set or removed in this layer.
+     *
+     * @return the keys
+     * @see #isCleared()
+     */
+    Set<Object> changedKeys() {
+        var keys = new HashSet<>(super.keySet());
+        keys.addAll(removed_);
+        return keys;
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        removed_.clear();
+        cleared_ = true;
+        merged_ = null;
+    }
+
+    @Override
+    public synchronized Object compute(Object key,
+                                       BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        return update(key, remappingFunction.apply(key, get(key)));
+    }
+
+    @Override
+    public synchronized Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+        var previous = get(key);
+        if (previous != null) {
+            return previous;
+        }
+        var value = mappingFunction.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized Object computeIfPresent(Object key,
+                                                BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        var previous = get(key);
+        return previous == null ? null : update(key, remappingFunction.apply(key, previous));
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return containsValue(value);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return super.containsKey(key) || (inherits(key) && parent_.containsKey(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return merged().containsValue(value);
+    }
+
+    @Override
+    public Enumeration<Object> elements() {
+        return Collections.enumeration(merged().values());
+    }
+
+    @Override
+    public Set<Map.Entry<Object, Object>> entrySet() {
+        return Collections.unmodifiableMap(merged()).entrySet();
+    }
+
+    @Override
+    public synchronized boolean equals(Object o) {
+        return o instanceof Map && merged().equals(o);
+    }
+
+    @Override
+    public synchronized void forEach(BiConsumer<? super Object, ? super Object> action) {
+        merged().forEach(action);
+    }
+
+    @Override
+    public Object get(Object key) {
+        var value = super.get(key);
+        if (value == null && inherits(key)) {
+            return parent_.get(key);
+        }
+        return value;
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        var value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public String getProperty(String key) {
+        var value = get(key);
+        return value instanceof String ? (String) value : null;
+    }
+
+    @Override
+    public String getProperty(String key, String defaultValue) {
+        var value = getProperty(key);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public synchronized int hashCode() {
+        return merged().hashCode();
+    }
+
+    /**
+     * Returns {@code true} if this layer was cleared, hiding the parent entirely.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean isCleared() {
+        return cleared_;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        return Collections.unmodifiableSet(merged().keySet());
+    }
+
+    @Override
+    public Enumeration<Object> keys() {
+        return Collections.enumeration(merged().keySet());
+    }
+
+    /**
+     * Returns a copy of the entries set in this layer only.
+     *
+     * @return the entries of this layer
+     */
+    Properties layer() {
+        var layer = new Properties();
+        for (var e : super.entrySet()) {
+            layer.put(e.getKey(), e.getValue());
+        }
+        return layer;
+    }
+
+    @Override
+    public synchronized Object merge(Object key, Object value,
+                                     BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        Objects.requireNonNull(value);
+        var previous = get(key);
+        return update(key, previous == null ? value : remappingFunction.apply(previous, value));
+    }
+
+    @Override
+    public Enumeration<?> propertyNames() {
+        return Collections.enumeration(stringPropertyNames());
+    }
+
+    @Override
+    public synchronized Object put(Object key, Object value) {
+        var previous = get(key);
+        // setting the inherited value again does not copy it to this layer
+        if (super.containsKey(key) || !value.equals(previous)) {
+            super.put(key, value);
+            merged_ = null;
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized void putAll(Map<?, ?> t) {
+        for (var e : t.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(Object key, Object value) {
+        var previous = get(key);
+        if (previous == null) {
+            super.put(key, value);
+            merged_ = null;
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        var previous = get(key);
+        super.remove(key);
+        if (!cleared_ && parent_.containsKey(key)) {
+            removed_.add(key);
+        }
+        merged_ = null;
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        var current = get(key);
+        if (current != null && current.equals(value)) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized Object replace(Object key, Object value) {
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    @Override
+    public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+        var current = get(key);
+        if (current != null && current.equals(oldValue)) {
+            put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+        for (var e : merged().entrySet()) {
+            put(e.getKey(), Objects.requireNonNull(function.apply(e.getKey(), e.getValue())));
+        }
+    }
+
+    @Override
+    public int size() {
+        return merged().size();
+    }
+
+    @Override
+    public Set<String> stringPropertyNames() {
+        var names = new HashSet<String>();
+        for (var e : merged().entrySet()) {
+            if (e.getKey() instanceof String && e.getValue() instanceof String) {
+                names.add((String) e.getKey());
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return merged().toString();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return Collections.unmodifiableCollection(merged().values());
+    }
+
+    private boolean inherits(Object key) {
+        return !cleared_ && !removed_.contains(key);
+    }
+
+    // the entries of the parent that are not hidden, overridden by those of this layer, never modified once built
+    private synchronized Map<Object, Object> merged() {
+        if (merged_ == null) {
+            var merged = new HashMap<>();
+            if (!cleared_) {
+                for (var e : parent_.entrySet()) {
+                    if (!removed_.contains(e.getKey())) {
+                        merged.put(e.getKey(), e.getValue());
+                    }
+                }
+            }
+            for (var e : super.entrySet()) {
+                merged.put(e.getKey(), e.getValue());
+            }
+            merged_ = merged;
+        }
+        return merged_;
+    }
+
+    // a null value removes the key, as with Map.compute
+    private Object update(Object key, Object value) {
+        if (value == null) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+}
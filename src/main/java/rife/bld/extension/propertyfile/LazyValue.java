@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * A value computed by a {@link Supplier} on first use, at most once, even when requested concurrently.
+ * <p>
+ * An exception thrown by the supplier is memoized as well, and rethrown every time the value is requested, as an
+ * {@link IllegalArgumentException}, so that it is reported like any other invalid value.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class LazyValue {
+
+    private final FutureTask<Object> task_;
+
+    /**
+     * Creates a new lazy value.
+     *
+     * @param supplier the supplier
+     */
+    LazyValue(Supplier<?> supplier) {
+        task_ = new FutureTask<>(supplier::get);
+    }
+
+    /**
+     * Returns a lazy value for a supplier.
+     *
+     * @param supplier the supplier
+     * @return the lazy value, or {@code null} if the supplier is {@code null}
+     */
+    static LazyValue of(Supplier<?> supplier) {
+        return supplier == null ? null : new LazyValue(supplier);
+    }
+
+    /**
+     * Returns the value of an object, computing it first if it is a lazy value.
+     *
+     * @param o the object
+     * @return the value
+     */
+    static Object resolve(Object o) {
+        return o instanceof LazyValue ? ((LazyValue) o).get() : o;
+    }
+
+    /**
+     * Returns the value, computing it or waiting for it to be computed as needed.
+     *
+     * @return the value
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    Object get() {
+        // no-op if already computed or being computed by another thread
+        task_.run();
+        try {
+            return task_.get();
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalArgumentException("Could not compute the value --> " + cause, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the value has been computed.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean isDone() {
+        return task_.isDone();
+    }
+
+    /**
+     * Computes the value, if not already done, without rethrowing any exception.
+     */
+    void prefetch() {
+        task_.run();
+    }
+
+    @Override
+    public String toString() {
+        return "LazyValue{done=" + isDone() + '}';
+    }
+}
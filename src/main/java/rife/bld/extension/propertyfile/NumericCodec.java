@@ -0,0 +1,284 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses and formats numeric values according to a {@link DecimalFormat DecimalFormat} pattern.
+ * <p>
+ * Common patterns (empty, zero-padded, grouped, or with literal prefixes and suffixes) are handled directly
+ * without going through {@link DecimalFormat} for integral values; any other pattern or input falls back to it, so
+ * the results are always identical.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class NumericCodec {
+
+    private static final Map<Key, NumericCodec> CACHE = new ConcurrentHashMap<>();
+    private static final int MAX_FAST_DIGITS = 18;
+    // canonical values never exceed 18 digits, so this can never be a parsed value
+    private static final long NOT_CANONICAL = Long.MIN_VALUE;
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    private final boolean fast_;
+    private final DecimalFormat fmt_;
+    private final char groupingSeparator_;
+    private final int groupingSize_;
+    private final int minDigits_;
+    private final String negativePrefix_;
+    private final String negativeSuffix_;
+    private final String positivePrefix_;
+    private final String positiveSuffix_;
+
+    private NumericCodec(String pattern) {
+        fmt_ = new DecimalFormat(pattern);
+        var symbols = fmt_.getDecimalFormatSymbols();
+        groupingSeparator_ = symbols.getGroupingSeparator();
+        groupingSize_ = fmt_.isGroupingUsed() ? fmt_.getGroupingSize() : 0;
+        minDigits_ = fmt_.getMinimumIntegerDigits();
+        positivePrefix_ = fmt_.getPositivePrefix();
+        positiveSuffix_ = fmt_.getPositiveSuffix();
+        negativePrefix_ = fmt_.getNegativePrefix();
+        negativeSuffix_ = fmt_.getNegativeSuffix();
+        fast_ = symbols.getZeroDigit() == '0'
+                && fmt_.getMultiplier() == 1
+                && fmt_.getMinimumFractionDigits() == 0
+                && !fmt_.isDecimalSeparatorAlwaysShown()
+                && fmt_.getMaximumIntegerDigits() > MAX_FAST_DIGITS
+                && minDigits_ <= MAX_FAST_DIGITS
+                && (!fmt_.isGroupingUsed() || groupingSize_ > 0)
+                && !Character.isDigit(groupingSeparator_)
+                && !(positivePrefix_.equals(negativePrefix_) && positiveSuffix_.equals(negativeSuffix_))
+                && pattern.indexOf('E') == -1
+                && pattern.indexOf('\'') == -1
+                && pattern.indexOf('\u00A4') == -1;
+    }
+
+    /**
+     * Returns the codec for the given pattern, using the default locale.
+     *
+     * @param pattern the {@link DecimalFormat DecimalFormat} pattern
+     * @return the codec
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    static NumericCodec of(String pattern) {
+        return CACHE.computeIfAbsent(new Key(Locale.getDefault(Locale.Category.FORMAT), pattern),
+                k -> new NumericCodec(k.pattern()));
+    }
+
+    private static int digitCount(long value) {
+        // value is always <= 0 here
+        var count = 1;
+        for (var v = value; v <= -10; v /= 10) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Formats a value.
+     *
+     * @param value the value
+     * @return the formatted value
+     */
+    String format(long value) {
+        if (!fast_) {
+            return decimalFormat().format(value);
+        }
+
+        var negative = value < 0;
+        var prefix = negative ? negativePrefix_ : positivePrefix_;
+        var suffix = negative ? negativeSuffix_ : positiveSuffix_;
+        // work with the negated value so that Long.MIN_VALUE does not overflow
+        var v = negative ? value : -value;
+        var digits = Math.max(digitCount(v), minDigits_);
+        var separators = groupingSize_ > 0 ? (digits - 1) / groupingSize_ : 0;
+        var length = prefix.length() + digits + separators + suffix.length();
+
+        var buf = BUFFER.get();
+        if (buf.length < length) {
+            buf = new char[length];
+            BUFFER.set(buf);
+        }
+
+        prefix.getChars(0, prefix.length(), buf, 0);
+        var pos = prefix.length() + digits + separators;
+        suffix.getChars(0, suffix.length(), buf, pos);
+        for (var i = 0; i < digits; i++) {
+            if (i > 0 && groupingSize_ > 0 && i % groupingSize_ == 0) {
+                buf[--pos] = groupingSeparator_;
+            }
+            buf[--pos] = (char) ('0' - (v % 10));
+            v /= 10;
+        }
+        return new String(buf, 0, length);
+    }
+
+    // DecimalFormat is not thread-safe, cloning is still much cheaper than compiling the pattern again
+    private DecimalFormat decimalFormat() {
+        return (DecimalFormat) fmt_.clone();
+    }
+
+    /**
+     * Formats a decimal value.
+     *
+     * @param value        the value
+     * @param roundingMode the rounding mode to apply if the value has more fraction digits than the pattern allows
+     * @return the formatted value
+     */
+    String format(BigDecimal value, RoundingMode roundingMode) {
+        if (fast_) {
+            var integral = value.scale() > 0 ? value.stripTrailingZeros() : value;
+            if (integral.scale() <= 0 && integral.precision() - integral.scale() <= MAX_FAST_DIGITS) {
+                return format(integral.longValue());
+            }
+        }
+        var fmt = decimalFormat();
+        fmt.setRoundingMode(roundingMode);
+        return fmt.format(value);
+    }
+
+    /**
+     * Returns {@code true} if this codec bypasses {@link DecimalFormat} for well-formed input.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean isFast() {
+        return fast_;
+    }
+
+    /**
+     * Parses a value as a {@link BigDecimal}.
+     *
+     * @param text the text to parse
+     * @return the value
+     * @throws ParseException        if the text could not be parsed
+     * @throws NumberFormatException if the text is not a finite number
+     */
+    BigDecimal parseDecimal(String text) throws ParseException {
+        if (fast_) {
+            var value = parseFast(text);
+            if (value != NOT_CANONICAL) {
+                return BigDecimal.valueOf(value);
+            }
+        }
+        var fmt = decimalFormat();
+        fmt.setParseBigDecimal(true);
+        var number = fmt.parse(text);
+        return number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString());
+    }
+
+    /**
+     * Parses a value as an integer, with the same semantics as {@link Number#intValue()}.
+     *
+     * @param text the text to parse
+     * @return the value
+     * @throws ParseException if the text could not be parsed
+     */
+    int parseInt(String text) throws ParseException {
+        return (int) parse(text, true);
+    }
+
+    /**
+     * Parses a value as a long, with the same semantics as {@link Number#longValue()}.
+     *
+     * @param text the text to parse
+     * @return the value
+     * @throws ParseException if the text could not be parsed
+     */
+    long parseLong(String text) throws ParseException {
+        return parse(text, false);
+    }
+
+    private long parse(String text, boolean asInt) throws ParseException {
+        if (fast_) {
+            var value = parseFast(text);
+            if (value != NOT_CANONICAL) {
+                return value;
+            }
+        }
+
+        // not in canonical form, leave it to DecimalFormat to decide
+        var number = decimalFormat().parse(text);
+        return asInt ? number.intValue() : number.longValue();
+    }
+
+    // Returns NOT_CANONICAL if the text is not in canonical form.
+    private long parseFast(String text) {
+        if (text.startsWith(negativePrefix_)) {
+            var value = parseDigits(text, negativePrefix_.length(), negativeSuffix_);
+            if (value >= 0) {
+                return -value;
+            }
+        }
+        if (text.startsWith(positivePrefix_)) {
+            var value = parseDigits(text, positivePrefix_.length(), positiveSuffix_);
+            if (value >= 0) {
+                return value;
+            }
+        }
+        return NOT_CANONICAL;
+    }
+
+    // Returns -1 if the digits (and suffix) starting at the given position are not canonical.
+    private long parseDigits(String text, int start, String suffix) {
+        var end = text.length() - suffix.length();
+        if (end <= start || !text.startsWith(suffix, end)) {
+            return -1;
+        }
+
+        long value = 0;
+        var digits = 0;
+        var group = 0;
+        var grouped = false;
+        for (var i = start; i < end; i++) {
+            var c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_FAST_DIGITS) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+                group++;
+            } else if (groupingSize_ > 0 && c == groupingSeparator_) {
+                // the leading group may be short, all others must be exactly the grouping size
+                if (group == 0 || group > groupingSize_ || (grouped && group != groupingSize_)) {
+                    return -1;
+                }
+                grouped = true;
+                group = 0;
+            } else {
+                return -1;
+            }
+        }
+
+        if (digits == 0 || (grouped && group != groupingSize_)) {
+            return -1;
+        }
+        return value;
+    }
+
+    private record Key(Locale locale, String pattern) {
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * A binary snapshot of a parsed {@link Properties properties} file, so that the keys and values can be read back
+ * without going through the line, escape and charset handling of the parser as long as the file is unchanged.
+ * <p>
+ * The snapshot records the size and modification time of the file, a checksum of its first and last blocks, and
+ * the charset it was read in, followed by the length-prefixed UTF-16 keys and values, so that any string, even one
+ * holding an unpaired surrogate, is restored exactly as parsed. It is read in one go rather than memory-mapped, since
+ * a mapped file cannot be replaced on Windows until the mapping is garbage collected, so loading it still takes time
+ * proportional to its size; a snapshot that does not match the file, or that is corrupt, is simply ignored.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class PropertiesSnapshot {
+
+    private static final int BLOCK_SIZE = 4096;
+    private static final Logger LOGGER = Logger.getLogger(PropertiesSnapshot.class.getName());
+    private static final long MAGIC = 0x424C44_50534E50L; // "BLDPSNP"
+    private static final int VERSION = 2;
+
+    private PropertiesSnapshot() {
+        // no-op
+    }
+
+    // Checksum of the first and last blocks of the file.
+    private static long fingerprint(Path file, long size) throws IOException {
+        var crc = new CRC32C();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocate((int) Math.min(size, 2L * BLOCK_SIZE));
+            if (size <= 2L * BLOCK_SIZE) {
+                readFully(channel, buffer, 0);
+            } else {
+                buffer.limit(BLOCK_SIZE);
+                readFully(channel, buffer, 0);
+                buffer.limit(2 * BLOCK_SIZE);
+                readFully(channel, buffer, size - BLOCK_SIZE);
+            }
+            crc.update(buffer.flip());
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the snapshot file of a properties file.
+     *
+     * @param directory the snapshot directory
+     * @param file      the properties file
+     * @return the snapshot file
+     */
+    static Path snapshotFile(Path directory, Path file) {
+        return PropertyFileUtils.buildFile(directory, file, ".snapshot");
+    }
+
+    /**
+     * Loads the snapshot of a file, if valid.
+     *
+     * @param file     the {@link Properties properties} file
+     * @param snapshot the snapshot file
+     * @param p        the {@link Properties properties} to load into
+     * @param charset  the charset of the file
+     * @return {@code true} if the snapshot was loaded, {@code false} if the file must be parsed
+     */
+    static boolean load(Path file, Path snapshot, Properties p, Charset charset) {
+        if (!Files.isRegularFile(snapshot)) {
+            return false;
+        }
+        try {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+            var size = Files.size(file);
+            if (buffer.getLong() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != size
+                    || buffer.getLong() != Files.getLastModifiedTime(file).toMillis()
+                    || buffer.getLong() != fingerprint(file, size)
+                    || !charset.name().equals(readString(buffer))) {
+                return false;
+            }
+
+            // nothing is loaded unless the whole snapshot could be read
+            var count = buffer.getInt();
+            var entries = new HashMap<String, String>(count * 4 / 3 + 1);
+            for (var i = 0; i < count; i++) {
+                entries.put(readString(buffer), readString(buffer));
+            }
+            p.putAll(entries);
+            return true;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        var pos = position;
+        while (buffer.hasRemaining()) {
+            var n = channel.read(buffer, pos);
+            if (n < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            pos += n;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / Character.BYTES) {
+            throw new IllegalArgumentException("Corrupt snapshot");
+        }
+        var chars = new char[length];
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + length * Character.BYTES);
+        return new String(chars);
+    }
+
+    /**
+     * Saves the snapshot of a file.
+     *
+     * @param file     the {@link Properties properties} file, as just written
+     * @param snapshot the snapshot file
+     * @param p        the {@link Properties properties} written to the file
+     * @param charset  the charset of the file
+     * @throws IOException if the snapshot could not be written, but not if it could only not be replaced
+     */
+    static void save(Path file, Path snapshot, Properties p, Charset charset) throws IOException {
+        var size = Files.size(file);
+        var bytes = new ByteArrayOutputStream(64 + p.size() * 64);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeLong(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(size);
+            out.writeLong(Files.getLastModifiedTime(file).toMillis());
+            out.writeLong(fingerprint(file, size));
+            writeString(out, charset.name());
+            var names = p.stringPropertyNames();
+            out.writeInt(names.size());
+            for (var name : names) {
+                writeString(out, name);
+                writeString(out, p.getProperty(name));
+            }
+        }
+
+        // replaced atomically, so that a concurrent build never reads a partial snapshot
+        Files.createDirectories(snapshot.getParent());
+        var tmp = Files.createTempFile(snapshot.getParent(), snapshot.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes.toByteArray());
+            try {
+                Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (AccessDeniedException e) {
+            // e.g. still open by another build on Windows, the stale snapshot will not match the file anyway
+            LOGGER.fine("Could not replace the snapshot: " + e.getMessage());
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // UTF-16 rather than UTF-8, which would replace unpaired surrogates
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeInt(s.length());
+        out.writeChars(s);
+    }
+}
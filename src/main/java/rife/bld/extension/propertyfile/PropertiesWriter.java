@@ -0,0 +1,617 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes {@link Properties properties} deterministically, so that identical properties always produce identical
+ * bytes.
+ * <p>
+ * In ISO 8859-1, the output is read back exactly like that of
+ * {@link Properties#store(java.io.OutputStream, String) Properties.store}, with the same escaping, but the keys are
+ * sorted, lines always end with {@code \n}, and the timestamp header is optional and formatted in UTC. In any other
+ * charset, such as UTF-8, characters are encoded directly and only those that cannot be are escaped.
+ * <p>
+ * Files are written from a pool of direct buffers, shared by all threads, with encoders cached per thread.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class PropertiesWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+    // the approximate memory used by an entry while sorting and formatting, besides its characters
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    // the most runs merged at once, each holding a file open
+    private static final int MAX_FAN_IN = 64;
+    private static final int MAX_TEXT_CAPACITY = 1024 * 1024;
+    private static final int MIN_RUN_BUFFER_SIZE = 4 * 1024;
+    // up to 4 MiB of direct buffers are kept for reuse
+    private static final BlockingQueue<ByteBuffer> POOL = new ArrayBlockingQueue<>(64);
+    private static final String TEMP_PREFIX = "properties-";
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", Locale.ROOT).withZone(ZoneId.of("UTC"));
+
+    private PropertiesWriter() {
+        // no-op
+    }
+
+    private static ByteBuffer acquire() {
+        var buffer = POOL.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    private static boolean canEncode(CharsetEncoder encoder, String s, int i) {
+        var c = s.charAt(i);
+        if (Character.isHighSurrogate(c)) {
+            return i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))
+                    && encoder.canEncode(s.subSequence(i, i + 2));
+        } else if (Character.isLowSurrogate(c)) {
+            return i > 0 && Character.isHighSurrogate(s.charAt(i - 1))
+                    && encoder.canEncode(s.subSequence(i - 1, i + 1));
+        }
+        return encoder.canEncode(c);
+    }
+
+    private static void comment(StringBuilder sb, String comment, CharsetEncoder encoder) {
+        sb.append('#');
+        var last = 0;
+        var i = 0;
+        while (i < comment.length()) {
+            var c = comment.charAt(i);
+            var escape = encoder == null ? c > 0xff : !canEncode(encoder, comment, i);
+            if (escape || c == '\n' || c == '\r') {
+                sb.append(comment, last, i);
+                if (escape) {
+                    unicode(sb, c);
+                } else {
+                    // every line of a multi-line comment must remain a comment
+                    sb.append('\n');
+                    if (c == '\r' && i + 1 < comment.length() && comment.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    if (i + 1 == comment.length()
+                            || (comment.charAt(i + 1) != '#' && comment.charAt(i + 1) != '!')) {
+                        sb.append('#');
+                    }
+                }
+                last = i + 1;
+            }
+            i++;
+        }
+        sb.append(comment, last, comment.length()).append('\n');
+    }
+
+    // Creates a temporary file in the directory, the default one if null.
+    private static Path createTempFile(Path directory, String suffix) throws IOException {
+        return directory == null ? Files.createTempFile(TEMP_PREFIX, suffix)
+                : Files.createTempFile(directory, TEMP_PREFIX, suffix);
+    }
+
+    private static void escape(StringBuilder sb, String s, boolean isKey, CharsetEncoder encoder) {
+        for (var i = 0; i < s.length(); i++) {
+            var c = s.charAt(i);
+            if (c > '=' && c < 0x7f) {
+                if (c == '\\') {
+                    sb.append("\\\\");
+                } else {
+                    sb.append(c);
+                }
+                continue;
+            }
+            switch (c) {
+                case ' ':
+                    // only leading spaces are significant in values
+                    if (i == 0 || isKey) {
+                        sb.append('\\');
+                    }
+                    sb.append(' ');
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    sb.append('\\').append(c);
+                    break;
+                default:
+                    if (c < 0x20 || (encoder == null ? c > 0x7e : !canEncode(encoder, s, i))) {
+                        unicode(sb, c);
+                    } else {
+                        sb.append(c);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static void format(StringBuilder sb, Properties p, String comment, Instant timestamp,
+                               CharsetEncoder encoder) {
+        var sorted = new TreeMap<String, String>();
+        for (Map.Entry<Object, Object> e : p.entrySet()) {
+            sorted.put((String) e.getKey(), (String) e.getValue());
+        }
+
+        if (comment != null) {
+            comment(sb, comment, encoder);
+        }
+        if (timestamp != null) {
+            sb.append('#').append(TIMESTAMP.format(timestamp)).append('\n');
+        }
+        for (var e : sorted.entrySet()) {
+            escape(sb, e.getKey(), true, encoder);
+            sb.append('=');
+            escape(sb, e.getValue(), false, encoder);
+            sb.append('\n');
+        }
+    }
+
+    private static boolean isLegacy(Charset charset) {
+        return StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    // Returns true if the file content is exactly the content of the buffers.
+    private static boolean isUnchanged(Path file, ByteBuffer[] buffers, long size) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != size) {
+            return false;
+        }
+        var read = acquire();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (var buffer : buffers) {
+                read.clear().limit(buffer.remaining());
+                while (read.hasRemaining()) {
+                    if (channel.read(read) < 0) {
+                        return false;
+                    }
+                }
+                if (!read.flip().equals(buffer)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            release(read);
+        }
+    }
+
+    // Merges the sorted runs into the file, unless its content would not change.
+    private static boolean merge(Path file, List<Path> runs, String comment, Instant timestamp, Charset charset,
+                                 int bufferSize, Path directory) throws IOException {
+        var merged = createTempFile(directory, ".merged");
+        var readers = new ArrayList<Run>(runs.size());
+        try {
+            var queue = open(runs, bufferSize, readers);
+            try (var out = Files.newBufferedWriter(merged, charset)) {
+                var sb = new StringBuilder();
+                if (comment != null) {
+                    comment(sb, comment, isLegacy(charset) ? null : CONTEXT.get().encoder(charset));
+                }
+                if (timestamp != null) {
+                    sb.append('#').append(TIMESTAMP.format(timestamp)).append('\n');
+                }
+                out.append(sb);
+                while (!queue.isEmpty()) {
+                    var reader = queue.poll();
+                    out.write(reader.line());
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+            }
+            for (var reader : readers) {
+                reader.close();
+            }
+            readers.clear();
+
+            if (Files.isRegularFile(file) && Files.mismatch(file, merged) == -1L) {
+                return false;
+            }
+            Files.copy(merged, file, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            for (var reader : readers) {
+                reader.close();
+            }
+            Files.deleteIfExists(merged);
+        }
+    }
+
+    // Merges the sorted runs into a single sorted run.
+    private static Path mergeRuns(List<Path> runs, int bufferSize, Path directory) throws IOException {
+        var merged = createTempFile(directory, ".run");
+        var readers = new ArrayList<Run>(runs.size());
+        try {
+            var queue = open(runs, bufferSize, readers);
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(merged),
+                    bufferSize))) {
+                out.writeInt(readers.stream().mapToInt(Run::count).sum());
+                while (!queue.isEmpty()) {
+                    var reader = queue.poll();
+                    writeString(out, reader.key());
+                    writeString(out, reader.line());
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(merged);
+            throw e;
+        } finally {
+            for (var reader : readers) {
+                reader.close();
+            }
+        }
+        return merged;
+    }
+
+    // Opens the runs, added to the readers so that they get closed, and queues them by their first key.
+    private static PriorityQueue<Run> open(List<Path> runs, int bufferSize, List<Run> readers) throws IOException {
+        var queue = new PriorityQueue<Run>(runs.size(), Comparator.comparing(Run::key));
+        for (var run : runs) {
+            var reader = new Run(run, bufferSize);
+            readers.add(reader);
+            if (reader.next()) {
+                queue.add(reader);
+            }
+        }
+        return queue;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        var chars = new char[in.readInt()];
+        for (var i = 0; i < chars.length; i++) {
+            chars[i] = in.readChar();
+        }
+        return new String(chars);
+    }
+
+    private static void release(ByteBuffer buffer) {
+        // extra buffers are simply left to the garbage collector
+        POOL.offer(buffer.clear());
+    }
+
+    // Sorts and formats a run of entries into a temporary file.
+    private static Path spill(List<Map.Entry<Object, Object>> run, Charset charset, Path directory)
+            throws IOException {
+        run.sort(Comparator.comparing(e -> (String) e.getKey()));
+        var encoder = isLegacy(charset) ? null : CONTEXT.get().encoder(charset);
+        var file = createTempFile(directory, ".run");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+            out.writeInt(run.size());
+            var sb = new StringBuilder();
+            for (var e : run) {
+                var key = (String) e.getKey();
+                sb.setLength(0);
+                escape(sb, key, true, encoder);
+                sb.append('=');
+                escape(sb, (String) e.getValue(), false, encoder);
+                sb.append('\n');
+                // the raw key is kept for merging, since escaping does not preserve the order
+                writeString(out, key);
+                writeString(out, sb.toString());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Returns the bytes of the properties file, in ISO 8859-1.
+     *
+     * @param p         the {@link Properties properties}
+     * @param comment   the header comment, if any
+     * @param timestamp the timestamp header, if any
+     * @return the bytes
+     */
+    static byte[] toBytes(Properties p, String comment, Instant timestamp) {
+        return toBytes(p, comment, timestamp, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the bytes of the properties file.
+     *
+     * @param p         the {@link Properties properties}
+     * @param comment   the header comment, if any
+     * @param timestamp the timestamp header, if any
+     * @param charset   the charset
+     * @return the bytes
+     */
+    static byte[] toBytes(Properties p, String comment, Instant timestamp, Charset charset) {
+        var sb = new StringBuilder(64 + p.size() * 32);
+        // no encoder in ISO 8859-1, where the escaping of Properties.store applies
+        format(sb, p, comment, timestamp, isLegacy(charset) ? null : charset.newEncoder());
+        return sb.toString().getBytes(charset);
+    }
+
+    private static void unicode(StringBuilder sb, char c) {
+        sb.append("\\u").append(HEX[(c >> 12) & 0xf]).append(HEX[(c >> 8) & 0xf])
+                .append(HEX[(c >> 4) & 0xf]).append(HEX[c & 0xf]);
+    }
+
+    /**
+     * Writes the properties file, unless its content would not change.
+     * <p>
+     * The content is encoded into pooled direct buffers and written with a single gathering write, and the
+     * encoders and text buffer are reused by each thread, so that writing many files allocates very little.
+     *
+     * @param file      the file
+     * @param p         the {@link Properties properties}
+     * @param comment   the header comment, if any
+     * @param timestamp the timestamp header, if any
+     * @param charset   the charset
+     * @return {@code true} if the file was written
+     * @throws IOException if an I/O error occurs
+     */
+    static boolean write(Path file, Properties p, String comment, Instant timestamp, Charset charset)
+            throws IOException {
+        var context = CONTEXT.get();
+        var sb = context.text();
+        var encoder = context.encoder(charset);
+        format(sb, p, comment, timestamp, isLegacy(charset) ? null : encoder);
+
+        var buffers = new ArrayList<ByteBuffer>();
+        try {
+            var out = acquire();
+            buffers.add(out);
+            var in = CharBuffer.wrap(sb);
+            encoder.reset();
+            CoderResult result;
+            do {
+                result = encoder.encode(in, out, true);
+                if (result.isOverflow()) {
+                    out = acquire();
+                    buffers.add(out);
+                } else if (result.isError()) {
+                    result.throwException();
+                }
+            } while (!result.isUnderflow());
+            do {
+                result = encoder.flush(out);
+                if (result.isOverflow()) {
+                    out = acquire();
+                    buffers.add(out);
+                }
+            } while (!result.isUnderflow());
+
+            long size = 0;
+            var array = buffers.toArray(new ByteBuffer[0]);
+            for (var buffer : array) {
+                size += buffer.flip().remaining();
+            }
+            if (isUnchanged(file, array, size)) {
+                return false;
+            }
+            try (var channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                var written = 0L;
+                while (written < size) {
+                    written += channel.write(array);
+                }
+            }
+            return true;
+        } finally {
+            buffers.forEach(PropertiesWriter::release);
+        }
+    }
+
+    /**
+     * Writes the properties file like {@link #write(Path, Properties, String, Instant, Charset)}, within a memory
+     * budget.
+     * <p>
+     * If the entries do not fit the budget, they are sorted and formatted in runs that each fit, spilled to
+     * temporary files, and the runs are then merged while streaming to a temporary copy of the file, which only
+     * replaces the file if its content changed. The output is identical either way.
+     * <p>
+     * The runs are merged in as many passes as needed to keep the read buffers within the budget, and at most
+     * {@value #MAX_FAN_IN} files open at once.
+     *
+     * @param file      the file
+     * @param p         the {@link Properties properties}
+     * @param comment   the header comment, if any
+     * @param timestamp the timestamp header, if any
+     * @param charset   the charset
+     * @param memory    the approximate memory, in bytes, to sort and format the entries with, {@code 0} for no limit
+     * @return {@code true} if the file was written
+     * @throws IOException if an I/O error occurs
+     */
+    static boolean write(Path file, Properties p, String comment, Instant timestamp, Charset charset, long memory)
+            throws IOException {
+        return write(file, p, comment, timestamp, charset, memory, null);
+    }
+
+    /**
+     * Writes the properties file like {@link #write(Path, Properties, String, Instant, Charset, long)}, with the
+     * temporary files in the given directory.
+     *
+     * @param file      the file
+     * @param p         the {@link Properties properties}
+     * @param comment   the header comment, if any
+     * @param timestamp the timestamp header, if any
+     * @param charset   the charset
+     * @param memory    the approximate memory, in bytes, to sort and format the entries with, {@code 0} for no limit
+     * @param directory the directory of the temporary files, the default one if {@code null}
+     * @return {@code true} if the file was written
+     * @throws IOException if an I/O error occurs
+     */
+    static boolean write(Path file, Properties p, String comment, Instant timestamp, Charset charset, long memory,
+                         Path directory) throws IOException {
+        if (memory <= 0) {
+            return write(file, p, comment, timestamp, charset);
+        }
+
+        // all the temporary files, deleted even if the runs cannot be merged
+        var temporary = new ArrayList<Path>();
+        try {
+            var runs = new ArrayList<Path>();
+            var run = new ArrayList<Map.Entry<Object, Object>>();
+            long size = 0;
+            for (var e : p.entrySet()) {
+                run.add(e);
+                size += ENTRY_OVERHEAD + 2L * (((String) e.getKey()).length() + ((String) e.getValue()).length());
+                if (size > memory) {
+                    runs.add(spill(run, charset, directory));
+                    temporary.add(runs.get(runs.size() - 1));
+                    run.clear();
+                    size = 0;
+                }
+            }
+            if (runs.isEmpty()) {
+                return write(file, p, comment, timestamp, charset);
+            }
+            if (!run.isEmpty()) {
+                runs.add(spill(run, charset, directory));
+                temporary.add(runs.get(runs.size() - 1));
+            }
+
+            var fanIn = (int) Math.max(2, Math.min(MAX_FAN_IN, memory / MIN_RUN_BUFFER_SIZE));
+            var bufferSize = (int) Math.max(MIN_RUN_BUFFER_SIZE, Math.min(BUFFER_SIZE, memory / fanIn));
+            while (runs.size() > fanIn) {
+                var merged = new ArrayList<Path>(runs.size() / fanIn + 1);
+                for (var i = 0; i < runs.size(); i += fanIn) {
+                    var group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                    } else {
+                        merged.add(mergeRuns(group, bufferSize, directory));
+                        temporary.add(merged.get(merged.size() - 1));
+                        for (var f : group) {
+                            Files.delete(f);
+                        }
+                    }
+                }
+                runs = merged;
+            }
+            return merge(file, runs, comment, timestamp, charset, bufferSize, directory);
+        } finally {
+            for (var f : temporary) {
+                Files.deleteIfExists(f);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeInt(s.length());
+        out.writeChars(s);
+    }
+
+    /**
+     * The text buffer and encoders reused by a thread.
+     */
+    private static final class Context {
+
+        private final Map<Charset, CharsetEncoder> encoders_ = new HashMap<>();
+        private StringBuilder text_ = new StringBuilder(BUFFER_SIZE);
+
+        CharsetEncoder encoder(Charset charset) {
+            return encoders_.computeIfAbsent(charset, Charset::newEncoder).reset();
+        }
+
+        StringBuilder text() {
+            // an unusually large file should not be held on to
+            if (text_.capacity() > MAX_TEXT_CAPACITY) {
+                text_ = new StringBuilder(BUFFER_SIZE);
+            } else {
+                text_.setLength(0);
+            }
+            return text_;
+        }
+    }
+
+    /**
+     * A sorted run of formatted entries, read back one at a time.
+     */
+    private static final class Run implements Closeable {
+
+        private final int count_;
+        private final DataInputStream in_;
+        private String key_;
+        private String line_;
+        private int remaining_;
+
+        Run(Path file, int bufferSize) throws IOException {
+            in_ = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferSize));
+            try {
+                count_ = in_.readInt();
+            } catch (IOException e) {
+                in_.close();
+                throw e;
+            }
+            remaining_ = count_;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in_.close();
+        }
+
+        int count() {
+            return count_;
+        }
+
+        String key() {
+            return key_;
+        }
+
+        String line() {
+            return line_;
+        }
+
+        boolean next() throws IOException {
+            if (remaining_ == 0) {
+                return false;
+            }
+            remaining_--;
+            key_ = readString(in_);
+            line_ = readString(in_);
+            return true;
+        }
+    }
+}
@@ -22,13 +22,24 @@ import rife.bld.extension.tools.TextTools;
 import rife.bld.operations.AbstractOperation;
 import rife.bld.operations.exceptions.ExitStatusException;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Creates or applies edits to a {@link Properties Properties} file.
@@ -40,11 +51,23 @@ public class PropertyFileOperation extends AbstractOperation<PropertyFileOperati
 
     private static final Logger LOGGER = Logger.getLogger(PropertyFileOperation.class.getName());
     private final List<EntryBase<?>> entries_ = new ArrayList<>();
+    private final List<Path> layers_ = new ArrayList<>();
+    private String archiveEntry_;
+    private Charset charset_ = StandardCharsets.ISO_8859_1;
     private boolean clear_;
     private String comment_ = "";
     private boolean failOnWarning_;
-    private File file_;
+    private Path file_;
+    private Path flatten_;
+    private boolean hasWarnings_;
+    private boolean incremental_;
     private BaseProject project_;
+    private int shardCount_;
+    private List<String> shardPrefixes_ = List.of();
+    private boolean snapshot_;
+    private long sortMemory_;
+    private boolean timestamp_ = true;
+    private Instant timestampValue_;
 
     /**
      * Performs the modification(s) to the {@link java.util.Properties properties} file.
@@ -61,54 +84,266 @@ public class PropertyFileOperation extends AbstractOperation<PropertyFileOperati
         var commandName = project_.getCurrentCommandName();
         var properties = new Properties();
         var success = true;
+        hasWarnings_ = false;
 
+        var stateDirectory = project_.buildDirectory().toPath().resolve("property-file");
+        UpToDateCheck upToDate = null;
+        if (incremental_ && file_ != null && archiveEntry_ == null && layers_.isEmpty()
+                && shardCount_ <= 0) {
+            // the sort memory is left out, since the output is the same with any
+            var plan = UpToDateCheck.plan(entries_, comment_, clear_, charset_, timestampSetting());
+            if (plan != null) {
+                upToDate = new UpToDateCheck(UpToDateCheck.stateFile(stateDirectory, file_), plan);
+                if (upToDate.isUpToDate(file_)) {
+                    if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                        LOGGER.info("Properties file is up-to-date: " + file_);
+                    }
+                    return;
+                }
+            }
+        }
+
+        Properties layers = null;
+        if (!layers_.isEmpty()) {
+            layers = loadLayers(commandName);
+            if (layers == null) {
+                return;
+            }
+        }
+
+        Path snapshot = null;
+        ZipEntryUpdater archive = null;
+        ShardedProperties sharded = null;
         if (file_ == null) {
             warn(commandName, "A properties file must be specified.");
+        } else if (archiveEntry_ != null) {
+            try {
+                archive = new ZipEntryUpdater(file_, archiveEntry_);
+                // a missing entry is added
+                if (archive.exists()) {
+                    PropertyFileUtils.loadProperties(properties, new ByteArrayInputStream(archive.read()), charset_);
+                }
+            } catch (IOException e) {
+                warn(commandName, "Could not load properties file: " + e.getMessage());
+                success = false;
+            }
+        } else if (shardCount_ > 0) {
+            sharded = new ShardedProperties(file_, shardCount_, shardPrefixes_);
+            if (sharded.exists()) {
+                try {
+                    properties = sharded.load(charset_);
+                } catch (IOException e) {
+                    warn(commandName, "Could not load properties file: " + e.getMessage());
+                    success = false;
+                }
+            } else {
+                warn(commandName, "Please specify a valid properties file location.");
+                success = false;
+            }
         } else {
-            success = PropertyFileUtils.loadProperties(commandName, file_, properties, failOnWarning_, silent());
+            if (snapshot_) {
+                snapshot = PropertiesSnapshot.snapshotFile(stateDirectory, file_);
+            }
+            // the snapshot is only used if the file did not change since it was written
+            if (snapshot == null || !Files.isRegularFile(file_)
+                    || !PropertiesSnapshot.load(file_, snapshot, properties, charset_)) {
+                success = PropertyFileUtils.loadProperties(commandName, file_, properties, failOnWarning_, silent(),
+                        charset_);
+            }
+        }
+
+        if (layers != null) {
+            // lookups fall through to the layers, while edits only land in the file's own layer
+            properties = new LayeredProperties(layers, properties);
+        }
+        if (sharded != null) {
+            // the changes are tracked, so that only the shards they touch are rewritten
+            properties = new LayeredProperties(properties);
         }
 
         if (success) {
-            if (clear_) {
-                if (LOGGER.isLoggable(Level.WARNING)) {
-                    LOGGER.warning("All entries will be cleared first.");
+            apply(commandName, properties);
+        }
+
+        var own = properties instanceof LayeredProperties ? ((LayeredProperties) properties).layer() : properties;
+        // resolved once, so that all the files written get the same date
+        var timestamp = success ? timestamp() : null;
+        if (success && archive != null) {
+            try {
+                archive.write(PropertiesWriter.toBytes(own, comment_, timestamp, charset_), timestamp);
+            } catch (IOException e) {
+                throw new IOException("An IO error occurred while saving the Properties file: " + file_
+                        + '!' + archiveEntry_, e);
+            }
+        } else if (success && sharded != null) {
+            var count = sharded.save((LayeredProperties) properties, comment_, timestamp, charset_, sortMemory_);
+            if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                LOGGER.info("Updated " + count + " shard(s) of: " + file_);
+            }
+        } else if (success) {
+            PropertyFileUtils.saveProperties(file_, comment_, own, timestamp, charset_, sortMemory_);
+            if (snapshot != null) {
+                PropertiesSnapshot.save(file_, snapshot, own, charset_);
+            }
+            // warnings would not be reported again if skipped
+            if (upToDate != null && !hasWarnings_) {
+                upToDate.save(file_);
+            }
+        }
+
+        if (success && flatten_ != null) {
+            PropertyFileUtils.saveProperties(flatten_, comment_, properties, timestamp, charset_, sortMemory_);
+        }
+    }
+
+    /**
+     * Applies the entries to the {@link Properties properties}.
+     *
+     * @param commandName the command name
+     * @param properties  the {@link Properties properties}
+     * @throws ExitStatusException if a {@link Level#SEVERE} exception occurs
+     */
+    void apply(String commandName, Properties properties) throws ExitStatusException {
+        if (clear_) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.warning("All entries will be cleared first.");
+            }
+            properties.clear();
+        }
+        prefetch(properties);
+
+        var derived = new ArrayList<EntryDerived>();
+        var interpolator = new Interpolator(properties);
+        // the sorted index of the keys is only built if needed, then kept up to date
+        NavigableSet<String> index = null;
+        // consecutive match entries are applied together, in a single pass over the keys
+        var matches = new ArrayList<EntryMatch>();
+        for (var entry : entries_) {
+            if (entry instanceof EntryMatch) {
+                if (isValid(commandName, (EntryMatch) entry)) {
+                    matches.add((EntryMatch) entry);
                 }
-                properties.clear();
+                continue;
             }
-            for (var entry : entries_) {
-                if (entry.key().isBlank()) {
-                    warn(commandName, "An entry key must specified.");
-                } else {
-                    var key = entry.key();
-                    Object value = entry.newValue();
-                    Object defaultValue = entry.defaultValue();
-                    var p = properties.getProperty(key);
-                    if (entry.isDelete()) {
+            if (!matches.isEmpty()) {
+                invalidate(processMatches(commandName, properties, matches), properties, interpolator, index);
+                matches.clear();
+            }
+
+            if (entry.key().isBlank()) {
+                warn(commandName, "An entry key must specified.");
+            } else {
+                var key = entry.key();
+                var p = properties.getProperty(key);
+                List<String> modified = null;
+                if (entry instanceof EntryPrefix) {
+                    if (index == null) {
+                        index = new TreeSet<>(properties.stringPropertyNames());
+                    }
+                    try {
+                        modified = PropertyFileUtils.processPrefix(properties, (EntryPrefix) entry, index);
+                    } catch (IllegalArgumentException e) {
+                        warn(commandName, e.getMessage());
+                    }
+                } else if (entry.isDelete()) {
+                    if (entry instanceof EntryVersion) {
+                        ((EntryVersion) entry).keys().forEach(properties::remove);
+                    } else {
                         properties.remove(key);
-                    } else if (TextTools.isBlank(value, defaultValue, p)) {
-                        warn(commandName, "An entry must be set or have a default value: " + key);
+                    }
+                } else if (entry instanceof EntryVersion) {
+                    // a missing version starts at 0.0.0
+                    try {
+                        PropertyFileUtils.processVersion(properties, (EntryVersion) entry);
+                    } catch (IllegalArgumentException e) {
+                        warn(commandName, e.getMessage());
+                    }
+                } else if (entry instanceof EntryChecksum) {
+                    try {
+                        PropertyFileUtils.processChecksum(properties, (EntryChecksum) entry);
+                    } catch (IllegalArgumentException e) {
+                        warn(commandName, e.getMessage());
+                    }
+                } else if (entry instanceof EntryGit) {
+                    try {
+                        PropertyFileUtils.processGit(properties, (EntryGit) entry);
+                    } catch (IllegalArgumentException e) {
+                        warn(commandName, e.getMessage());
+                    }
+                } else if (entry instanceof EntryDerived) {
+                    if (((EntryDerived) entry).expression() == null) {
+                        warn(commandName, "A derived entry must have an expression: " + key);
                     } else {
-                        try {
-                            if (entry instanceof EntryDate) {
-                                PropertyFileUtils.processDate(properties, (EntryDate) entry);
-                            } else if (entry instanceof EntryInt) {
-                                PropertyFileUtils.processInt(properties, (EntryInt) entry);
-                            } else {
-                                PropertyFileUtils.processString(properties, (Entry) entry);
-                            }
-                        } catch (IllegalArgumentException e) {
-                            warn(commandName, e.getMessage());
+                        derived.add((EntryDerived) entry);
+                    }
+                } else {
+                    try {
+                        // resolving the values may call their suppliers, which can fail
+                        if (TextTools.isBlank(entry.newValue(), p) && TextTools.isBlank(entry.defaultValue())) {
+                            warn(commandName, "An entry must be set or have a default value: " + key);
+                        } else if (entry instanceof EntryDate) {
+                            PropertyFileUtils.processDate(properties, (EntryDate) entry);
+                        } else if (entry instanceof EntryInt) {
+                            PropertyFileUtils.processInt(properties, (EntryInt) entry);
+                        } else if (entry instanceof EntryLong) {
+                            PropertyFileUtils.processLong(properties, (EntryLong) entry);
+                        } else if (entry instanceof EntryDecimal) {
+                            PropertyFileUtils.processDecimal(properties, (EntryDecimal) entry);
+                        } else {
+                            PropertyFileUtils.processString(properties, (Entry) entry, interpolator);
                         }
+                    } catch (IllegalArgumentException e) {
+                        warn(commandName, e.getMessage());
                     }
                 }
+
+                if (modified == null) {
+                    modified = entry instanceof EntryVersion ? ((EntryVersion) entry).keys() : List.of(key);
+                }
+                invalidate(modified, properties, interpolator, index);
             }
         }
-
-        if (success) {
-            PropertyFileUtils.saveProperties(file_, comment_, properties);
+        if (!matches.isEmpty()) {
+            invalidate(processMatches(commandName, properties, matches), properties, interpolator, index);
+        }
+        if (!derived.isEmpty()) {
+            processDerived(commandName, properties, derived);
         }
     }
 
+    /**
+     * Edits a {@link java.util.Properties} file stored in the zip or jar {@link #file(Path) file}, rather than the
+     * file itself.
+     * <p>
+     * The entry is added if missing, and the archive is left untouched if the entry would not change. The entry is
+     * overwritten in place if its new content fits, otherwise the entries following it are shifted to make room,
+     * so that the archive always holds a single copy of the entry, whether it is read through its central directory
+     * or sequentially, as with {@link java.util.zip.ZipInputStream ZipInputStream}. The entry is dated with the
+     * {@link #timestamp(boolean) timestamp}, if any. The execution is never {@link #incremental(boolean) skipped}
+     * or {@link #snapshot(boolean) cached} for an archive entry.
+     *
+     * @param name the entry name, e.g. {@code META-INF/build-info.properties}
+     * @return this instance
+     */
+    public PropertyFileOperation archiveEntry(String name) {
+        archiveEntry_ = name;
+        return this;
+    }
+
+    /**
+     * Sets the charset of the {@link java.util.Properties} file, ISO 8859-1 by default.
+     * <p>
+     * In any other charset, such as UTF-8, characters are written as is instead of unicode escapes, unless they
+     * cannot be encoded. Unicode escapes are always read.
+     *
+     * @param charset the charset
+     * @return this instance
+     */
+    public PropertyFileOperation charset(Charset charset) {
+        charset_ = charset;
+        return this;
+    }
+
     /**
      * Marks the operation to clear all existing entries in the target properties file
      * before applying further modifications.
@@ -161,8 +396,7 @@ public class PropertyFileOperation extends AbstractOperation<PropertyFileOperati
      * @return this instance
      */
     public PropertyFileOperation file(File file) {
-        file_ = file;
-        return this;
+        return file(file == null ? null : file.toPath());
     }
 
     /**
@@ -173,26 +407,66 @@ public class PropertyFileOperation extends AbstractOperation<PropertyFileOperati
      */
     @SuppressFBWarnings("PATH_TRAVERSAL_IN")
     public PropertyFileOperation file(String file) {
-        return file(new File(file));
+        return file(Path.of(file));
     }
 
     /**
      * Retrieves the location of the {@link java.util.Properties} file to be edited.
      *
      * @return the properties file
+     * @throws UnsupportedOperationException if the file is not on the default file system
+     * @see #path()
      */
     public File file() {
-        return file_;
+        return file_ == null ? null : file_.toFile();
     }
 
     /**
      * Sets the location of the {@link java.util.Properties} file to be edited.
+     * <p>
+     * The file may be on any {@link java.nio.file.FileSystem file system}, such as a zip file system.
      *
      * @param file the file to be edited
      * @return this instance
      */
     public PropertyFileOperation file(Path file) {
-        return file(file.toFile());
+        file_ = file;
+        return this;
+    }
+
+    /**
+     * Also writes the effective properties, including those inherited from the {@link #layer(Path) layers}, to the
+     * given file.
+     *
+     * @param flatten the file to write the effective properties to
+     * @return this instance
+     */
+    public PropertyFileOperation flatten(File flatten) {
+        return flatten(flatten.toPath());
+    }
+
+    /**
+     * Also writes the effective properties, including those inherited from the {@link #layer(Path) layers}, to the
+     * given file.
+     *
+     * @param flatten the file to write the effective properties to
+     * @return this instance
+     */
+    public PropertyFileOperation flatten(Path flatten) {
+        flatten_ = flatten;
+        return this;
+    }
+
+    /**
+     * Also writes the effective properties, including those inherited from the {@link #layer(Path) layers}, to the
+     * given file.
+     *
+     * @param flatten the file to write the effective properties to
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public PropertyFileOperation flatten(String flatten) {
+        return flatten(Path.of(flatten));
     }
 
     /**
@@ -207,6 +481,380 @@ public class PropertyFileOperation extends AbstractOperation<PropertyFileOperati
         return this;
     }
 
+    /**
+     * Skips the {@link #execute() execution} if neither the {@link java.util.Properties} file, the entries nor the
+     * header settings, including the {@link #timestamp(Instant) timestamp}, changed since the last execution.
+     * <p>
+     * The state is kept under the project's build directory. Only entries that always produce the same result are
+     * checked, the execution is never skipped if an entry uses a supplier, calculation, bump, modify function,
+     * interpolation, the current date, or reads other files or repositories.
+     *
+     * @param incremental if set to {@code true}, the execution will be skipped if up-to-date
+     * @return this instance
+     */
+    public PropertyFileOperation incremental(boolean incremental) {
+        incremental_ = incremental;
+        return this;
+    }
+
+    /**
+     * Adds a layer below the {@link java.util.Properties} file to be edited, e.g. the defaults, region and cluster
+     * files below a host file. Layers are added from the lowest up.
+     * <p>
+     * Lookups fall through the file to the layers, from the highest down, so that entries see the effective values,
+     * but only the file is rewritten, with the entries it defines or that are edited. A key removed from the file
+     * may still be inherited from a layer. The execution is never {@link #incremental(boolean) skipped} if there are
+     * layers.
+     *
+     * @param layer the layer file
+     * @return this instance
+     * @see #flatten(Path)
+     */
+    public PropertyFileOperation layer(File layer) {
+        return layer(layer.toPath());
+    }
+
+    /**
+     * Adds a layer below the {@link java.util.Properties} file to be edited.
+     *
+     * @param layer the layer file
+     * @return this instance
+     * @see #layer(File)
+     */
+    public PropertyFileOperation layer(Path layer) {
+        layers_.add(layer);
+        return this;
+    }
+
+    /**
+     * Adds a layer below the {@link java.util.Properties} file to be edited.
+     *
+     * @param layer the layer file
+     * @return this instance
+     * @see #layer(File)
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public PropertyFileOperation layer(String layer) {
+        return layer(Path.of(layer));
+    }
+
+    /**
+     * Retrieves the location of the {@link java.util.Properties} file to be edited.
+     *
+     * @return the properties file
+     */
+    public Path path() {
+        return file_;
+    }
+
+    /**
+     * Saves the {@link Properties properties} to the file, with the configured comment, timestamp and charset.
+     *
+     * @param properties the {@link Properties properties}
+     * @throws IOException if an I/O error occurs
+     */
+    void save(Properties properties) throws IOException {
+        PropertyFileUtils.saveProperties(file_, comment_, properties, timestamp(), charset_, sortMemory_);
+    }
+
+    /**
+     * Splits the {@link java.util.Properties} file into the given number of shard files, partitioned by key hash.
+     * <p>
+     * The shards are stored in a sibling directory named after the file, e.g. {@code app.properties.shards}, along
+     * with a manifest. Only the shards touched by the entries are rewritten, each one while holding a lock on it, so
+     * that operations editing different keys can run concurrently. The file itself provides the initial content the
+     * first time, and is left as is; use {@link #flatten(Path) flatten} to export the shards to a single file.
+     * <p>
+     * The execution is never {@link #incremental(boolean) skipped} or {@link #snapshot(boolean) cached} if the file
+     * is sharded, and sharding is ignored for an {@link #archiveEntry(String) archive entry}.
+     *
+     * @param count the number of shards, {@code 0} to disable sharding
+     * @return this instance
+     */
+    public PropertyFileOperation shards(int count) {
+        shardCount_ = count;
+        shardPrefixes_ = List.of();
+        return this;
+    }
+
+    /**
+     * Splits the {@link java.util.Properties} file into shard files, partitioned by key prefix.
+     * <p>
+     * Each key goes to the shard of the first prefix it starts with, or to an additional shard if none.
+     *
+     * @param prefixes the key prefixes of the shards
+     * @return this instance
+     * @see #shards(int)
+     */
+    public PropertyFileOperation shards(String... prefixes) {
+        shardPrefixes_ = List.of(prefixes);
+        shardCount_ = prefixes.length + 1;
+        return this;
+    }
+
+    /**
+     * Keeps a binary snapshot of the parsed {@link java.util.Properties} file under the project's build directory.
+     * <p>
+     * The snapshot is loaded instead of parsing the file again on the next {@link #execute() execution}, as long as
+     * the file was not modified in the meantime. This mostly benefits large files.
+     *
+     * @param snapshot if set to {@code true}, the snapshot will be used and updated
+     * @return this instance
+     */
+    public PropertyFileOperation snapshot(boolean snapshot) {
+        snapshot_ = snapshot;
+        return this;
+    }
+
+    /**
+     * Limits the memory used to sort the properties when saving them, for very large {@link java.util.Properties}
+     * files.
+     * <p>
+     * If the properties do not fit, they are sorted in runs spilled to temporary files, which are then merged while
+     * streaming to the file, whether it is the file itself, its {@link #shards(int) shards} or the
+     * {@link #flatten(Path) flattened} file. The runs are merged in several passes if their read buffers would not
+     * all fit. The result is the same as without a limit. An
+     * {@link #archiveEntry(String) archive entry} is always sorted in memory.
+     *
+     * @param bytes the approximate memory, in bytes, {@code 0} for no limit
+     * @return this instance
+     */
+    public PropertyFileOperation sortMemory(long bytes) {
+        sortMemory_ = bytes;
+        return this;
+    }
+
+    /**
+     * Sets whether the date is written at the top of the {@link java.util.Properties} file.
+     * <p>
+     * The date is the current date, unless {@link #timestamp(Instant) pinned} or the {@code SOURCE_DATE_EPOCH}
+     * environment variable is set. Without it, saving the same properties always produces the same file.
+     *
+     * @param timestamp if set to {@code false}, no date will be written
+     * @return this instance
+     */
+    public PropertyFileOperation timestamp(boolean timestamp) {
+        timestamp_ = timestamp;
+        return this;
+    }
+
+    /**
+     * Sets the date written at the top of the {@link java.util.Properties} file, for reproducible builds.
+     *
+     * @param timestamp the date
+     * @return this instance
+     */
+    public PropertyFileOperation timestamp(Instant timestamp) {
+        timestamp_ = true;
+        timestampValue_ = timestamp;
+        return this;
+    }
+
+    /**
+     * Updates the state depending on the properties after some of them were modified.
+     *
+     * @param keys         the keys of the modified properties
+     * @param properties   the {@link Properties properties}
+     * @param interpolator the interpolator
+     * @param index        the sorted index of the keys, if any
+     */
+    private static void invalidate(List<String> keys, Properties properties, Interpolator interpolator,
+                                   NavigableSet<String> index) {
+        for (var key : keys) {
+            // only values referencing the modified properties need to be resolved again
+            interpolator.invalidate(key);
+            if (index != null) {
+                if (properties.containsKey(key)) {
+                    index.add(key);
+                } else {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a match entry can be applied.
+     *
+     * @param commandName the command name
+     * @param entry       the entry
+     * @return {@code true} if the entry is valid
+     * @throws ExitStatusException if a {@link Level#SEVERE} exception occurs
+     */
+    private boolean isValid(String commandName, EntryMatch entry) throws ExitStatusException {
+        try {
+            entry.regex();
+        } catch (PatternSyntaxException e) {
+            warn(commandName, "Invalid key pattern: " + e.getMessage());
+            return false;
+        }
+        if (!entry.isDelete() && entry.newValue() == null && entry.modify() == null) {
+            warn(commandName, "A match entry must be set, modified or deleted: " + entry.key());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Loads the layers, each one over the previous.
+     *
+     * @param commandName the command name
+     * @return the highest layer, or {@code null} if a layer could not be loaded
+     * @throws ExitStatusException if a {@link Level#SEVERE} exception occurs
+     */
+    private Properties loadLayers(String commandName) throws ExitStatusException {
+        Properties parent = null;
+        for (var layer : layers_) {
+            var properties = new Properties();
+            if (!PropertyFileUtils.loadProperties(commandName, layer, properties, failOnWarning_, silent(),
+                    charset_)) {
+                return null;
+            }
+            parent = parent == null ? properties : new LayeredProperties(parent, properties);
+        }
+        return parent;
+    }
+
+    /**
+     * Returns the date written at the top of the properties file if it does not depend on the current date.
+     *
+     * @return the {@link #timestamp(Instant) pinned} date or that of {@code SOURCE_DATE_EPOCH}, or {@code null}
+     */
+    private Instant pinnedTimestamp() {
+        if (timestampValue_ != null) {
+            return timestampValue_;
+        }
+        var epoch = System.getenv("SOURCE_DATE_EPOCH");
+        if (epoch != null) {
+            try {
+                return Instant.ofEpochSecond(Long.parseLong(epoch.trim()));
+            } catch (NumberFormatException e) {
+                if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                    LOGGER.warning("Invalid SOURCE_DATE_EPOCH: " + epoch);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the lazy values that will be needed concurrently, so that expensive suppliers overlap.
+     * <p>
+     * A default value is only considered needed if there is no new value and the property is not defined yet.
+     *
+     * @param properties the {@link Properties properties}
+     */
+    private void prefetch(Properties properties) {
+        var lazyValues = new ArrayList<LazyValue>();
+        for (var entry : entries_) {
+            if (!entry.isDelete()) {
+                var lazyNewValue = entry.lazyNewValue();
+                if (lazyNewValue != null) {
+                    lazyValues.add(lazyNewValue);
+                } else if (entry.lazyDefaultValue() != null
+                        && (entry instanceof EntryDate || !properties.containsKey(entry.key()))) {
+                    lazyValues.add(entry.lazyDefaultValue());
+                }
+            }
+        }
+
+        // a single value is simply computed when needed
+        if (lazyValues.size() > 1) {
+            // suppliers are often waiting on I/O or other processes, so always allow some overlap
+            var executor = Executors.newFixedThreadPool(
+                    Math.min(lazyValues.size(), Math.max(2, Runtime.getRuntime().availableProcessors())));
+            try {
+                var tasks = new ArrayList<Callable<Object>>(lazyValues.size());
+                for (var lazyValue : lazyValues) {
+                    tasks.add(Executors.callable(lazyValue::prefetch));
+                }
+                executor.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                // the remaining values will be computed when needed
+                Thread.currentThread().interrupt();
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Evaluates the derived entries, after all other entries, in dependency order.
+     *
+     * @param command    the command name
+     * @param properties the {@link Properties properties}
+     * @param derived    the derived entries
+     * @throws ExitStatusException if a {@link Level#SEVERE} exception occurs
+     */
+    private void processDerived(String command, Properties properties, List<EntryDerived> derived)
+            throws ExitStatusException {
+        var graph = new DerivedEntries(derived);
+        if (!graph.cyclic().isEmpty()) {
+            warn(command, "Circular reference between derived entries: " + String.join(", ", graph.cyclic()));
+        }
+        for (var entry : graph.ordered()) {
+            try {
+                PropertyFileUtils.processDerived(properties, entry);
+            } catch (IllegalArgumentException e) {
+                warn(command, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Applies the match entries, and reports the number of properties matched by each.
+     *
+     * @param commandName the command name
+     * @param properties  the {@link Properties properties}
+     * @param matches     the match entries
+     * @return the keys of the modified properties
+     * @throws ExitStatusException if a {@link Level#SEVERE} exception occurs
+     */
+    private List<String> processMatches(String commandName, Properties properties, List<EntryMatch> matches)
+            throws ExitStatusException {
+        var modified = new ArrayList<String>();
+        try {
+            var counts = PropertyFileUtils.processMatches(properties, matches, modified);
+            if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                for (var i = 0; i < counts.length; i++) {
+                    LOGGER.info("Matched " + counts[i] + " property(ies): " + matches.get(i).key());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            warn(commandName, e.getMessage());
+        }
+        return modified;
+    }
+
+    /**
+     * Returns the date to write at the top of the properties file.
+     *
+     * @return the date, or {@code null} if none
+     */
+    private Instant timestamp() {
+        if (!timestamp_) {
+            return null;
+        }
+        var pinned = pinnedTimestamp();
+        return pinned != null ? pinned : Instant.now();
+    }
+
+    /**
+     * Returns the timestamp setting, for the up-to-date check.
+     * <p>
+     * A file dated with the current date is still up-to-date on the next day, only switching the date on or off,
+     * or pinning another one, makes it out of date.
+     *
+     * @return the pinned date, {@code now} for the current date, or {@code null} if none
+     */
+    private Object timestampSetting() {
+        if (!timestamp_) {
+            return null;
+        }
+        var pinned = pinnedTimestamp();
+        return pinned != null ? pinned : "now";
+    }
+
     /**
      * Logs a warning.
      *
@@ -215,6 +863,7 @@ public class PropertyFileOperation extends AbstractOperation<PropertyFileOperati
      * @throws ExitStatusException if a {@link Level#SEVERE} exception occurs
      */
     private void warn(String command, String message) throws ExitStatusException {
+        hasWarnings_ = true;
         PropertyFileUtils.warn(LOGGER, command, message, failOnWarning_, silent());
     }
 }
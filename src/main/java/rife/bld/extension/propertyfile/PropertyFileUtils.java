@@ -17,24 +17,38 @@
 package rife.bld.extension.propertyfile;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import rife.bld.extension.tools.IOTools;
 import rife.bld.extension.tools.ObjectTools;
 import rife.bld.extension.tools.TextTools;
 import rife.bld.operations.exceptions.ExitStatusException;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.text.DecimalFormat;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.time.*;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NavigableSet;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 /**
  * Collection of common methods used in this project.
@@ -50,6 +64,26 @@ public final class PropertyFileUtils {
         // no-op
     }
 
+    /**
+     * Returns a file specific to a {@link Properties properties} file, named after it and a hash of its location.
+     *
+     * @param directory the directory of the file
+     * @param file      the {@link Properties properties} file
+     * @param extension the extension, e.g. {@code .state}
+     * @return the file
+     */
+    static Path buildFile(Path directory, Path file, String extension) {
+        // the URI also identifies the file system, e.g. the zip file
+        var path = file.toAbsolutePath().normalize().toUri().toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            var hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(path), 0, 8);
+            return directory.resolve(file.getFileName() + "-" + hash + extension);
+        } catch (NoSuchAlgorithmException e) {
+            // always available
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Returns the new value, value, or default value depending on which is specified.
      *
@@ -68,6 +102,22 @@ public final class PropertyFileUtils {
         }
     }
 
+    // Same as above, but only computes the default value if it is needed.
+    private static Object currentValue(String value, EntryBase<?> entry) {
+        var newValue = entry.newValue();
+        if (newValue != null) {
+            return newValue;
+        } else if (value == null) {
+            return entry.defaultValue();
+        } else {
+            return value;
+        }
+    }
+
+    private static SemVer defaultVersion(EntryVersion entry) {
+        return entry.defaultValue() != null ? SemVer.parse(String.valueOf(entry.defaultValue())) : SemVer.ZERO;
+    }
+
     /**
      * Loads a {@link Properties properties} file.
      *
@@ -79,10 +129,47 @@ public final class PropertyFileUtils {
      */
     public static boolean loadProperties(String command, File file, Properties p, boolean failOnWarning, boolean silent)
             throws ExitStatusException {
+        return loadProperties(command, file, p, failOnWarning, silent, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Loads a {@link Properties properties} file in the given charset.
+     *
+     * @param command the issuing command
+     * @param file    the file location
+     * @param p       the {@link Properties properties} to load into.
+     * @param charset the charset
+     * @return the boolean
+     * @throws ExitStatusException if an error occurred
+     * @see #loadProperties(String, Path, Properties, boolean, boolean, Charset)
+     */
+    public static boolean loadProperties(String command, File file, Properties p, boolean failOnWarning, boolean silent,
+                                         Charset charset)
+            throws ExitStatusException {
+        return loadProperties(command, file == null ? null : file.toPath(), p, failOnWarning, silent, charset);
+    }
+
+    /**
+     * Loads a {@link Properties properties} file in the given charset, from any
+     * {@link java.nio.file.FileSystem file system}.
+     * <p>
+     * Unicode escapes are always decoded, so files written in ISO 8859-1 can also be read as UTF-8 as long as they
+     * only contain ASCII characters.
+     *
+     * @param command the issuing command
+     * @param file    the file location
+     * @param p       the {@link Properties properties} to load into.
+     * @param charset the charset
+     * @return the boolean
+     * @throws ExitStatusException if an error occurred
+     */
+    public static boolean loadProperties(String command, Path file, Properties p, boolean failOnWarning, boolean silent,
+                                         Charset charset)
+            throws ExitStatusException {
         boolean success = true;
-        if (IOTools.exists(file)) {
-            try (var propStream = Files.newInputStream(file.toPath(), StandardOpenOption.READ)) {
-                p.load(propStream);
+        if (file != null && Files.exists(file)) {
+            try (var propStream = Files.newInputStream(file, StandardOpenOption.READ)) {
+                loadProperties(p, propStream, charset);
             } catch (IOException ioe) {
                 warn(LOGGER, command,
                         "Could not load properties file: " + ioe.getMessage(), failOnWarning, silent);
@@ -95,6 +182,48 @@ public final class PropertyFileUtils {
         return success;
     }
 
+    /**
+     * Loads {@link Properties properties} from a stream in the given charset.
+     *
+     * @param p       the {@link Properties properties} to load into
+     * @param in      the stream
+     * @param charset the charset
+     * @throws IOException if an I/O error occurs
+     */
+    static void loadProperties(Properties p, InputStream in, Charset charset) throws IOException {
+        if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            p.load(in);
+        } else {
+            // a decoder, unlike a charset, reports malformed input instead of replacing it
+            p.load(new BufferedReader(new InputStreamReader(in, charset.newDecoder())));
+        }
+    }
+
+    /**
+     * Returns the local date-time of a value in the system time zone, if it can be formatted without an offset.
+     *
+     * @param value the value
+     * @return the local date-time, or {@code null}
+     */
+    @SuppressFBWarnings("ITC_INHERITANCE_TYPE_CHECKING")
+    private static LocalDateTime localDateTime(Object value) {
+        var zone = ZoneId.systemDefault();
+        if (value instanceof LocalDateTime) {
+            // a time in a daylight saving gap is shifted by the zone, so it is left to the full conversion
+            var ldt = (LocalDateTime) value;
+            return zone.getRules().getValidOffsets(ldt).isEmpty() ? null : ldt;
+        } else if (value instanceof Instant) {
+            return LocalDateTime.ofInstant((Instant) value, zone);
+        } else if (value instanceof Date) {
+            return LocalDateTime.ofInstant(((Date) value).toInstant(), zone);
+        } else if (value instanceof Calendar) {
+            return LocalDateTime.ofInstant(((Calendar) value).toInstant(), zone);
+        } else if (value instanceof String && "now".equalsIgnoreCase((String) value)) {
+            return LocalDateTime.now(zone);
+        }
+        return null;
+    }
+
     private static String objectToString(Object o) {
         if (o == null) {
             return "";
@@ -103,6 +232,25 @@ public final class PropertyFileUtils {
         }
     }
 
+    /**
+     * Processes a checksum {@link Properties property}.
+     *
+     * @param p     the {@link Properties property}
+     * @param entry the {@link Entry} containing the {@link Properties property} edits
+     * @throws IllegalArgumentException if the checksum could not be computed
+     */
+    public static void processChecksum(Properties p, EntryChecksum entry) throws IllegalArgumentException {
+        if (entry.files().isEmpty()) {
+            throw new IllegalArgumentException("No files to compute the checksum of for \"" + entry.key() + '"');
+        }
+        try {
+            p.setProperty(entry.key(), Checksums.checksum(entry.files(), entry.includes(), entry.algorithm()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(
+                    "Could not compute checksum for \"" + entry.key() + "\" --> " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Processes a date {@link Properties property}.
      *
@@ -113,7 +261,7 @@ public final class PropertyFileUtils {
     @SuppressWarnings("PMD.ExceptionAsFlowControl")
     @SuppressFBWarnings({"DRE_DECLARED_RUNTIME_EXCEPTION", "ITC_INHERITANCE_TYPE_CHECKING"})
     public static void processDate(Properties p, EntryDate entry) throws IllegalArgumentException {
-        var currentValue = currentValue(null, entry.defaultValue(), entry.newValue());
+        var currentValue = currentValue(null, entry);
         var pattern = objectToString(entry.pattern());
 
         var dateValue = String.valueOf(currentValue);
@@ -124,10 +272,17 @@ public final class PropertyFileUtils {
                 offset = entry.calc().apply(offset);
             }
 
-            var dtf = DateTimeFormatter.ofPattern(pattern);
+            var codec = DateCodec.of(pattern);
             var unit = entry.unit();
 
             try {
+                // without an offset, the fast patterns are formatted from the local fields directly
+                var local = offset == 0 && codec.isFast() ? localDateTime(currentValue) : null;
+                if (local != null) {
+                    p.setProperty(entry.key(), codec.format(local));
+                    return;
+                }
+
                 if (currentValue instanceof String) {
                     if ("now".equalsIgnoreCase((String) currentValue)) {
                         currentValue = ZonedDateTime.now();
@@ -156,7 +311,7 @@ public final class PropertyFileUtils {
                             currentValue = ((LocalDate) currentValue).plusYears(offset);
                         }
                     }
-                    dateValue = dtf.format((LocalDate) currentValue);
+                    dateValue = codec.format((LocalDate) currentValue);
                 } else if (currentValue instanceof LocalTime) {
                     if (offset != 0) {
                         if (unit == EntryDate.Units.SECOND) {
@@ -167,7 +322,7 @@ public final class PropertyFileUtils {
                             currentValue = ((LocalTime) currentValue).plusHours(offset);
                         }
                     }
-                    dateValue = dtf.format((LocalTime) currentValue);
+                    dateValue = codec.format((LocalTime) currentValue);
                 } else if (currentValue instanceof ZonedDateTime) {
                     if (offset != 0) {
                         if (unit == EntryDate.Units.DAY) {
@@ -186,7 +341,7 @@ public final class PropertyFileUtils {
                             currentValue = ((ZonedDateTime) currentValue).plusHours(offset);
                         }
                     }
-                    dateValue = dtf.format((ZonedDateTime) currentValue);
+                    dateValue = codec.format((ZonedDateTime) currentValue);
                 }
             } catch (DateTimeException dte) {
                 throw new IllegalArgumentException(
@@ -196,6 +351,73 @@ public final class PropertyFileUtils {
         p.setProperty(entry.key(), dateValue);
     }
 
+    /**
+     * Processes a derived {@link Properties property}.
+     *
+     * @param p     the {@link Properties property}
+     * @param entry the {@link Entry} containing the {@link Properties property} edits
+     * @throws IllegalArgumentException if a referenced property is undefined
+     */
+    public static void processDerived(Properties p, EntryDerived entry) throws IllegalArgumentException {
+        try {
+            p.setProperty(entry.key(), entry.expression().evaluate(p::getProperty));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Could not derive \"" + entry.key() + "\" --> " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Processes a Git {@link Properties property}.
+     *
+     * @param p     the {@link Properties property}
+     * @param entry the {@link Entry} containing the {@link Properties property} edits
+     * @throws IllegalArgumentException if the information could not be read
+     */
+    public static void processGit(Properties p, EntryGit entry) throws IllegalArgumentException {
+        String value;
+        try {
+            var repo = GitRepository.find(entry.directory() != null ? entry.directory() : Path.of(""));
+            var head = repo.head();
+            switch (entry.info()) {
+                case BRANCH:
+                    value = repo.branch();
+                    break;
+                case COMMIT_COUNT:
+                    value = String.valueOf(repo.count(head));
+                    break;
+                case SHORT_COMMIT:
+                    value = head.substring(0, 7);
+                    break;
+                case TAG:
+                case TAG_DISTANCE:
+                    var tag = repo.nearestTag(head);
+                    if (tag == null) {
+                        value = null;
+                    } else if (entry.info() == EntryGit.Info.TAG) {
+                        value = tag.name();
+                    } else {
+                        value = String.valueOf(repo.count(head) - repo.count(tag.commit()));
+                    }
+                    break;
+                default:
+                    value = head;
+                    break;
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Could not read Git repository for \"" + entry.key() + "\" --> " + e.getMessage(), e);
+        }
+
+        if (value == null) {
+            if (entry.defaultValue() == null) {
+                throw new IllegalArgumentException("No tag found for \"" + entry.key() + '"');
+            }
+            value = String.valueOf(entry.defaultValue());
+        }
+        p.setProperty(entry.key(), value);
+    }
+
     /**
      * Processes an integer {@link Properties property}.
      *
@@ -207,60 +429,423 @@ public final class PropertyFileUtils {
     public static void processInt(Properties p, EntryInt entry) throws IllegalArgumentException {
         int intValue = 0;
         try {
-            var fmt = new DecimalFormat(objectToString(entry.pattern()));
-            var currentValue = currentValue(p.getProperty(entry.key()), entry.defaultValue(), entry.newValue());
+            var codec = NumericCodec.of(objectToString(entry.pattern()));
+            var currentValue = currentValue(p.getProperty(entry.key()), entry);
 
             if (currentValue != null) {
-                intValue = fmt.parse(String.valueOf(currentValue)).intValue();
+                intValue = codec.parseInt(String.valueOf(currentValue));
             }
 
             if (entry.calc() != null) {
                 intValue = entry.calc().apply(intValue);
             }
 
-            p.setProperty(entry.key(), fmt.format(intValue));
+            p.setProperty(entry.key(), codec.format(intValue));
         } catch (NumberFormatException | ParseException e) {
             throw new IllegalArgumentException(
                     "Non-integer value for \"" + entry.key() + "\" --> " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Processes a long {@link Properties property}.
+     *
+     * @param p     the {@link Properties property}
+     * @param entry the {@link Entry} containing the {@link Properties property} edits
+     * @throws NumberFormatException if a parsing error occurs
+     */
+    @SuppressFBWarnings("EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS")
+    public static void processLong(Properties p, EntryLong entry) throws IllegalArgumentException {
+        long longValue = 0;
+        try {
+            var codec = NumericCodec.of(objectToString(entry.pattern()));
+            var currentValue = currentValue(p.getProperty(entry.key()), entry);
+
+            if (currentValue != null) {
+                longValue = codec.parseLong(String.valueOf(currentValue));
+            }
+
+            if (entry.calcLong() != null) {
+                longValue = entry.calcLong().applyAsLong(longValue);
+            } else if (entry.calc() != null) {
+                longValue = entry.calc().apply(Math.toIntExact(longValue));
+            }
+
+            p.setProperty(entry.key(), codec.format(longValue));
+        } catch (NumberFormatException | ArithmeticException | ParseException e) {
+            throw new IllegalArgumentException(
+                    "Non-long value for \"" + entry.key() + "\" --> " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Processes a decimal {@link Properties property}.
+     *
+     * @param p     the {@link Properties property}
+     * @param entry the {@link Entry} containing the {@link Properties property} edits
+     * @throws NumberFormatException if a parsing error occurs
+     */
+    @SuppressFBWarnings("EXS_EXCEPTION_SOFTENING_NO_CONSTRAINTS")
+    public static void processDecimal(Properties p, EntryDecimal entry) throws IllegalArgumentException {
+        var decimalValue = BigDecimal.ZERO;
+        try {
+            var pattern = objectToString(entry.pattern());
+            var codec = NumericCodec.of(pattern);
+            var currentValue = currentValue(p.getProperty(entry.key()), entry);
+
+            if (currentValue instanceof BigDecimal) {
+                decimalValue = (BigDecimal) currentValue;
+            } else if (currentValue != null) {
+                // without a pattern, the value is written as a plain string, regardless of the locale
+                decimalValue = pattern.isEmpty()
+                        ? new BigDecimal(String.valueOf(currentValue))
+                        : codec.parseDecimal(String.valueOf(currentValue));
+            }
+
+            if (entry.calcDecimal() != null) {
+                decimalValue = entry.calcDecimal().apply(decimalValue);
+            } else if (entry.calc() != null) {
+                decimalValue = BigDecimal.valueOf(entry.calc().apply(decimalValue.intValueExact()));
+            }
+
+            if (entry.scale() != null) {
+                decimalValue = decimalValue.setScale(entry.scale(), entry.roundingMode());
+            }
+
+            p.setProperty(entry.key(), pattern.isEmpty()
+                    ? decimalValue.toPlainString()
+                    : codec.format(decimalValue, entry.roundingMode()));
+        } catch (NumberFormatException | ArithmeticException | ParseException e) {
+            throw new IllegalArgumentException(
+                    "Non-decimal value for \"" + entry.key() + "\" --> " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Applies match entries in a single pass over the keys of the {@link Properties properties}.
+     * <p>
+     * The entries matching a key are applied to it in order, each one seeing the value set by the previous ones.
+     *
+     * @param p        the {@link Properties properties}
+     * @param entries  the {@link EntryMatch} entries, with valid regular expressions
+     * @param modified the list to add the keys that were modified or removed to
+     * @return the number of properties matched by each entry
+     */
+    static int[] processMatches(Properties p, List<EntryMatch> entries, List<String> modified) {
+        var patterns = new ArrayList<Pattern>(entries.size());
+        for (var entry : entries) {
+            patterns.add(entry.regex());
+        }
+        var matcher = new KeyMatcher(patterns);
+
+        var counts = new int[entries.size()];
+        for (var key : p.stringPropertyNames()) {
+            var i = matcher.first(key);
+            var isModified = false;
+            while (i != -1) {
+                var entry = entries.get(i);
+                var value = p.getProperty(key);
+                if (value == null) {
+                    break;
+                }
+                if (entry.when() == null || entry.when().test(value)) {
+                    counts[i]++;
+                    String newValue = null;
+                    if (entry.modify() != null && !entry.isDelete()) {
+                        newValue = entry.modify().apply(value, key);
+                    } else if (!entry.isDelete()) {
+                        newValue = String.valueOf(entry.newValue());
+                    }
+                    if (newValue == null) {
+                        p.remove(key);
+                    } else {
+                        p.setProperty(key, newValue);
+                    }
+                    isModified = true;
+                }
+                i = matcher.next(key, i + 1);
+            }
+            if (isModified) {
+                modified.add(key);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Deletes, renames or copies all the {@link Properties properties} whose key starts with a prefix.
+     * <p>
+     * The matching keys are found in the sorted index in {@code O(log n + matches)}; the index itself is not
+     * updated.
+     *
+     * @param p     the {@link Properties properties}
+     * @param entry the {@link EntryPrefix} containing the edits
+     * @param keys  the sorted keys of the properties
+     * @return the keys that were added, modified or removed
+     * @throws IllegalArgumentException if the entry does not delete, rename or copy the properties
+     */
+    static List<String> processPrefix(Properties p, EntryPrefix entry, NavigableSet<String> keys)
+            throws IllegalArgumentException {
+        var prefix = entry.prefix();
+        if (!entry.isDelete() && entry.target() == null) {
+            throw new IllegalArgumentException("A prefix entry must be deleted, renamed or copied: " + entry.key());
+        }
+
+        // matching keys are contiguous in the index
+        var matches = new ArrayList<String>();
+        for (var key : keys.tailSet(prefix, true)) {
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            matches.add(key);
+        }
+
+        var modified = new ArrayList<String>(matches.size() * 2);
+        if (entry.isDelete()) {
+            for (var key : matches) {
+                p.remove(key);
+            }
+            modified.addAll(matches);
+        } else {
+            var values = new ArrayList<String>(matches.size());
+            for (var key : matches) {
+                values.add(p.getProperty(key));
+            }
+            if (!entry.isCopy()) {
+                for (var key : matches) {
+                    p.remove(key);
+                }
+                modified.addAll(matches);
+            }
+            for (var i = 0; i < matches.size(); i++) {
+                var key = entry.target() + matches.get(i).substring(prefix.length());
+                p.setProperty(key, values.get(i));
+                modified.add(key);
+            }
+        }
+        return modified;
+    }
+
     /**
      * Processes a string {@link Properties property}.
      *
      * @param p     the {@link Properties property}
      * @param entry the {@link Entry} containing the {@link Properties property} edits
+     * @throws IllegalArgumentException if a reference could not be resolved
      */
-    @SuppressFBWarnings("FORMAT_STRING_MANIPULATION")
     public static void processString(Properties p, Entry entry) {
-        var currentValue = currentValue(p.getProperty(entry.key()), entry.defaultValue(), entry.newValue());
+        processString(p, entry, entry.isInterpolate() ? new Interpolator(p) : null);
+    }
+
+    /**
+     * Processes a string {@link Properties property}, resolving references with the given interpolator.
+     *
+     * @param p            the {@link Properties property}
+     * @param entry        the {@link Entry} containing the {@link Properties property} edits
+     * @param interpolator the interpolator, used if the entry is to be interpolated
+     * @throws IllegalArgumentException if a reference could not be resolved
+     */
+    static void processString(Properties p, Entry entry, Interpolator interpolator) {
+        Object currentValue = currentValue(p.getProperty(entry.key()), entry);
+
+        if (entry.isInterpolate()) {
+            try {
+                currentValue = interpolator.interpolate(String.valueOf(currentValue));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Could not interpolate \"" + entry.key() + "\" --> " + e.getMessage(), e);
+            }
+        }
 
         p.setProperty(entry.key(), entry.pattern() != null
-                ? String.format(String.valueOf(entry.pattern()), currentValue)
+                ? FormatTemplate.of(String.valueOf(entry.pattern())).format(currentValue)
                 : String.valueOf(currentValue));
 
         if (ObjectTools.isNotNull(entry.modify(), entry.modifyValue())) {
             var modify = entry.modify().apply(p.getProperty(entry.key()), entry.modifyValue());
-            p.setProperty(entry.key(), String.format(modify, entry.pattern()));
+            // the modified value changes every time, so its template is not cached
+            p.setProperty(entry.key(), FormatTemplate.format(modify, entry.pattern()));
         }
     }
 
     /**
-     * Saves a {@link Properties properties} file.
+     * Processes a semantic version {@link Properties property}, or its component properties.
+     * <p>
+     * A missing version starts at its default value, if any, or {@code 0.0.0}.
+     *
+     * @param p     the {@link Properties property}
+     * @param entry the {@link Entry} containing the {@link Properties property} edits
+     * @throws IllegalArgumentException if a parsing error occurs
+     */
+    public static void processVersion(Properties p, EntryVersion entry) throws IllegalArgumentException {
+        try {
+            SemVer version;
+            if (entry.newValue() != null) {
+                version = SemVer.parse(String.valueOf(entry.newValue()));
+            } else if (entry.isComponents()) {
+                version = versionComponents(p, entry);
+            } else {
+                var value = p.getProperty(entry.key());
+                version = value != null ? SemVer.parse(value) : defaultVersion(entry);
+            }
+
+            version = version.next(entry.bump(), entry.prerelease(), entry.build());
+
+            if (entry.isComponents()) {
+                p.setProperty(entry.majorKey(), String.valueOf(version.major()));
+                p.setProperty(entry.minorKey(), String.valueOf(version.minor()));
+                p.setProperty(entry.patchKey(), String.valueOf(version.patch()));
+                setOrRemove(p, entry.prereleaseKey(), version.prerelease());
+                setOrRemove(p, entry.buildKey(), version.build());
+            } else {
+                p.setProperty(entry.key(), version.toString());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Invalid version for \"" + entry.key() + "\" --> " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs tasks concurrently, on up to as many threads as there are processors, and waits for all of them to
+     * complete.
+     *
+     * @param tasks the tasks
+     * @throws Exception the first exception thrown by a task, in order
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        var executor = Executors.newFixedThreadPool(Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Saves a {@link Properties properties} file, with the current date as timestamp.
      *
      * @param file    the file location
      * @param comment the header comment
      * @param p       the {@link Properties} to save into the file
      * @throws IOException the io exception
+     * @see #saveProperties(File, String, Properties, Instant)
      */
     public static void saveProperties(File file, String comment, Properties p) throws IOException {
-        try (var output = Files.newOutputStream(file.toPath())) {
-            p.store(output, comment);
+        saveProperties(file, comment, p, Instant.now());
+    }
+
+    /**
+     * Saves a {@link Properties properties} file, in ISO 8859-1.
+     *
+     * @param file      the file location
+     * @param comment   the header comment, if any
+     * @param p         the {@link Properties} to save into the file
+     * @param timestamp the timestamp header, if any
+     * @throws IOException the io exception
+     * @see #saveProperties(File, String, Properties, Instant, Charset)
+     */
+    public static void saveProperties(File file, String comment, Properties p, Instant timestamp)
+            throws IOException {
+        saveProperties(file, comment, p, timestamp, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Saves a {@link Properties properties} file.
+     *
+     * @param file      the file location
+     * @param comment   the header comment, if any
+     * @param p         the {@link Properties} to save into the file
+     * @param timestamp the timestamp header, if any
+     * @param charset   the charset
+     * @throws IOException the io exception
+     * @see #saveProperties(Path, String, Properties, Instant, Charset)
+     */
+    public static void saveProperties(File file, String comment, Properties p, Instant timestamp, Charset charset)
+            throws IOException {
+        saveProperties(file.toPath(), comment, p, timestamp, charset);
+    }
+
+    /**
+     * Saves a {@link Properties properties} file, on any {@link java.nio.file.FileSystem file system}.
+     * <p>
+     * The properties are sorted by key and lines always end with {@code \n}, so that the same properties, comment
+     * and timestamp always produce the same bytes. The file is left untouched if its content would not change.
+     * <p>
+     * Characters are only written as unicode escapes if they cannot be encoded in the given charset, or, in
+     * ISO 8859-1, if they are not ASCII, like {@link Properties#store(java.io.OutputStream, String)} does.
+     *
+     * @param file      the file location
+     * @param comment   the header comment, if any
+     * @param p         the {@link Properties} to save into the file
+     * @param timestamp the timestamp header, if any
+     * @param charset   the charset
+     * @throws IOException the io exception
+     * @see #saveProperties(Path, String, Properties, Instant, Charset, long)
+     */
+    public static void saveProperties(Path file, String comment, Properties p, Instant timestamp, Charset charset)
+            throws IOException {
+        saveProperties(file, comment, p, timestamp, charset, 0);
+    }
+
+    /**
+     * Saves a {@link Properties properties} file, sorting the properties within a memory budget.
+     * <p>
+     * If the properties do not fit the budget, they are sorted in runs spilled to temporary files, which are then
+     * merged while writing the file. The file is the same as without a budget.
+     *
+     * @param file       the file location
+     * @param comment    the header comment, if any
+     * @param p          the {@link Properties} to save into the file
+     * @param timestamp  the timestamp header, if any
+     * @param charset    the charset
+     * @param sortMemory the approximate memory, in bytes, to sort the properties with, {@code 0} for no limit
+     * @throws IOException the io exception
+     */
+    public static void saveProperties(Path file, String comment, Properties p, Instant timestamp, Charset charset,
+                                      long sortMemory) throws IOException {
+        try {
+            PropertiesWriter.write(file, p, comment, timestamp, charset, sortMemory);
         } catch (IOException ioe) {
             throw new IOException("An IO error occurred while saving the Properties file: " + file, ioe);
         }
     }
 
+    private static void setOrRemove(Properties p, String key, String value) {
+        if (value.isEmpty()) {
+            p.remove(key);
+        } else {
+            p.setProperty(key, value);
+        }
+    }
+
+    private static SemVer versionComponents(Properties p, EntryVersion entry) {
+        var major = p.getProperty(entry.majorKey());
+        var minor = p.getProperty(entry.minorKey());
+        var patch = p.getProperty(entry.patchKey());
+        if (major == null && minor == null && patch == null) {
+            return defaultVersion(entry);
+        }
+        return new SemVer(major == null ? 0 : Long.parseLong(major.trim()),
+                minor == null ? 0 : Long.parseLong(minor.trim()),
+                patch == null ? 0 : Long.parseLong(patch.trim()),
+                p.getProperty(entry.prereleaseKey(), ""),
+                p.getProperty(entry.buildKey(), ""));
+    }
+
     /**
      * Logs a warning.
      *
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import rife.bld.BaseProject;
+import rife.bld.operations.AbstractOperation;
+import rife.bld.operations.exceptions.ExitStatusException;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates profile-specific {@link Properties Properties} files, such as {@code app-dev.properties} and
+ * {@code app-prod.properties}, from a single base file.
+ * <p>
+ * The base file is only loaded once and shared by all the profiles, each profile only keeping the entries it
+ * changes. The profiles are applied and written concurrently.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class PropertyProfilesOperation extends AbstractOperation<PropertyProfilesOperation> {
+
+    private static final Logger LOGGER = Logger.getLogger(PropertyProfilesOperation.class.getName());
+    private final List<PropertyFileOperation> profiles_ = new ArrayList<>();
+    private Path base_;
+    private Charset charset_ = StandardCharsets.ISO_8859_1;
+    private boolean failOnWarning_;
+    private BaseProject project_;
+
+    /**
+     * Sets the location of the base {@link Properties} file.
+     *
+     * @param base the base file
+     * @return this instance
+     */
+    public PropertyProfilesOperation base(File base) {
+        return base(base.toPath());
+    }
+
+    /**
+     * Sets the location of the base {@link Properties} file.
+     *
+     * @param base the base file
+     * @return this instance
+     */
+    public PropertyProfilesOperation base(Path base) {
+        base_ = base;
+        return this;
+    }
+
+    /**
+     * Sets the location of the base {@link Properties} file.
+     *
+     * @param base the base file
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public PropertyProfilesOperation base(String base) {
+        return base(Path.of(base));
+    }
+
+    /**
+     * Sets the charset of the base file, defaults to ISO 8859-1.
+     *
+     * @param charset the charset
+     * @return this instance
+     */
+    public PropertyProfilesOperation charset(Charset charset) {
+        charset_ = charset;
+        return this;
+    }
+
+    /**
+     * Generates the profile files.
+     */
+    @Override
+    public void execute() throws Exception {
+        if (project_ == null) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.log(Level.SEVERE, "A project is required");
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+
+        var commandName = project_.getCurrentCommandName();
+        if (base_ == null) {
+            PropertyFileUtils.warn(LOGGER, commandName, "A base properties file must be specified.", failOnWarning_,
+                    silent());
+            return;
+        }
+        for (var profile : profiles_) {
+            if (profile.path() == null) {
+                PropertyFileUtils.warn(LOGGER, commandName, "A profile properties file must be specified.",
+                        failOnWarning_, silent());
+                return;
+            }
+        }
+
+        var base = new Properties();
+        if (!PropertyFileUtils.loadProperties(commandName, base_, base, failOnWarning_, silent(), charset_)) {
+            return;
+        }
+
+        var tasks = new ArrayList<Callable<Void>>(profiles_.size());
+        for (var profile : profiles_) {
+            tasks.add(() -> {
+                var properties = new LayeredProperties(base);
+                profile.apply(commandName, properties);
+                profile.save(properties);
+                return null;
+            });
+        }
+        PropertyFileUtils.runConcurrently(tasks);
+
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info("Generated " + profiles_.size() + " profile(s) from: " + base_);
+        }
+    }
+
+    /**
+     * Sets the failure on warning.
+     *
+     * @param failOnWarning if set to {@code true}, the execution will fail on any warnings
+     * @return this instance
+     */
+    public PropertyProfilesOperation failOnWarning(boolean failOnWarning) {
+        failOnWarning_ = failOnWarning;
+        return this;
+    }
+
+    /**
+     * Configures the operation from a {@link BaseProject}.
+     *
+     * @param project the project
+     * @return this instance
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public PropertyProfilesOperation fromProject(BaseProject project) {
+        project_ = project;
+        return this;
+    }
+
+    /**
+     * Adds a profile.
+     * <p>
+     * The profile's {@link PropertyFileOperation#file(Path) file} is the output file, its entries are applied to
+     * the base properties, and its comment, charset, timestamp, sort memory and failure on warning settings are used.
+     * Its project, archive entry, layer, shard, flatten, incremental and snapshot settings are ignored.
+     *
+     * @param profile the profile
+     * @return this instance
+     */
+    public PropertyProfilesOperation profile(PropertyFileOperation profile) {
+        profiles_.add(profile);
+        return this;
+    }
+
+    /**
+     * Retrieves the profiles.
+     *
+     * @return the profiles
+     */
+    public List<PropertyFileOperation> profiles() {
+        return profiles_;
+    }
+}
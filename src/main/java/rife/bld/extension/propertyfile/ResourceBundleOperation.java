@@ -0,0 +1,304 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import rife.bld.BaseProject;
+import rife.bld.operations.AbstractOperation;
+import rife.bld.operations.exceptions.ExitStatusException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Applies edits to a {@link java.util.ResourceBundle ResourceBundle} family, such as {@code messages.properties} and
+ * all of its {@code messages_xx.properties} locale siblings, at once.
+ * <p>
+ * The locales are edited in parallel, and checked against the base bundle in the same pass, using a key index
+ * shared by all the locales. Missing and extra keys are reported for each locale.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class ResourceBundleOperation extends AbstractOperation<ResourceBundleOperation> {
+
+    private static final Pattern LOCALE = Pattern.compile("[a-z]{2,3}(_[A-Za-z0-9]+)*");
+    private static final Logger LOGGER = Logger.getLogger(ResourceBundleOperation.class.getName());
+    private static final String PROPERTIES = ".properties";
+    private final List<EntryBase<?>> entries_ = new ArrayList<>();
+    private final Map<String, Set<String>> extraKeys_ = new TreeMap<>();
+    private final Map<String, Set<String>> missingKeys_ = new TreeMap<>();
+    private Path bundle_;
+    private Charset charset_ = StandardCharsets.ISO_8859_1;
+    private String comment_ = "";
+    private boolean failOnWarning_;
+    private BaseProject project_;
+    private boolean timestamp_ = true;
+
+    /**
+     * Sets the location of the base bundle file, e.g. {@code messages.properties}.
+     *
+     * @param bundle the base bundle file
+     * @return this instance
+     */
+    public ResourceBundleOperation bundle(File bundle) {
+        return bundle(bundle.toPath());
+    }
+
+    /**
+     * Sets the location of the base bundle file, e.g. {@code messages.properties}.
+     * <p>
+     * The locale siblings, e.g. {@code messages_fr.properties} or {@code messages_pt_BR.properties}, are discovered
+     * in the same directory.
+     *
+     * @param bundle the base bundle file
+     * @return this instance
+     */
+    public ResourceBundleOperation bundle(Path bundle) {
+        bundle_ = bundle;
+        return this;
+    }
+
+    /**
+     * Sets the location of the base bundle file, e.g. {@code messages.properties}.
+     *
+     * @param bundle the base bundle file
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public ResourceBundleOperation bundle(String bundle) {
+        return bundle(Path.of(bundle));
+    }
+
+    /**
+     * Sets the charset of the bundle files, defaults to ISO 8859-1.
+     *
+     * @param charset the charset
+     * @return this instance
+     */
+    public ResourceBundleOperation charset(Charset charset) {
+        charset_ = charset;
+        return this;
+    }
+
+    /**
+     * Sets the comment to be inserted at the top of the bundle files.
+     *
+     * @param comment the header comment
+     * @return this instance
+     */
+    public ResourceBundleOperation comment(String comment) {
+        comment_ = comment;
+        return this;
+    }
+
+    /**
+     * Adds an entry to apply to the base bundle and every locale.
+     *
+     * @param entry the {@link Entry entry}
+     * @return this instance
+     */
+    public ResourceBundleOperation entry(EntryBase<?> entry) {
+        entries_.add(entry);
+        return this;
+    }
+
+    /**
+     * Applies the entries to the bundle family.
+     */
+    @Override
+    public void execute() throws Exception {
+        if (project_ == null) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.log(Level.SEVERE, "A project is required");
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+
+        var commandName = project_.getCurrentCommandName();
+        missingKeys_.clear();
+        extraKeys_.clear();
+        if (bundle_ == null || !Files.isRegularFile(bundle_)) {
+            PropertyFileUtils.warn(LOGGER, commandName, "Please specify a valid bundle file location.",
+                    failOnWarning_, silent());
+            return;
+        }
+
+        var files = locales();
+        files.put("", bundle_);
+
+        // each locale records its keys as bits of an index shared by all of them
+        var index = new ConcurrentHashMap<String, Integer>();
+        var next = new AtomicInteger();
+        var keys = new ConcurrentHashMap<String, BitSet>();
+        var tasks = new ArrayList<Callable<Void>>(files.size());
+        for (var file : files.entrySet()) {
+            tasks.add(() -> {
+                var properties = new Properties();
+                if (PropertyFileUtils.loadProperties(commandName, file.getValue(), properties, failOnWarning_,
+                        silent(), charset_)) {
+                    var operation = operation(file.getValue());
+                    operation.apply(commandName, properties);
+                    operation.save(properties);
+
+                    var bits = new BitSet();
+                    for (var key : properties.stringPropertyNames()) {
+                        bits.set(index.computeIfAbsent(key, k -> next.getAndIncrement()));
+                    }
+                    keys.put(file.getKey(), bits);
+                }
+                return null;
+            });
+        }
+        PropertyFileUtils.runConcurrently(tasks);
+
+        var base = keys.remove("");
+        if (base != null) {
+            var names = new String[next.get()];
+            index.forEach((key, i) -> names[i] = key);
+            for (var locale : new TreeMap<>(keys).entrySet()) {
+                var missing = (BitSet) base.clone();
+                missing.andNot(locale.getValue());
+                var extra = (BitSet) locale.getValue().clone();
+                extra.andNot(base);
+                report(locale.getKey(), "is missing", missing, names, missingKeys_);
+                report(locale.getKey(), "has extra", extra, names, extraKeys_);
+            }
+        }
+
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info("Updated " + keys.size() + " locale(s) of: " + bundle_);
+        }
+    }
+
+    /**
+     * Retrieves the keys found in each locale but not in the base bundle, as of the last
+     * {@link #execute() execution}.
+     *
+     * @return the extra keys, by locale, e.g. {@code fr} or {@code pt_BR}
+     */
+    public Map<String, Set<String>> extraKeys() {
+        return Collections.unmodifiableMap(extraKeys_);
+    }
+
+    /**
+     * Sets the failure on warning.
+     *
+     * @param failOnWarning if set to {@code true}, the execution will fail on any warnings
+     * @return this instance
+     */
+    public ResourceBundleOperation failOnWarning(boolean failOnWarning) {
+        failOnWarning_ = failOnWarning;
+        return this;
+    }
+
+    /**
+     * Configures the operation from a {@link BaseProject}.
+     *
+     * @param project the project
+     * @return this instance
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ResourceBundleOperation fromProject(BaseProject project) {
+        project_ = project;
+        return this;
+    }
+
+    /**
+     * Retrieves the keys found in the base bundle but not in each locale, as of the last
+     * {@link #execute() execution}.
+     *
+     * @return the missing keys, by locale, e.g. {@code fr} or {@code pt_BR}
+     */
+    public Map<String, Set<String>> missingKeys() {
+        return Collections.unmodifiableMap(missingKeys_);
+    }
+
+    /**
+     * Sets whether the current date is written at the top of the bundle files.
+     *
+     * @param timestamp if set to {@code false}, no date will be written
+     * @return this instance
+     * @see PropertyFileOperation#timestamp(boolean)
+     */
+    public ResourceBundleOperation timestamp(boolean timestamp) {
+        timestamp_ = timestamp;
+        return this;
+    }
+
+    /**
+     * Discovers the locale siblings of the base bundle.
+     *
+     * @return the locale files, by locale
+     * @throws IOException if an I/O error occurs
+     */
+    private Map<String, Path> locales() throws IOException {
+        var name = bundle_.getFileName().toString();
+        var baseName = (name.endsWith(PROPERTIES) ? name.substring(0, name.length() - PROPERTIES.length()) : name)
+                + '_';
+        var locales = new TreeMap<String, Path>();
+        var directory = bundle_.toAbsolutePath().getParent();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                var fileName = file.getFileName().toString();
+                if (fileName.startsWith(baseName) && fileName.endsWith(PROPERTIES) && Files.isRegularFile(file)) {
+                    var locale = fileName.substring(baseName.length(), fileName.length() - PROPERTIES.length());
+                    if (LOCALE.matcher(locale).matches()) {
+                        locales.put(locale, file);
+                    }
+                }
+            });
+        }
+        return locales;
+    }
+
+    private PropertyFileOperation operation(Path file) {
+        var operation = new PropertyFileOperation()
+                .file(file)
+                .charset(charset_)
+                .comment(comment_)
+                .timestamp(timestamp_)
+                .failOnWarning(failOnWarning_)
+                .silent(silent());
+        entries_.forEach(operation::entry);
+        return operation;
+    }
+
+    private void report(String locale, String problem, BitSet keys, String[] names, Map<String, Set<String>> result) {
+        if (!keys.isEmpty()) {
+            var set = new TreeSet<String>();
+            keys.stream().forEach(i -> set.add(names[i]));
+            result.put(locale, Collections.unmodifiableSet(set));
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Locale " + locale + ' ' + problem + ' ' + set.size() + " key(s): "
+                        + String.join(", ", set));
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import rife.bld.BaseProject;
+import rife.bld.operations.AbstractOperation;
+import rife.bld.operations.exceptions.ExitStatusException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replaces tokens such as {@code @version@} or {@code ${build.date}} in resource files with the values of a
+ * {@link Properties Properties} file.
+ * <p>
+ * All the tokens are replaced in a single pass over each file, and files are filtered in parallel. A file is only
+ * written if its content changed. Files that cannot be decoded, such as images, are copied unchanged.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+public class ResourceFilterOperation extends AbstractOperation<ResourceFilterOperation> {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceFilterOperation.class.getName());
+    private final List<String[]> delimiters_ = new ArrayList<>();
+    private final List<String> includes_ = new ArrayList<>();
+    private Charset charset_ = StandardCharsets.UTF_8;
+    private Path destination_;
+    private boolean failOnWarning_;
+    private BaseProject project_;
+    private Path properties_;
+    private Charset propertiesCharset_ = StandardCharsets.ISO_8859_1;
+    private Path source_;
+
+    /**
+     * Sets the charset of the resource files, defaults to UTF-8.
+     *
+     * @param charset the charset
+     * @return this instance
+     */
+    public ResourceFilterOperation charset(Charset charset) {
+        charset_ = charset;
+        return this;
+    }
+
+    /**
+     * Adds token delimiters, e.g. {@code delimiters("${", "}")}.
+     * <p>
+     * Both {@code @key@} and {@code ${key}} are replaced if no delimiters are added.
+     *
+     * @param begin the beginning delimiter
+     * @param end   the ending delimiter
+     * @return this instance
+     */
+    public ResourceFilterOperation delimiters(String begin, String end) {
+        delimiters_.add(new String[]{begin, end});
+        return this;
+    }
+
+    /**
+     * Sets the directory to write the filtered files to, the files are filtered in place if not set.
+     *
+     * @param destination the destination directory
+     * @return this instance
+     */
+    public ResourceFilterOperation destination(File destination) {
+        return destination(destination.toPath());
+    }
+
+    /**
+     * Sets the directory to write the filtered files to, the files are filtered in place if not set.
+     *
+     * @param destination the destination directory
+     * @return this instance
+     */
+    public ResourceFilterOperation destination(Path destination) {
+        destination_ = destination;
+        return this;
+    }
+
+    /**
+     * Sets the directory to write the filtered files to, the files are filtered in place if not set.
+     *
+     * @param destination the destination directory
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public ResourceFilterOperation destination(String destination) {
+        return destination(Path.of(destination));
+    }
+
+    /**
+     * Filters the resource files.
+     */
+    @Override
+    public void execute() throws Exception {
+        if (project_ == null) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.log(Level.SEVERE, "A project is required");
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+
+        var commandName = project_.getCurrentCommandName();
+        if (properties_ == null) {
+            PropertyFileUtils.warn(LOGGER, commandName, "A properties file must be specified.", failOnWarning_,
+                    silent());
+            return;
+        }
+        if (source_ == null || !Files.isDirectory(source_)) {
+            PropertyFileUtils.warn(LOGGER, commandName, "Please specify a valid source directory.", failOnWarning_,
+                    silent());
+            return;
+        }
+
+        var properties = new Properties();
+        if (!PropertyFileUtils.loadProperties(commandName, properties_, properties, failOnWarning_, silent(),
+                propertiesCharset_)) {
+            return;
+        }
+        var filter = new TokenFilter(tokens(properties));
+
+        var matchers = new ArrayList<PathMatcher>(includes_.size());
+        for (var glob : includes_) {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+            if (glob.startsWith("**/")) {
+                // also matches the files at the top of the source directory, as in Ant
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob.substring(3)));
+            }
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(source_)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(f -> matchers.isEmpty()
+                            || matchers.stream().anyMatch(m -> m.matches(source_.relativize(f))))
+                    .collect(Collectors.toList());
+        }
+
+        long written;
+        try {
+            written = files.parallelStream().filter(file -> {
+                try {
+                    return filter(filter, file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).count();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info("Filtered " + files.size() + " file(s), " + written + " written.");
+        }
+    }
+
+    /**
+     * Sets the failure on warning.
+     *
+     * @param failOnWarning if set to {@code true}, the execution will fail on any warnings
+     * @return this instance
+     */
+    public ResourceFilterOperation failOnWarning(boolean failOnWarning) {
+        failOnWarning_ = failOnWarning;
+        return this;
+    }
+
+    /**
+     * Configures the operation from a {@link BaseProject}.
+     *
+     * @param project the project
+     * @return this instance
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ResourceFilterOperation fromProject(BaseProject project) {
+        project_ = project;
+        return this;
+    }
+
+    /**
+     * Only filters the files matching any of the given glob patterns, e.g. {@code **}{@code /*.html}.
+     * <p>
+     * The patterns are matched against the path of the file relative to the source directory, a leading
+     * {@code **}{@code /} also matching the files at the top of the source directory.
+     *
+     * @param globs the glob patterns
+     * @return this instance
+     */
+    public ResourceFilterOperation include(String... globs) {
+        Collections.addAll(includes_, globs);
+        return this;
+    }
+
+    /**
+     * Sets the location of the {@link Properties} file providing the values.
+     *
+     * @param properties the properties file
+     * @return this instance
+     */
+    public ResourceFilterOperation properties(File properties) {
+        return properties(properties.toPath());
+    }
+
+    /**
+     * Sets the location of the {@link Properties} file providing the values.
+     *
+     * @param properties the properties file
+     * @return this instance
+     */
+    public ResourceFilterOperation properties(Path properties) {
+        properties_ = properties;
+        return this;
+    }
+
+    /**
+     * Sets the location of the {@link Properties} file providing the values.
+     *
+     * @param properties the properties file
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public ResourceFilterOperation properties(String properties) {
+        return properties(Path.of(properties));
+    }
+
+    /**
+     * Sets the charset of the {@link Properties} file providing the values, defaults to ISO 8859-1.
+     *
+     * @param charset the charset
+     * @return this instance
+     */
+    public ResourceFilterOperation propertiesCharset(Charset charset) {
+        propertiesCharset_ = charset;
+        return this;
+    }
+
+    /**
+     * Sets the directory tree of the resource files to filter.
+     *
+     * @param source the source directory
+     * @return this instance
+     */
+    public ResourceFilterOperation source(File source) {
+        return source(source.toPath());
+    }
+
+    /**
+     * Sets the directory tree of the resource files to filter.
+     *
+     * @param source the source directory
+     * @return this instance
+     */
+    public ResourceFilterOperation source(Path source) {
+        source_ = source;
+        return this;
+    }
+
+    /**
+     * Sets the directory tree of the resource files to filter.
+     *
+     * @param source the source directory
+     * @return this instance
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public ResourceFilterOperation source(String source) {
+        return source(Path.of(source));
+    }
+
+    // Returns true if the file was written.
+    private boolean filter(TokenFilter filter, Path file) throws IOException {
+        var bytes = Files.readAllBytes(file);
+        var output = bytes;
+        try {
+            var text = charset_.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+            var filtered = filter.filter(text);
+            if (!filtered.equals(text)) {
+                output = filtered.getBytes(charset_);
+            }
+        } catch (CharacterCodingException e) {
+            // not text, e.g. an image, so copied as is
+            if (LOGGER.isLoggable(Level.FINE) && !silent()) {
+                LOGGER.fine("Could not decode " + file + " as " + charset_.name() + ", copied unchanged.");
+            }
+        }
+        if (destination_ == null && output == bytes) {
+            return false;
+        }
+
+        var target = destination_ == null ? file : destination_.resolve(Checksums.relativePath(source_, file));
+        if (destination_ != null && Files.isRegularFile(target) && Files.size(target) == output.length
+                && Arrays.equals(Files.readAllBytes(target), output)) {
+            return false;
+        }
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Files.write(target, output);
+        return true;
+    }
+
+    private Map<String, String> tokens(Properties properties) {
+        var delimiters = delimiters_.isEmpty() ? List.of(new String[]{"@", "@"}, new String[]{"${", "}"})
+                : delimiters_;
+        var tokens = new HashMap<String, String>();
+        for (var key : properties.stringPropertyNames()) {
+            var value = properties.getProperty(key);
+            for (var d : delimiters) {
+                tokens.put(d[0] + key + d[1], value);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+/**
+ * A <a href="https://semver.org/">semantic version</a>.
+ *
+ * @param major      the major version
+ * @param minor      the minor version
+ * @param patch      the patch version
+ * @param prerelease the pre-release identifiers, empty if none
+ * @param build      the build metadata, empty if none
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+record SemVer(long major, long minor, long patch, String prerelease, String build) {
+
+    /**
+     * The {@code 0.0.0} version.
+     */
+    static final SemVer ZERO = new SemVer(0, 0, 0, "", "");
+
+    /**
+     * Parses a semantic version, e.g. {@code 1.2.3-beta.1+build.5}.
+     *
+     * @param version the version
+     * @return the parsed version
+     * @throws IllegalArgumentException if the version is invalid
+     */
+    static SemVer parse(String version) {
+        var len = version.length();
+        var end = len;
+        var plus = version.indexOf('+');
+        if (plus != -1) {
+            end = plus;
+        }
+        var dash = version.indexOf('-');
+        if (dash > end) {
+            dash = -1;
+        }
+        var core = dash != -1 ? dash : end;
+
+        var dot1 = version.indexOf('.');
+        var dot2 = dot1 == -1 ? -1 : version.indexOf('.', dot1 + 1);
+        if (dot1 == -1 || dot2 == -1 || dot2 > core) {
+            throw new IllegalArgumentException("Invalid semantic version: " + version);
+        }
+
+        var prerelease = dash != -1 ? version.substring(dash + 1, end) : "";
+        var build = plus != -1 ? version.substring(plus + 1) : "";
+        if ((dash != -1 && !isIdentifiers(prerelease)) || (plus != -1 && !isIdentifiers(build))) {
+            throw new IllegalArgumentException("Invalid semantic version: " + version);
+        }
+
+        return new SemVer(number(version, 0, dot1), number(version, dot1 + 1, dot2),
+                number(version, dot2 + 1, core), prerelease, build);
+    }
+
+    private static boolean isIdentifiers(String s) {
+        if (s.isEmpty() || s.charAt(0) == '.' || s.charAt(s.length() - 1) == '.' || s.contains("..")) {
+            return false;
+        }
+        for (var i = 0; i < s.length(); i++) {
+            var c = s.charAt(i);
+            if (c != '.' && c != '-' && !(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long number(String version, int start, int end) {
+        if (start == end || (end - start > 1 && version.charAt(start) == '0')) {
+            throw new IllegalArgumentException("Invalid semantic version: " + version);
+        }
+        try {
+            return Long.parseLong(version, start, end, 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid semantic version: " + version, e);
+        }
+    }
+
+    // Increments the last numeric identifier, or appends .1 (or 1 if empty)
+    private static String increment(String identifiers) {
+        if (identifiers.isEmpty()) {
+            return "1";
+        }
+        var start = identifiers.lastIndexOf('.') + 1;
+        var last = identifiers.substring(start);
+        if (!last.isEmpty() && last.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return identifiers.substring(0, start) + (Long.parseLong(last) + 1);
+        }
+        return identifiers + ".1";
+    }
+
+    private static String label(String prerelease) {
+        var dot = prerelease.lastIndexOf('.');
+        var last = dot == -1 ? prerelease : prerelease.substring(dot + 1);
+        if (!last.isEmpty() && last.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return dot == -1 ? "" : prerelease.substring(0, dot);
+        }
+        return prerelease;
+    }
+
+    /**
+     * Returns the next version.
+     *
+     * @param bump  the {@link EntryVersion.Bump bump} to apply, or {@code null}
+     * @param label the pre-release label, or {@code null}
+     * @param meta  the build metadata, or {@code null}
+     * @return the next version
+     */
+    SemVer next(EntryVersion.Bump bump, String label, String meta) {
+        if (bump == null) {
+            return new SemVer(major, minor, patch, label == null ? prerelease : label, meta == null ? build : meta);
+        }
+
+        var newBuild = meta == null ? "" : meta;
+        switch (bump) {
+            case MAJOR:
+                return new SemVer(major + 1, 0, 0, label == null ? "" : label, newBuild);
+            case MINOR:
+                return new SemVer(major, minor + 1, 0, label == null ? "" : label, newBuild);
+            case PATCH:
+                return new SemVer(major, minor, patch + 1, label == null ? "" : label, newBuild);
+            case PRERELEASE:
+                if (prerelease.isEmpty()) {
+                    return new SemVer(major, minor, patch + 1, label == null ? "1" : label + ".1", newBuild);
+                } else if (label == null || label.equals(label(prerelease))) {
+                    return new SemVer(major, minor, patch, increment(prerelease), newBuild);
+                } else {
+                    return new SemVer(major, minor, patch, label + ".1", newBuild);
+                }
+            default:
+                return new SemVer(major, minor, patch, label == null ? prerelease : label,
+                        meta == null ? increment(build) : meta);
+        }
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder(32).append(major).append('.').append(minor).append('.').append(patch);
+        if (!prerelease.isEmpty()) {
+            sb.append('-').append(prerelease);
+        }
+        if (!build.isEmpty()) {
+            sb.append('+').append(build);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+/**
+ * One logical {@link Properties Properties} file backed by several shard files, partitioned by key hash or prefix.
+ * <p>
+ * The shards of {@code app.properties} are stored in the {@code app.properties.shards} directory, along with a
+ * manifest describing the partitioning. Only the shards containing modified keys are rewritten, each one while
+ * holding a lock on it, after reading it again, so that concurrent edits of different keys are never lost. All the
+ * shards are rewritten if the partitioning changes, while holding a lock on the directory, so that the manifest and the
+ * shards it lists are only replaced by one writer at a time; the properties file itself, if any, provides the initial
+ * content the first time.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class ShardedProperties {
+
+    /**
+     * The manifest file name.
+     */
+    static final String MANIFEST = "manifest.properties";
+
+    private static final String HASH = "hash";
+    // the directory lock is held while taking the shard locks, so it has its own monitors to never wait on itself
+    private static final Object[] LAYOUT_MONITORS = Stream.generate(Object::new).limit(16).toArray();
+    private static final String LOCK = "manifest.lock";
+    // file locks are held by the whole JVM, so threads must also be excluded, by a fixed set of monitors shared by
+    // the lock files hashing alike, rather than one per lock file ever used
+    private static final Object[] MONITORS = Stream.generate(Object::new).limit(64).toArray();
+    private static final String PARTITION = "partition";
+    private static final String PREFIX = "prefix.";
+    private static final String SHARDS = "shards";
+
+    private final Properties content_ = new Properties();
+    private final Path directory_;
+    private final Path file_;
+    private final Layout layout_;
+    private Layout loaded_;
+
+    /**
+     * Creates new sharded properties.
+     *
+     * @param file     the logical properties file
+     * @param count    the number of shards, if partitioned by hash
+     * @param prefixes the key prefixes of the shards, if partitioned by prefix, the keys not matching any prefix
+     *                 going to an additional shard
+     */
+    ShardedProperties(Path file, int count, List<String> prefixes) {
+        file_ = file;
+        directory_ = directory(file);
+        layout_ = prefixes.isEmpty() ? new Layout(count, List.of()) : new Layout(prefixes.size() + 1,
+                List.copyOf(prefixes));
+    }
+
+    /**
+     * Returns the shards directory of a properties file.
+     *
+     * @param file the properties file
+     * @return the shards directory
+     */
+    static Path directory(Path file) {
+        return file.resolveSibling(file.getFileName() + ".shards");
+    }
+
+    /**
+     * Returns {@code true} if the shards or the properties file exist.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean exists() {
+        return Files.isRegularFile(directory_.resolve(MANIFEST)) || Files.isRegularFile(file_);
+    }
+
+    /**
+     * Loads the content of all the shards, in parallel, or of the properties file if not sharded yet.
+     *
+     * @param charset the charset
+     * @return the properties, which must not be modified
+     * @throws Exception if an error occurs
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    Properties load(Charset charset) throws Exception {
+        loaded_ = readManifest();
+        if (loaded_ != null) {
+            var shards = new Properties[loaded_.count()];
+            var tasks = new ArrayList<Callable<Void>>(shards.length);
+            for (var i = 0; i < shards.length; i++) {
+                var shard = i;
+                tasks.add(() -> {
+                    shards[shard] = read(shardFile(shard), charset);
+                    return null;
+                });
+            }
+            PropertyFileUtils.runConcurrently(tasks);
+            for (var shard : shards) {
+                content_.putAll(shard);
+            }
+        } else if (Files.isRegularFile(file_)) {
+            content_.putAll(read(file_, charset));
+        }
+        return content_;
+    }
+
+    /**
+     * Saves the changes, only rewriting the shards they touch unless the partitioning changed.
+     *
+     * @param changes    the layer over the loaded properties holding the changes
+     * @param comment    the header comment
+     * @param timestamp  the timestamp header, if any
+     * @param charset    the charset
+     * @param sortMemory the approximate memory, in bytes, to sort each shard with, {@code 0} for no limit
+     * @return the number of shards written
+     * @throws Exception if an error occurs
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    int save(LayeredProperties changes, String comment, Instant timestamp, Charset charset, long sortMemory)
+            throws Exception {
+        var tasks = new ArrayList<Callable<Void>>();
+        var rewrite = changes.isCleared() || !layout_.equals(loaded_);
+        if (rewrite) {
+            // every shard is rewritten from the full content
+            var shards = new Properties[layout_.count()];
+            for (var i = 0; i < shards.length; i++) {
+                shards[i] = new Properties();
+            }
+            if (!changes.isCleared()) {
+                for (var e : content_.entrySet()) {
+                    shards[layout_.shard((String) e.getKey())].put(e.getKey(), e.getValue());
+                }
+            }
+            for (var key : changes.changedKeys()) {
+                apply(shards[layout_.shard((String) key)], key, changes);
+            }
+            for (var i = 0; i < shards.length; i++) {
+                var shard = i;
+                tasks.add(() -> {
+                    locked(MONITORS, lockFile(shard), () -> PropertyFileUtils.saveProperties(shardFile(shard),
+                            comment, shards[shard], timestamp, charset, sortMemory));
+                    return null;
+                });
+            }
+        } else {
+            var touched = new TreeMap<Integer, List<Object>>();
+            for (var key : changes.changedKeys()) {
+                touched.computeIfAbsent(layout_.shard((String) key), k -> new ArrayList<>()).add(key);
+            }
+            for (var e : touched.entrySet()) {
+                int shard = e.getKey();
+                tasks.add(() -> {
+                    locked(MONITORS, lockFile(shard), () -> {
+                        // other keys may have been edited in the meantime
+                        var properties = read(shardFile(shard), charset);
+                        for (var key : e.getValue()) {
+                            apply(properties, key, changes);
+                        }
+                        PropertyFileUtils.saveProperties(shardFile(shard), comment, properties, timestamp, charset,
+                                sortMemory);
+                    });
+                    return null;
+                });
+            }
+        }
+
+        Files.createDirectories(directory_);
+        if (rewrite) {
+            locked(LAYOUT_MONITORS, directory_.resolve(LOCK), () -> {
+                PropertyFileUtils.runConcurrently(tasks);
+                if (!layout_.equals(loaded_)) {
+                    // another writer may have changed the partitioning since it was loaded
+                    var current = readManifest();
+                    if (current != null) {
+                        for (var i = layout_.count(); i < current.count(); i++) {
+                            Files.deleteIfExists(shardFile(i));
+                            Files.deleteIfExists(lockFile(i));
+                        }
+                    }
+                    writeManifest();
+                    loaded_ = layout_;
+                }
+            });
+        } else {
+            PropertyFileUtils.runConcurrently(tasks);
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Returns the shard of a key.
+     *
+     * @param key the key
+     * @return the shard index
+     */
+    int shard(String key) {
+        return layout_.shard(key);
+    }
+
+    /**
+     * Returns the file of a shard.
+     *
+     * @param shard the shard index
+     * @return the shard file
+     */
+    Path shardFile(int shard) {
+        return directory_.resolve("shard-" + shard + ".properties");
+    }
+
+    private static void apply(Properties properties, Object key, LayeredProperties changes) {
+        // a changed key is never inherited, so a missing value means that it was removed
+        var value = changes.get(key);
+        if (value == null) {
+            properties.remove(key);
+        } else {
+            properties.put(key, value);
+        }
+    }
+
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    private static void locked(Object[] monitors, Path lockFile, ShardAction action) throws Exception {
+        synchronized (monitors[Math.floorMod(lockFile.toAbsolutePath().normalize().hashCode(), monitors.length)]) {
+            try (var channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                var lock = channel.lock();
+                try {
+                    action.run();
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    private static Properties read(Path file, Charset charset) throws IOException {
+        var properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (var in = Files.newInputStream(file)) {
+                PropertyFileUtils.loadProperties(properties, in, charset);
+            }
+        }
+        return properties;
+    }
+
+    private Path lockFile(int shard) {
+        return directory_.resolve("shard-" + shard + ".lock");
+    }
+
+    private Layout readManifest() throws IOException {
+        var manifest = directory_.resolve(MANIFEST);
+        if (!Files.isRegularFile(manifest)) {
+            return null;
+        }
+        var properties = read(manifest, StandardCharsets.ISO_8859_1);
+        try {
+            var count = Integer.parseInt(properties.getProperty(SHARDS, ""));
+            var prefixes = new ArrayList<String>();
+            if (!HASH.equals(properties.getProperty(PARTITION))) {
+                for (var i = 0; i < count - 1; i++) {
+                    prefixes.add(Objects.requireNonNull(properties.getProperty(PREFIX + i)));
+                }
+            }
+            if (count < 1) {
+                throw new IOException("Invalid shard manifest: " + manifest);
+            }
+            return new Layout(count, prefixes);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IOException("Invalid shard manifest: " + manifest, e);
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        var properties = new Properties();
+        properties.setProperty(PARTITION, layout_.prefixes().isEmpty() ? HASH : "prefix");
+        properties.setProperty(SHARDS, String.valueOf(layout_.count()));
+        for (var i = 0; i < layout_.prefixes().size(); i++) {
+            properties.setProperty(PREFIX + i, layout_.prefixes().get(i));
+        }
+        PropertyFileUtils.saveProperties(directory_.resolve(MANIFEST), "Shards of " + file_.getFileName(),
+                properties, null, StandardCharsets.ISO_8859_1);
+    }
+
+    @FunctionalInterface
+    private interface ShardAction {
+        @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+        void run() throws Exception;
+    }
+
+    private record Layout(int count, List<String> prefixes) {
+        int shard(String key) {
+            if (prefixes.isEmpty()) {
+                // String.hashCode() is specified, so the partitioning is stable
+                return Math.floorMod(key.hashCode(), count);
+            }
+            for (var i = 0; i < prefixes.size(); i++) {
+                if (key.startsWith(prefixes.get(i))) {
+                    return i;
+                }
+            }
+            return prefixes.size();
+        }
+    }
+}
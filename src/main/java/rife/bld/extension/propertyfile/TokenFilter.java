@@ -0,0 +1,267 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Replaces tokens in text, such as {@code @version@} or {@code ${build.date}}, in a single pass.
+ * <p>
+ * The tokens are compiled into an Aho-Corasick automaton, so that the text is scanned once regardless of the
+ * number of tokens. Overlapping tokens are resolved leftmost-longest: the match starting first wins, and the
+ * longest one if several start at the same position.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class TokenFilter {
+
+    private static final int NONE = -1;
+
+    // the dictionary suffix link of each state, i.e. the nearest state on its failure chain that is a token
+    private final int[] dictionary_;
+    private final int[] fail_;
+    private final BitSet first_;
+    private final Transitions goto_;
+    // the length of the token ending at each state, or 0
+    private final int[] lengths_;
+    private final String[] values_;
+
+    /**
+     * Compiles the tokens.
+     *
+     * @param replacements the replacement of each token
+     */
+    TokenFilter(Map<String, String> replacements) {
+        goto_ = new Transitions(replacements.size() * 8);
+        first_ = new BitSet();
+        var lengths = new int[16];
+        var values = new String[16];
+        var states = 1;
+        for (var e : replacements.entrySet()) {
+            var token = e.getKey();
+            if (token.isEmpty()) {
+                continue;
+            }
+            var state = 0;
+            for (var i = 0; i < token.length(); i++) {
+                var c = token.charAt(i);
+                var next = goto_.get(state, c);
+                if (next == NONE) {
+                    next = states++;
+                    goto_.put(state, c, next);
+                }
+                state = next;
+            }
+            first_.set(token.charAt(0));
+            if (state >= lengths.length) {
+                lengths = Arrays.copyOf(lengths, Math.max(state + 1, lengths.length * 2));
+                values = Arrays.copyOf(values, lengths.length);
+            }
+            lengths[state] = token.length();
+            values[state] = e.getValue();
+        }
+        lengths_ = Arrays.copyOf(lengths, states);
+        values_ = Arrays.copyOf(values, states);
+
+        // breadth-first, so that the failure link of a state is always computed before its children's
+        fail_ = new int[states];
+        dictionary_ = new int[states];
+        dictionary_[0] = NONE;
+        var children = goto_.children(states);
+        var queue = new ArrayDeque<Integer>();
+        for (var child : children[0]) {
+            fail_[child] = 0;
+            dictionary_[child] = NONE;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (var child : children[state]) {
+                var c = goto_.label(child);
+                var f = fail_[state];
+                while (f != 0 && goto_.get(f, c) == NONE) {
+                    f = fail_[f];
+                }
+                var next = goto_.get(f, c);
+                fail_[child] = next == NONE ? 0 : next;
+                dictionary_[child] = lengths_[fail_[child]] > 0 ? fail_[child] : dictionary_[fail_[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Replaces the tokens in the text.
+     *
+     * @param text the text
+     * @return the filtered text, the same instance if no token was found
+     */
+    String filter(String text) {
+        // the start and end of every match, in order of end
+        var matches = new long[16];
+        var count = 0;
+        var state = 0;
+        for (var i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (state == 0 && !first_.get(c)) {
+                continue;
+            }
+            var next = goto_.get(state, c);
+            while (next == NONE && state != 0) {
+                state = fail_[state];
+                next = goto_.get(state, c);
+            }
+            state = next == NONE ? 0 : next;
+
+            for (var s = lengths_[state] > 0 ? state : dictionary_[state]; s != NONE; s = dictionary_[s]) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                // sorted by start, then longest first
+                var start = i + 1 - lengths_[s];
+                matches[count++] = (long) start << 32 | (Integer.MAX_VALUE - (i + 1)) & 0xffffffffL;
+            }
+        }
+        if (count == 0) {
+            return text;
+        }
+
+        Arrays.sort(matches, 0, count);
+        var sb = new StringBuilder(text.length() + 64);
+        var pos = 0;
+        for (var m = 0; m < count; m++) {
+            var start = (int) (matches[m] >>> 32);
+            if (start >= pos) {
+                var end = Integer.MAX_VALUE - (int) matches[m];
+                sb.append(text, pos, start).append(value(text, start, end));
+                pos = end;
+            }
+        }
+        return sb.append(text, pos, text.length()).toString();
+    }
+
+    // Walks the token from the root again, since only its end state identifies its value.
+    private String value(String text, int start, int end) {
+        var state = 0;
+        for (var i = start; i < end; i++) {
+            state = goto_.get(state, text.charAt(i));
+        }
+        return values_[state];
+    }
+
+    /**
+     * The transitions of the automaton, in an open addressing hash table keyed by state and character.
+     */
+    private static final class Transitions {
+
+        private char[] labels_ = new char[16];
+        private long[] keys_;
+        private int size_;
+        private int[] targets_;
+
+        Transitions(int expected) {
+            var capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys_ = new long[capacity];
+            Arrays.fill(keys_, NONE);
+            targets_ = new int[capacity];
+        }
+
+        private static long key(int state, char c) {
+            return (long) state << 16 | c;
+        }
+
+        private static int slot(long key, int mask) {
+            var h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        // The children of each state.
+        int[][] children(int states) {
+            var counts = new int[states];
+            for (var key : keys_) {
+                if (key != NONE) {
+                    counts[(int) (key >>> 16)]++;
+                }
+            }
+            var children = new int[states][];
+            for (var s = 0; s < states; s++) {
+                children[s] = new int[counts[s]];
+                counts[s] = 0;
+            }
+            for (var i = 0; i < keys_.length; i++) {
+                if (keys_[i] != NONE) {
+                    var parent = (int) (keys_[i] >>> 16);
+                    children[parent][counts[parent]++] = targets_[i];
+                }
+            }
+            return children;
+        }
+
+        int get(int state, char c) {
+            var key = key(state, c);
+            var mask = keys_.length - 1;
+            for (var i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (keys_[i] == key) {
+                    return targets_[i];
+                } else if (keys_[i] == NONE) {
+                    return NONE;
+                }
+            }
+        }
+
+        // The character leading to a state.
+        char label(int state) {
+            return labels_[state];
+        }
+
+        void put(int state, char c, int target) {
+            if ((size_ + 1) * 2 > keys_.length) {
+                var keys = keys_;
+                var targets = targets_;
+                keys_ = new long[keys.length * 2];
+                Arrays.fill(keys_, NONE);
+                targets_ = new int[keys_.length];
+                size_ = 0;
+                for (var i = 0; i < keys.length; i++) {
+                    if (keys[i] != NONE) {
+                        insert(keys[i], targets[i]);
+                    }
+                }
+            }
+            insert(key(state, c), target);
+            if (target >= labels_.length) {
+                labels_ = Arrays.copyOf(labels_, Math.max(target + 1, labels_.length * 2));
+            }
+            labels_[target] = c;
+        }
+
+        private void insert(long key, int target) {
+            var mask = keys_.length - 1;
+            var i = slot(key, mask);
+            while (keys_[i] != NONE) {
+                i = (i + 1) & mask;
+            }
+            keys_[i] = key;
+            targets_[i] = target;
+            size_++;
+        }
+    }
+}
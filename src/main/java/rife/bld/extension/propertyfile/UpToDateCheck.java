@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Records the result of an operation in a state file, so that it can be skipped when neither the properties file nor
+ * the entries, nor the header settings, changed since.
+ * <p>
+ * Only operations whose entries always produce the same result from the same file, and produce that result again
+ * when applied to it, can be checked: entries with suppliers, calculations, bumps, modify functions, interpolation,
+ * the current date, or reading other files or repositories are not.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class UpToDateCheck {
+
+    // changes whenever the way entries are applied changes
+    private static final String FORMAT = "1";
+    private static final String DIGEST = "digest";
+    private static final String MODIFIED = "modified";
+    private static final String PLAN = "plan";
+    private static final String SIZE = "size";
+
+    private final String plan_;
+    private final Path stateFile_;
+
+    /**
+     * Creates a new check.
+     *
+     * @param stateFile the state file
+     * @param plan      the plan fingerprint
+     */
+    UpToDateCheck(Path stateFile, String plan) {
+        stateFile_ = stateFile;
+        plan_ = plan;
+    }
+
+    private static void append(StringBuilder sb, Object value) {
+        var s = String.valueOf(value);
+        sb.append(s.length()).append(':').append(s).append(';');
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            // always available
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isDeterministic(EntryBase<?> entry) {
+        if (entry.isDelete()) {
+            return true;
+        } else if (entry.lazyNewValue() != null || entry.lazyDefaultValue() != null || entry.calc() != null) {
+            return false;
+        } else if (entry instanceof Entry) {
+            return ((Entry) entry).modify() == null && !((Entry) entry).isInterpolate();
+        } else if (entry instanceof EntryDate) {
+            var value = entry.newValue() != null ? entry.newValue() : entry.defaultValue();
+            return value != null && !"now".equalsIgnoreCase(String.valueOf(value));
+        } else if (entry instanceof EntryLong) {
+            return ((EntryLong) entry).calcLong() == null;
+        } else if (entry instanceof EntryDecimal) {
+            return ((EntryDecimal) entry).calcDecimal() == null;
+        } else if (entry instanceof EntryVersion) {
+            return ((EntryVersion) entry).bump() == null;
+        } else if (entry instanceof EntryMatch) {
+            return ((EntryMatch) entry).when() == null && ((EntryMatch) entry).modify() == null;
+        } else {
+            return entry instanceof EntryInt || entry instanceof EntryDerived || entry instanceof EntryPrefix;
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the entries to apply, or {@code null} if they cannot be checked.
+     *
+     * @param entries   the entries
+     * @param comment   the header comment
+     * @param clear     whether all properties are cleared first
+     * @param charset   the charset of the file
+     * @param timestamp the timestamp header setting, e.g. the pinned date, or {@code null} if none
+     * @return the fingerprint, or {@code null}
+     */
+    static String plan(List<EntryBase<?>> entries, String comment, boolean clear, Charset charset,
+                       Object timestamp) {
+        var sb = new StringBuilder();
+        append(sb, FORMAT);
+        append(sb, Locale.getDefault(Locale.Category.FORMAT));
+        append(sb, comment);
+        append(sb, clear);
+        append(sb, charset.name());
+        append(sb, timestamp);
+        for (var entry : entries) {
+            if (!isDeterministic(entry)) {
+                return null;
+            }
+            append(sb, entry.getClass().getName());
+            append(sb, entry.key());
+            append(sb, entry.isDelete());
+            if (entry.isDelete()) {
+                continue;
+            }
+            if (entry instanceof EntryPrefix) {
+                append(sb, ((EntryPrefix) entry).target());
+                append(sb, ((EntryPrefix) entry).isCopy());
+            }
+            append(sb, entry.newValue());
+            append(sb, entry.defaultValue());
+            append(sb, entry.pattern());
+            if (entry instanceof EntryDate) {
+                append(sb, ((EntryDate) entry).unit());
+            } else if (entry instanceof EntryDecimal) {
+                append(sb, ((EntryDecimal) entry).scale());
+                append(sb, ((EntryDecimal) entry).roundingMode());
+            } else if (entry instanceof EntryVersion) {
+                var version = (EntryVersion) entry;
+                append(sb, version.isComponents());
+                append(sb, version.prerelease());
+                append(sb, version.build());
+            }
+        }
+        return digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the state file of a properties file.
+     *
+     * @param directory the state directory
+     * @param file      the properties file
+     * @return the state file
+     */
+    static Path stateFile(Path directory, Path file) {
+        return PropertyFileUtils.buildFile(directory, file, ".state");
+    }
+
+    /**
+     * Returns {@code true} if the properties file is the one recorded, using the same plan.
+     * <p>
+     * The content of the file is only read if its size matches but its modification time does not.
+     *
+     * @param file the properties file
+     * @return {@code true} or {@code false}
+     */
+    boolean isUpToDate(Path file) {
+        if (!Files.isRegularFile(stateFile_) || !Files.isRegularFile(file)) {
+            return false;
+        }
+        try {
+            var state = new Properties();
+            try (var input = Files.newInputStream(stateFile_)) {
+                state.load(input);
+            }
+            if (!plan_.equals(state.getProperty(PLAN))
+                    || !String.valueOf(Files.size(file)).equals(state.getProperty(SIZE))) {
+                return false;
+            }
+            return String.valueOf(Files.getLastModifiedTime(file).toMillis()).equals(state.getProperty(MODIFIED))
+                    || digest(Files.readAllBytes(file)).equals(state.getProperty(DIGEST));
+        } catch (IOException | IllegalArgumentException e) {
+            // a missing or corrupt state only means the operation is executed again
+            return false;
+        }
+    }
+
+    /**
+     * Records the properties file produced using the plan.
+     *
+     * @param file the properties file
+     * @throws IOException if the state file could not be written
+     */
+    void save(Path file) throws IOException {
+        var state = new Properties();
+        state.setProperty(PLAN, plan_);
+        state.setProperty(SIZE, String.valueOf(Files.size(file)));
+        state.setProperty(MODIFIED, String.valueOf(Files.getLastModifiedTime(file).toMillis()));
+        state.setProperty(DIGEST, digest(Files.readAllBytes(file)));
+        Files.createDirectories(stateFile_.getParent());
+        try (var output = Files.newOutputStream(stateFile_)) {
+            state.store(output, null);
+        }
+    }
+}
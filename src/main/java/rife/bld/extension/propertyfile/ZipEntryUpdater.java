@@ -0,0 +1,428 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and replaces a single entry of a zip or jar archive in place.
+ * <p>
+ * Only the central directory is read. The entry is overwritten in place if its new content fits in the space of
+ * the previous one, which is usually the case for a properties file whose values only changed slightly, so that
+ * only the entry and its central directory record are written. Otherwise, the entries following it are shifted
+ * to make room, and the central directory is written again. Either way, the archive keeps a single local entry per
+ * name, and reads the same sequentially, as with {@link java.util.zip.ZipInputStream ZipInputStream}, as through
+ * its central directory.
+ * <p>
+ * Zip64, multi-disk and encrypted archives are not supported.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.0
+ */
+final class ZipEntryUpdater {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CEN_HEADER = 46;
+    private static final int CEN_SIG = 0x02014b50;
+    // 1980-01-01 00:00:00, the earliest MS-DOS date
+    private static final int DOS_EPOCH = 0x00210000;
+    private static final int END_HEADER = 22;
+    private static final int END_SIG = 0x06054b50;
+    private static final int EXTRA_HEADER = 4;
+    private static final int LOC_HEADER = 30;
+    private static final int LOC_SIG = 0x04034b50;
+    private static final int MAX_COMMENT = 0xffff;
+    // the extra field used by zipalign to pad entries
+    private static final short PADDING_ID = (short) 0xd935;
+    private static final int UTF8_FLAG = 0x800;
+    private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+
+    private final Path archive_;
+    private final ByteBuffer comment_;
+    private final long directoryOffset_;
+    private final String name_;
+    private final List<Record> records_;
+    private final Record target_;
+
+    /**
+     * Reads the central directory of an archive.
+     *
+     * @param archive the zip or jar archive
+     * @param name    the name of the entry to read and replace
+     * @throws IOException if the archive could not be read, or is not supported
+     */
+    ZipEntryUpdater(Path archive, String name) throws IOException {
+        archive_ = archive;
+        name_ = name;
+        try (var channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            var size = channel.size();
+            var tail = read(channel, Math.max(0, size - END_HEADER - MAX_COMMENT),
+                    (int) Math.min(size, END_HEADER + MAX_COMMENT));
+            var end = -1;
+            for (var i = tail.limit() - END_HEADER; i >= 0 && end < 0; i--) {
+                if (tail.getInt(i) == END_SIG && i + END_HEADER + Short.toUnsignedInt(tail.getShort(i + 20))
+                        == tail.limit()) {
+                    end = i;
+                }
+            }
+            if (end < 0) {
+                throw new IOException("Not a zip archive: " + archive);
+            }
+            if ((end >= 20 && tail.getInt(end - 20) == ZIP64_LOCATOR_SIG)
+                    || tail.getShort(end + 4) != 0 || tail.getShort(end + 6) != 0) {
+                throw new IOException("Zip64 and multi-disk archives are not supported: " + archive);
+            }
+
+            var count = Short.toUnsignedInt(tail.getShort(end + 10));
+            var directorySize = Integer.toUnsignedLong(tail.getInt(end + 12));
+            directoryOffset_ = Integer.toUnsignedLong(tail.getInt(end + 16));
+            comment_ = tail.duplicate().position(end + END_HEADER).slice().order(ByteOrder.LITTLE_ENDIAN);
+            if (directoryOffset_ + directorySize > size - tail.limit() + end) {
+                throw new IOException("Invalid central directory: " + archive);
+            }
+
+            var directory = read(channel, directoryOffset_, (int) directorySize);
+            records_ = new ArrayList<>(count);
+            Record target = null;
+            var pos = 0;
+            for (var i = 0; i < count; i++) {
+                if (directory.getInt(pos) != CEN_SIG) {
+                    throw new IOException("Invalid central directory: " + archive);
+                }
+                var length = CEN_HEADER + Short.toUnsignedInt(directory.getShort(pos + 28))
+                        + Short.toUnsignedInt(directory.getShort(pos + 30))
+                        + Short.toUnsignedInt(directory.getShort(pos + 32));
+                var record = new Record(directory.duplicate().position(pos).limit(pos + length).slice()
+                        .order(ByteOrder.LITTLE_ENDIAN));
+                records_.add(record);
+                if (record.name().equals(name)) {
+                    target = record;
+                }
+                pos += length;
+            }
+            target_ = target;
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        return ByteBuffer.allocate(buffer.remaining()).order(ByteOrder.LITTLE_ENDIAN).put(buffer.duplicate()).flip();
+    }
+
+    private static int dosTime(LocalDateTime time) {
+        var year = Math.max(1980, time.getYear());
+        return (year - 1980) << 25 | time.getMonthValue() << 21 | time.getDayOfMonth() << 16
+                | time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    // Moves the bytes by the given distance, from the end first when moving them forward.
+    private static void shift(FileChannel channel, long position, long length, long distance) throws IOException {
+        if (distance == 0) {
+            return;
+        }
+        var buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(length, 1)));
+        long done = 0;
+        while (done < length) {
+            var n = (int) Math.min(buffer.capacity(), length - done);
+            var from = distance > 0 ? position + length - done - n : position + done;
+            buffer.clear().limit(n);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, from + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of archive");
+                }
+            }
+            write(channel, buffer.flip(), from + distance);
+            done += n;
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        var pos = position;
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    // Returns the end of the entry, where the next one or the central directory starts.
+    private long entryEnd() {
+        var end = directoryOffset_;
+        for (var record : records_) {
+            if (record.offset() > target_.offset() && record.offset() < end) {
+                end = record.offset();
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns whether the entry exists.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean exists() {
+        return target_ != null;
+    }
+
+    private boolean isUnchanged(byte[] content) {
+        if (target_ == null || target_.size() != content.length) {
+            return false;
+        }
+        try {
+            return Arrays.equals(read(), content);
+        } catch (IOException e) {
+            // rewritten if it cannot be read
+            return false;
+        }
+    }
+
+    /**
+     * Reads the content of the entry.
+     *
+     * @return the uncompressed content
+     * @throws IOException if the entry does not exist, or could not be read
+     */
+    byte[] read() throws IOException {
+        if (target_ == null) {
+            throw new IOException("No such entry: " + name_);
+        }
+        if ((target_.flags() & 1) != 0) {
+            throw new IOException("Encrypted entries are not supported: " + name_);
+        }
+        try (var channel = FileChannel.open(archive_, StandardOpenOption.READ)) {
+            var header = read(channel, target_.offset(), LOC_HEADER);
+            if (header.getInt(0) != LOC_SIG) {
+                throw new IOException("Invalid local header: " + name_);
+            }
+            var data = read(channel, target_.offset() + LOC_HEADER + Short.toUnsignedInt(header.getShort(26))
+                    + Short.toUnsignedInt(header.getShort(28)), Math.toIntExact(target_.compressedSize()));
+            var size = Math.toIntExact(target_.size());
+            byte[] content;
+            if (target_.method() == Deflater.DEFLATED) {
+                content = new byte[size];
+                var inflater = new Inflater(true);
+                try {
+                    inflater.setInput(data);
+                    var n = 0;
+                    while (n < size && !inflater.finished()) {
+                        var inflated = inflater.inflate(content, n, size - n);
+                        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        n += inflated;
+                    }
+                    if (n != size) {
+                        throw new IOException("Invalid entry size: " + name_);
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Invalid entry data: " + name_, e);
+                } finally {
+                    inflater.end();
+                }
+            } else if (target_.method() == 0) {
+                content = data.array();
+            } else {
+                throw new IOException("Unsupported compression method for " + name_ + ": " + target_.method());
+            }
+
+            var crc = new CRC32();
+            crc.update(content);
+            if ((int) crc.getValue() != target_.crc()) {
+                throw new IOException("Invalid entry checksum: " + name_);
+            }
+            return content;
+        }
+    }
+
+    /**
+     * Replaces, or adds, the entry, unless its content would not change.
+     * <p>
+     * If the new content fits in the space of the previous one, the entry is overwritten in place, the remaining
+     * space filled by an extra field, and only its record of the central directory is updated. Otherwise, the
+     * entries following it are shifted, and the central directory is written again after them.
+     *
+     * @param content   the uncompressed content
+     * @param timestamp the modification time of the entry, if any, otherwise that of the replaced entry is kept
+     * @return {@code true} if the archive was written
+     * @throws IOException if the archive could not be written
+     */
+    boolean write(byte[] content, Instant timestamp) throws IOException {
+        if (isUnchanged(content)) {
+            return false;
+        }
+
+        var crc = new CRC32();
+        crc.update(content);
+        var compressed = new ByteArrayOutputStream(content.length / 2 + 64);
+        var deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            var buf = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                compressed.write(buf, 0, deflater.deflate(buf));
+            }
+        } finally {
+            deflater.end();
+        }
+
+        var name = name_.getBytes(StandardCharsets.UTF_8);
+        var flags = name.length == name_.length() ? 0 : UTF8_FLAG;
+        int time;
+        if (timestamp != null) {
+            time = dosTime(LocalDateTime.ofInstant(timestamp, ZoneOffset.UTC));
+        } else if (target_ != null) {
+            time = target_.time();
+        } else {
+            time = DOS_EPOCH;
+        }
+        if (target_ == null && records_.size() >= 0xffff) {
+            throw new IOException("Too many entries: " + archive_);
+        }
+
+        // the record of the replaced entry keeps its extra field and comment
+        var entry = target_ != null ? copy(target_.buffer())
+                : ByteBuffer.allocate(CEN_HEADER + name.length).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(0, CEN_SIG).putShort(4, (short) 20).putShort(28, (short) name.length).put(CEN_HEADER, name);
+        entry.putShort(6, (short) 20).putShort(8, (short) flags).putShort(10, (short) Deflater.DEFLATED)
+                .putInt(12, time).putInt(16, (int) crc.getValue()).putInt(20, compressed.size())
+                .putInt(24, content.length);
+
+        var start = target_ != null ? target_.offset() : directoryOffset_;
+        var end = target_ != null ? entryEnd() : directoryOffset_;
+        var length = LOC_HEADER + name.length + compressed.size();
+        var padding = end - start - length;
+        var inPlace = target_ != null && (padding == 0 || padding >= EXTRA_HEADER && padding <= 0xffff);
+        var local = ByteBuffer.allocate(inPlace ? (int) (end - start) : length).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(LOC_SIG).putShort((short) 20).putShort((short) flags).putShort((short) Deflater.DEFLATED)
+                .putInt(time).putInt((int) crc.getValue()).putInt(compressed.size()).putInt(content.length)
+                .putShort((short) name.length).putShort((short) (inPlace ? padding : 0)).put(name);
+        if (inPlace && padding > 0) {
+            local.putShort(PADDING_ID).putShort((short) (padding - EXTRA_HEADER));
+            local.position(local.position() + (int) padding - EXTRA_HEADER);
+        }
+        local.put(compressed.toByteArray()).flip();
+
+        try (var channel = FileChannel.open(archive_, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (inPlace) {
+                var position = directoryOffset_;
+                for (var i = 0; records_.get(i) != target_; i++) {
+                    position += records_.get(i).buffer().remaining();
+                }
+                write(channel, local, start);
+                write(channel, entry.putInt(42, (int) start), position);
+                return true;
+            }
+
+            var shift = length - (end - start);
+            var directoryOffset = directoryOffset_ + shift;
+            var directory = ByteBuffer.allocate(records_.stream().mapToInt(r -> r.buffer().remaining()).sum()
+                    + (target_ == null ? entry.remaining() : 0) + END_HEADER + comment_.remaining())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (directoryOffset + directory.capacity() > 0xffffffffL) {
+                throw new IOException("Zip64 archives are not supported: " + archive_);
+            }
+            for (var record : records_) {
+                if (record == target_) {
+                    directory.put(entry.putInt(42, (int) start));
+                } else if (record.offset() >= end) {
+                    directory.put(copy(record.buffer()).putInt(42, (int) (record.offset() + shift)));
+                } else {
+                    directory.put(record.buffer().duplicate());
+                }
+            }
+            if (target_ == null) {
+                directory.put(entry.putInt(42, (int) start));
+            }
+            var count = (short) (target_ == null ? records_.size() + 1 : records_.size());
+            directory.putInt(END_SIG).putShort((short) 0).putShort((short) 0).putShort(count).putShort(count)
+                    .putInt(directory.capacity() - END_HEADER - comment_.remaining()).putInt((int) directoryOffset)
+                    .putShort((short) comment_.remaining()).put(comment_.duplicate()).flip();
+
+            shift(channel, end, directoryOffset_ - end, shift);
+            write(channel, local, start);
+            write(channel, directory, directoryOffset);
+            channel.truncate(directoryOffset + directory.capacity());
+        }
+        return true;
+    }
+
+    /**
+     * A central directory record.
+     */
+    private record Record(ByteBuffer buffer) {
+
+        long compressedSize() {
+            return Integer.toUnsignedLong(buffer.getInt(20));
+        }
+
+        int crc() {
+            return buffer.getInt(16);
+        }
+
+        int flags() {
+            return Short.toUnsignedInt(buffer.getShort(8));
+        }
+
+        int method() {
+            return Short.toUnsignedInt(buffer.getShort(10));
+        }
+
+        String name() {
+            var bytes = new byte[Short.toUnsignedInt(buffer.getShort(28))];
+            buffer.get(CEN_HEADER, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        long offset() {
+            return Integer.toUnsignedLong(buffer.getInt(42));
+        }
+
+        long size() {
+            return Integer.toUnsignedLong(buffer.getInt(24));
+        }
+
+        int time() {
+            return buffer.getInt(12);
+        }
+    }
+}
@@ -28,9 +28,21 @@ class CalcTest {
         assertThat(Calc.ADD.apply(-1)).isEqualTo(0);
     }
 
+    @Test
+    void shouldAddLong() {
+        assertThat(Calc.ADD_LONG.applyAsLong(Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE + 1L);
+        assertThat(Calc.ADD_LONG.applyAsLong(-1L)).isEqualTo(0L);
+    }
+
     @Test
     void shouldSubtract() {
         assertThat(Calc.SUB.apply(1)).isEqualTo(0);
         assertThat(Calc.SUB.apply(0)).isEqualTo(-1);
     }
+
+    @Test
+    void shouldSubtractLong() {
+        assertThat(Calc.SUB_LONG.applyAsLong(Integer.MIN_VALUE)).isEqualTo(Integer.MIN_VALUE - 1L);
+        assertThat(Calc.SUB_LONG.applyAsLong(0L)).isEqualTo(-1L);
+    }
 }
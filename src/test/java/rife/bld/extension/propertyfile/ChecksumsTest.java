@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ChecksumsTest {
+
+    private static final String SHA_256 = "SHA-256";
+
+    @TempDir
+    private Path tmpDir;
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(SHA_256).digest(bytes));
+    }
+
+    private Path tree() throws IOException {
+        var root = Files.createDirectories(tmpDir.resolve("tree"));
+        Files.createDirectories(root.resolve("a/b"));
+        Files.writeString(root.resolve("one.properties"), "one=1");
+        Files.writeString(root.resolve("a/two.txt"), "two");
+        Files.writeString(root.resolve("a/b/three.properties"), "three=3");
+        return root;
+    }
+
+    @Test
+    void shouldChecksumSingleFile() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("file.txt"), "content");
+        assertThat(Checksums.checksum(List.of(file), List.of(), SHA_256))
+                .isEqualTo(sha256("content".getBytes(StandardCharsets.UTF_8)));
+        assertThat(Checksums.checksum(List.of(file), List.of(), "MD5")).hasSize(32);
+    }
+
+    @Test
+    void shouldChecksumLargeFile() throws Exception {
+        var bytes = new byte[3 * 1024 * 1024 + 17];
+        for (var i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        var file = Files.write(tmpDir.resolve("large.bin"), bytes);
+        assertThat(Checksums.checksum(List.of(file), List.of(), SHA_256)).isEqualTo(sha256(bytes));
+    }
+
+    @Test
+    void shouldChecksumTreeDeterministically() throws Exception {
+        var root = tree();
+        var checksum = Checksums.checksum(List.of(root), List.of(), SHA_256);
+        assertThat(Checksums.checksum(List.of(root), List.of(), SHA_256)).isEqualTo(checksum);
+
+        Files.move(root.resolve("a/two.txt"), root.resolve("a/deux.txt"));
+        var renamed = Checksums.checksum(List.of(root), List.of(), SHA_256);
+        assertThat(renamed).as("renamed").isNotEqualTo(checksum);
+
+        Files.writeString(root.resolve("a/deux.txt"), "deux");
+        assertThat(Checksums.checksum(List.of(root), List.of(), SHA_256)).as("modified").isNotEqualTo(renamed);
+    }
+
+    @Test
+    void shouldCombineFilesInOrder() throws Exception {
+        var one = Files.writeString(tmpDir.resolve("one.txt"), "one");
+        var two = Files.writeString(tmpDir.resolve("two.txt"), "two");
+        assertThat(Checksums.checksum(List.of(one, two), List.of(), SHA_256))
+                .isEqualTo(Checksums.checksum(List.of(one, two), List.of(), SHA_256))
+                .isNotEqualTo(Checksums.checksum(List.of(two, one), List.of(), SHA_256));
+    }
+
+    @Test
+    void shouldIncludeMatchingFiles() throws Exception {
+        var root = tree();
+        var all = Checksums.checksum(List.of(root), List.of(), SHA_256);
+        var properties = Checksums.checksum(List.of(root), List.of("*.properties", "**/*.properties"), SHA_256);
+        assertThat(properties).isNotEqualTo(all);
+
+        Files.writeString(root.resolve("a/two.txt"), "changed");
+        assertThat(Checksums.checksum(List.of(root), List.of("*.properties", "**/*.properties"), SHA_256))
+                .as("excluded file changed").isEqualTo(properties);
+    }
+
+    @Test
+    void shouldNotRehashUnchangedFiles() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("cached.txt"), "before");
+        var checksum = Checksums.checksum(List.of(file), List.of(), SHA_256);
+
+        // same size and modification time, so the cached digest is used
+        var lastModified = Files.getLastModifiedTime(file);
+        Files.writeString(file, "after!");
+        Files.setLastModifiedTime(file, lastModified);
+        assertThat(Checksums.checksum(List.of(file), List.of(), SHA_256)).isEqualTo(checksum);
+
+        Files.writeString(file, "after!!");
+        assertThat(Checksums.checksum(List.of(file), List.of(), SHA_256)).isNotEqualTo(checksum);
+    }
+
+    @Test
+    void shouldRehashReplacedFiles() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("replaced.txt"), "before");
+        var checksum = Checksums.checksum(List.of(file), List.of(), SHA_256);
+
+        // same size and modification time, but another file, e.g. an inode, if the file system has file keys
+        var lastModified = Files.getLastModifiedTime(file);
+        var replacement = Files.writeString(tmpDir.resolve("replacement.txt"), "after!");
+        Files.setLastModifiedTime(replacement, lastModified);
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+        assumeTrue(Files.readAttributes(file, BasicFileAttributes.class).fileKey() != null, "no file keys");
+        assertThat(Checksums.checksum(List.of(file), List.of(), SHA_256)).isEqualTo(sha256("after!".getBytes(
+                StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldThrowExceptionForMissingFile() {
+        assertThatCode(() -> Checksums.checksum(List.of(tmpDir.resolve("foo")), List.of(), SHA_256))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+}
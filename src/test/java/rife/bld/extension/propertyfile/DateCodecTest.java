@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class DateCodecTest {
+
+    private static final List<String> FAST_PATTERNS = List.of("yyyy-MM-dd", "yyyyMMdd", "yyyyMMddHHmmss",
+            "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS", "uuuu-MM-dd HH:mm:ss", "yy.MM.dd",
+            "dd/MM/yyyy", "HH:mm", "HH:mm:ss.SSSSSSSSS", "'build '''yyyy''", "S",
+            "yyyy 'o''clock'", "'''quoted''' HH");
+    private static final List<String> SLOW_PATTERNS = List.of("D", "MMM d, yyyy", "yyyy-MM-dd'T'HH:mm:ssXXX",
+            "EEE", "y-M-d", "yyyy[-MM]");
+
+    private static String formatWith(DateCodec codec, TemporalAccessor temporal) {
+        try {
+            return codec.format(temporal);
+        } catch (DateTimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String formatWith(DateTimeFormatter dtf, TemporalAccessor temporal) {
+        try {
+            return dtf.format(temporal);
+        } catch (DateTimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static List<TemporalAccessor> temporals() {
+        var random = new Random(42);
+        var zone = ZoneId.of("America/Los_Angeles");
+        var values = new ArrayList<TemporalAccessor>();
+        for (var year : new int[]{-5, 0, 1, 99, 999, 1970, 2000, 2025, 9999, 10_000}) {
+            values.add(LocalDateTime.of(year, 1, 2, 3, 4, 5, 6_007_008));
+        }
+        for (var i = 0; i < 500; i++) {
+            var dt = LocalDateTime.of(1900 + random.nextInt(300), 1, 1, 0, 0)
+                    .plusSeconds(random.nextInt(366 * 24 * 60 * 60))
+                    .plusNanos(random.nextInt(1_000_000_000));
+            values.add(dt);
+            values.add(dt.toLocalDate());
+            values.add(dt.toLocalTime());
+            values.add(dt.atZone(zone));
+            values.add(dt.atOffset(ZoneOffset.ofHours(2)));
+            values.add(dt.atZone(zone).toInstant());
+        }
+        values.add(LocalTime.MIDNIGHT);
+        values.add(LocalTime.MAX.truncatedTo(ChronoUnit.MILLIS));
+        return values;
+    }
+
+    @Test
+    void shouldCacheCodec() {
+        assertThat(DateCodec.of("yyyy-MM-dd")).isSameAs(DateCodec.of("yyyy-MM-dd"));
+    }
+
+    @Test
+    void shouldCompileFixedWidthPatterns() {
+        for (var pattern : FAST_PATTERNS) {
+            assertThat(DateCodec.of(pattern).isFast()).as("[%s]", pattern).isTrue();
+        }
+        for (var pattern : SLOW_PATTERNS) {
+            assertThat(DateCodec.of(pattern).isFast()).as("[%s]", pattern).isFalse();
+        }
+    }
+
+    @Test
+    void shouldFormatLikeDateTimeFormatter() {
+        var values = temporals();
+        for (var pattern : FAST_PATTERNS) {
+            var codec = DateCodec.of(pattern);
+            var dtf = DateTimeFormatter.ofPattern(pattern);
+            for (var value : values) {
+                assertThat(formatWith(codec, value)).as("[%s] %s", pattern, value)
+                        .isEqualTo(formatWith(dtf, value));
+            }
+        }
+    }
+
+    @Test
+    void shouldFormatSlowPatternsLikeDateTimeFormatter() {
+        var value = ZonedDateTime.of(2025, 3, 4, 5, 6, 7, 8, ZoneId.of("UTC"));
+        for (var pattern : SLOW_PATTERNS) {
+            assertThat(DateCodec.of(pattern).format(value)).as("[%s]", pattern)
+                    .isEqualTo(DateTimeFormatter.ofPattern(pattern).format(value));
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidPattern() {
+        assertThatCode(() -> DateCodec.of("yyyy-MM-dd'T")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
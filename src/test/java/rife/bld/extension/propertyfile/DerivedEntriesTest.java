@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DerivedEntriesTest {
+
+    private static List<String> keys(List<EntryDerived> entries) {
+        return entries.stream().map(EntryBase::key).toList();
+    }
+
+    @Test
+    void shouldExcludeCycles() {
+        var graph = new DerivedEntries(List.of(
+                new EntryDerived("a").expression("${b}"),
+                new EntryDerived("b").expression("${c}"),
+                new EntryDerived("c").expression("${a}"),
+                new EntryDerived("d").expression("${c}"),
+                new EntryDerived("e").expression("${e}"),
+                new EntryDerived("f").expression("${x}")));
+        assertThat(keys(graph.ordered())).containsExactly("f");
+        assertThat(graph.cyclic()).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void shouldKeepDeclarationOrderOfIndependentEntries() {
+        var graph = new DerivedEntries(List.of(
+                new EntryDerived("c").expression("${x}"),
+                new EntryDerived("a").expression("${y}"),
+                new EntryDerived("b").expression("z")));
+        assertThat(keys(graph.ordered())).containsExactly("c", "a", "b");
+        assertThat(graph.cyclic()).isEmpty();
+    }
+
+    @Test
+    void shouldOrderDependencies() {
+        var graph = new DerivedEntries(List.of(
+                new EntryDerived("full").expression("${short}+${build}"),
+                new EntryDerived("short").expression("${major}.${minor}"),
+                new EntryDerived("tag").expression("v${full}")));
+        assertThat(keys(graph.ordered())).containsExactly("short", "full", "tag");
+    }
+
+    @Test
+    void shouldReplaceDuplicateKeys() {
+        var last = new EntryDerived("a").expression("${b}");
+        var graph = new DerivedEntries(List.of(
+                new EntryDerived("a").expression("1"),
+                new EntryDerived("b").expression("2"),
+                last));
+        assertThat(graph.ordered()).containsExactly(graph.ordered().get(0), last);
+        assertThat(keys(graph.ordered())).containsExactly("b", "a");
+    }
+}
@@ -18,6 +18,7 @@ package rife.bld.extension.propertyfile;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntFunction;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,6 +49,16 @@ class EntryBaseTest {
         assertThat(entry.defaultValue()).isEqualTo("default");
     }
 
+    @Test
+    void shouldSetAndGetDefaultValueSupplier() {
+        var calls = new AtomicInteger();
+        var entry = new Entry("key").defaultValue(() -> "default" + calls.incrementAndGet());
+        assertThat(calls.get()).as("not called yet").isEqualTo(0);
+        assertThat(entry.defaultValue()).isEqualTo("default1");
+        assertThat(entry.defaultValue()).isEqualTo("default1");
+        assertThat(calls.get()).as("called once").isEqualTo(1);
+    }
+
     @Test
     void shouldSetAndGetDelete() {
         var entry = new Entry("key");
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryChecksumTest {
+
+    @Test
+    void shouldAddFiles() {
+        var entry = new EntryChecksum("key").file("src").file(new File("README.md")).file(Path.of("LICENSE.txt"));
+        assertThat(entry.files()).containsExactly(Path.of("src"), Path.of("README.md"), Path.of("LICENSE.txt"));
+    }
+
+    @Test
+    void shouldAddIncludes() {
+        var entry = new EntryChecksum("key").include("*.properties").include("**/*.java", "*.txt");
+        assertThat(entry.includes()).containsExactly("*.properties", "**/*.java", "*.txt");
+    }
+
+    @Test
+    void shouldSetAlgorithm() {
+        assertThat(new EntryChecksum("key").algorithm()).isEqualTo("SHA-256");
+        assertThat(new EntryChecksum("key").algorithm("MD5").algorithm()).isEqualTo("MD5");
+    }
+}
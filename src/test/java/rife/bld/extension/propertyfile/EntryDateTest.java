@@ -90,6 +90,14 @@ class EntryDateTest {
         assertThat(entry.pattern()).isEqualTo("yyyy-MM-dd");
     }
 
+    @Test
+    void shouldSetSupplier() {
+        var date = LocalDate.now();
+        var entry = new EntryDate("key").set(() -> date);
+        assertThat(entry.lazyNewValue()).isNotNull();
+        assertThat(entry.newValue()).isEqualTo(date);
+    }
+
     @Test
     void shouldSetZonedDateTime() {
         var date = ZonedDateTime.now();
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryDecimalTest {
+
+    @Test
+    void shouldHaveDefaultRoundingMode() {
+        var entry = new EntryDecimal("key");
+        assertThat(entry.roundingMode()).isEqualTo(RoundingMode.HALF_EVEN);
+        assertThat(entry.scale()).isNull();
+    }
+
+    @Test
+    void shouldSetBigDecimal() {
+        var entry = new EntryDecimal("key").set(new BigDecimal("1.50"));
+        assertThat(entry.newValue()).isEqualTo(new BigDecimal("1.50"));
+    }
+
+    @Test
+    void shouldSetDouble() {
+        var entry = new EntryDecimal("key").set(0.1);
+        assertThat(entry.newValue()).isEqualTo(new BigDecimal("0.1"));
+    }
+
+    @Test
+    void shouldSetLong() {
+        var entry = new EntryDecimal("key").set(42L);
+        assertThat(entry.newValue()).isEqualTo(BigDecimal.valueOf(42));
+    }
+
+    @Test
+    void shouldSetScaleAndRoundingMode() {
+        var entry = new EntryDecimal("key").scale(2).roundingMode(RoundingMode.UP);
+        assertThat(entry.scale()).isEqualTo(2);
+        assertThat(entry.roundingMode()).isEqualTo(RoundingMode.UP);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryDerivedTest {
+
+    @Test
+    void shouldSetExpression() {
+        var entry = new EntryDerived("key").expression("${a}.${b}");
+        assertThat(entry.expression().references()).containsExactly("a", "b");
+        assertThat(entry.newValue()).isEqualTo("${a}.${b}");
+    }
+
+    @Test
+    void shouldNotHaveExpressionByDefault() {
+        assertThat(new EntryDerived("key").expression()).isNull();
+    }
+}
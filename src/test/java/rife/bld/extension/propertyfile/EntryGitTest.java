@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryGitTest {
+
+    @Test
+    void shouldSetDirectory() {
+        assertThat(new EntryGit("key").directory()).isNull();
+        assertThat(new EntryGit("key").directory("src").directory()).isEqualTo(Path.of("src"));
+        assertThat(new EntryGit("key").directory(new File("src")).directory()).isEqualTo(Path.of("src"));
+    }
+
+    @Test
+    void shouldSetInfo() {
+        assertThat(new EntryGit("key").info()).isEqualTo(EntryGit.Info.COMMIT);
+        assertThat(new EntryGit("key").info(EntryGit.Info.BRANCH).info()).isEqualTo(EntryGit.Info.BRANCH);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryMatchTest {
+
+    @Test
+    void shouldCompileRegex() {
+        var entry = new EntryMatch(".*\\.timeout");
+        assertThat(entry.regex().pattern()).isEqualTo(".*\\.timeout");
+        assertThat(entry.regex()).isSameAs(entry.regex());
+        assertThat(entry.key("x.*").regex().pattern()).isEqualTo("x.*");
+    }
+
+    @Test
+    void shouldSetValueAndPredicate() {
+        var entry = new EntryMatch(".*").set(1).when(String::isEmpty);
+        assertThat(entry.newValue()).isEqualTo(1);
+        assertThat(entry.when().test("")).isTrue();
+    }
+}
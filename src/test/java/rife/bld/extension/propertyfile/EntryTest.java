@@ -25,6 +25,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class EntryTest {
 
+    @Test
+    void shouldInterpolate() {
+        assertThat(new Entry("key").isInterpolate()).isFalse();
+        assertThat(new Entry("key").interpolate().isInterpolate()).isTrue();
+    }
+
     @Test
     void shouldSetAndGetModify() {
         BiFunction<String, String, String> modify = (s1, s2) -> s1 + s2;
@@ -41,6 +47,13 @@ class EntryTest {
         assertThat(entry.modifyValue()).isEqualTo("value");
     }
 
+    @Test
+    void shouldSetNewValueSupplier() {
+        var entry = new Entry("key").set(() -> "value");
+        assertThat(entry.lazyNewValue()).isNotNull();
+        assertThat(entry.newValue()).isEqualTo("value");
+    }
+
     @Test
     void shouldSetNewValue() {
         var entry = new Entry("key").set("value");
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryVersionTest {
+
+    @Test
+    void shouldListComponentKeys() {
+        var entry = new EntryVersion("version").components();
+        assertThat(entry.isComponents()).isTrue();
+        assertThat(entry.keys()).containsExactly("version.major", "version.minor", "version.patch",
+                "version.prerelease", "version.build");
+    }
+
+    @Test
+    void shouldListSingleKey() {
+        var entry = new EntryVersion("version");
+        assertThat(entry.isComponents()).isFalse();
+        assertThat(entry.keys()).containsExactly("version");
+    }
+
+    @Test
+    void shouldSetBumpAndLabels() {
+        var entry = new EntryVersion("version").bump(EntryVersion.Bump.PRERELEASE).prerelease("beta").build("42");
+        assertThat(entry.bump()).isEqualTo(EntryVersion.Bump.PRERELEASE);
+        assertThat(entry.prerelease()).isEqualTo("beta");
+        assertThat(entry.build()).isEqualTo("42");
+    }
+
+    @Test
+    void shouldSetVersion() {
+        var entry = new EntryVersion("version").set("1.2.3");
+        assertThat(entry.newValue()).isEqualTo("1.2.3");
+    }
+}
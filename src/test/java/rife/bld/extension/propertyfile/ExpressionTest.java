@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class ExpressionTest {
+
+    private static final Map<String, String> VALUES = Map.of("major", "1", "minor", "2", "patch", "3");
+
+    @Test
+    void shouldEvaluateReferences() {
+        var expression = Expression.compile("${major}.${minor}.${patch}-SNAPSHOT");
+        assertThat(expression.evaluate(VALUES::get)).isEqualTo("1.2.3-SNAPSHOT");
+        assertThat(expression.references()).containsExactly("major", "minor", "patch");
+    }
+
+    @Test
+    void shouldEvaluateWithoutReferences() {
+        var expression = Expression.compile("1.0");
+        assertThat(expression.evaluate(VALUES::get)).isEqualTo("1.0");
+        assertThat(expression.references()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepLiterals() {
+        assertThat(Expression.compile("$${major} ${major}").evaluate(VALUES::get)).isEqualTo("${major} 1");
+        assertThat(Expression.compile("${major").evaluate(VALUES::get)).isEqualTo("${major");
+        assertThat(Expression.compile("$major}").evaluate(VALUES::get)).isEqualTo("$major}");
+    }
+
+    @Test
+    void shouldListReferencesOnce() {
+        assertThat(Expression.compile("${major}${ minor }${major}").references()).containsExactly("major", "minor");
+    }
+
+    @Test
+    void shouldRejectUndefinedReference() {
+        assertThatCode(() -> Expression.compile("${foo}").evaluate(VALUES::get))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Undefined reference: ${foo}");
+    }
+}
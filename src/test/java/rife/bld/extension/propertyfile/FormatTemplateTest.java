@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class FormatTemplateTest {
+
+    private static final List<String> FAST_PATTERNS = List.of("", "abc", "%s", "v%s", "%s-SNAPSHOT", "100%% %s%n",
+            "%10s|", "%-10s|", "%.2s", "%5.1s", "%d", "build-%d", "%8d", "%-8d|", "%n%%");
+    private static final List<String> SLOW_PATTERNS = List.of("%S", "%05d", "%,d", "%+d", "%x", "%1$s", "%s %s",
+            "%s %<s", "%b", "%tY", "%-s", "%.d", "%", "%q", "%.s", "%0s", "%99999999999s");
+    private static final List<Object> VALUES = Arrays.asList("test", "", "a longer value", 0, -12, 1234567,
+            Long.MIN_VALUE, (short) 7, (byte) -1, 1.5, BigInteger.TEN, true, null, new Date(0));
+
+    private static String formatOnce(String pattern, Object value) {
+        try {
+            return FormatTemplate.format(pattern, value);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String formatWith(FormatTemplate template, Object value) {
+        try {
+            return template.format(value);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String formatWith(String pattern, Object value) {
+        try {
+            return String.format(pattern, value);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    @Test
+    void shouldCacheTemplate() {
+        assertThat(FormatTemplate.of("v%s")).isSameAs(FormatTemplate.of("v%s"));
+    }
+
+    @Test
+    void shouldCompileSimplePatterns() {
+        for (var pattern : FAST_PATTERNS) {
+            assertThat(FormatTemplate.of(pattern).isFast()).as("[%s]", pattern).isTrue();
+        }
+        for (var pattern : SLOW_PATTERNS) {
+            assertThat(FormatTemplate.of(pattern).isFast()).as("[%s]", pattern).isFalse();
+        }
+    }
+
+    @Test
+    void shouldFormatLikeStringFormat() {
+        for (var pattern : FAST_PATTERNS) {
+            for (var value : VALUES) {
+                assertThat(formatWith(FormatTemplate.of(pattern), value)).as("[%s] %s", pattern, value)
+                        .isEqualTo(formatWith(pattern, value));
+                assertThat(formatOnce(pattern, value)).as("[%s] %s", pattern, value)
+                        .isEqualTo(formatWith(pattern, value));
+            }
+        }
+    }
+
+    @Test
+    void shouldFormatSlowPatternsLikeStringFormat() {
+        for (var pattern : SLOW_PATTERNS) {
+            for (var value : VALUES) {
+                assertThat(formatWith(FormatTemplate.of(pattern), value)).as("[%s] %s", pattern, value)
+                        .isEqualTo(formatWith(pattern, value));
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the information read by {@link GitRepository} with the output of the {@code git} command on fixture
+ * repositories.
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class GitRepositoryTest {
+
+    @TempDir
+    private Path tmpDir;
+
+    private static boolean isGitAvailable() {
+        try {
+            return new ProcessBuilder("git", "--version").start().waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void assertSameAsGit(Path dir) throws Exception {
+        var repo = GitRepository.find(dir);
+        var head = repo.head();
+        assertThat(head).isEqualTo(git(dir, "rev-parse", "HEAD"));
+        assertThat(repo.branch()).isEqualTo(git(dir, "rev-parse", "--abbrev-ref", "HEAD"));
+        assertThat(repo.count(head)).isEqualTo(Long.parseLong(git(dir, "rev-list", "--count", "HEAD")));
+
+        // <tag>-<distance>-g<commit>
+        var describe = git(dir, "describe", "--tags", "--long");
+        var tag = repo.nearestTag(head);
+        assertThat(tag).isNotNull();
+        assertThat(describe).startsWith(tag.name() + '-' + (repo.count(head) - repo.count(tag.commit())) + "-g");
+    }
+
+    private void commit(Path dir, String message) throws Exception {
+        Files.writeString(dir.resolve("file.txt"), message + '\n', StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        git(dir, "add", "file.txt");
+        git(dir, "commit", "-q", "-m", message);
+    }
+
+    private Path fixture() throws Exception {
+        var dir = Files.createDirectories(tmpDir.resolve("repo"));
+        git(dir, "init", "-q");
+        git(dir, "symbolic-ref", "HEAD", "refs/heads/main");
+        for (var i = 1; i <= 3; i++) {
+            commit(dir, "commit " + i);
+        }
+        git(dir, "tag", "v1.0");
+        commit(dir, "commit 4");
+        git(dir, "checkout", "-q", "-b", "feature");
+        commit(dir, "commit 5");
+        git(dir, "checkout", "-q", "main");
+        git(dir, "merge", "-q", "--no-ff", "-m", "merge", "feature");
+        git(dir, "tag", "-a", "-m", "release", "v1.1", "HEAD~1");
+        commit(dir, "commit 6");
+        return dir;
+    }
+
+    private String git(Path dir, String... args) throws Exception {
+        var command = new String[args.length + 5];
+        command[0] = "git";
+        command[1] = "-c";
+        command[2] = "user.name=Test";
+        command[3] = "-c";
+        command[4] = "user.email=test@example.com";
+        System.arraycopy(args, 0, command, 5, args.length);
+        var process = new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true).start();
+        var output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertThat(process.waitFor()).as("git %s: %s", String.join(" ", args), output).isEqualTo(0);
+        return output;
+    }
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(isGitAvailable(), "git is not available");
+    }
+
+    @Test
+    void shouldReadDeltifiedCommits() throws Exception {
+        // similar long messages are stored as deltas of each other
+        var dir = fixture();
+        var message = "lorem ipsum dolor ".repeat(400);
+        for (var i = 0; i < 6; i++) {
+            commit(dir, message + i);
+        }
+        git(dir, "gc", "-q", "--aggressive", "--prune=now");
+        assertThat(git(dir, "verify-pack", "-v", dir.resolve(".git/objects/pack").toFile().listFiles(
+                (d, name) -> name.endsWith(".idx"))[0].getPath())).containsPattern("commit .* [0-9a-f]{40}\\n");
+        assertSameAsGit(dir);
+    }
+
+    @Test
+    void shouldReadDetachedHead() throws Exception {
+        var dir = fixture();
+        git(dir, "checkout", "-q", "--detach", "HEAD~2");
+        assertSameAsGit(dir);
+        assertThat(GitRepository.find(dir).branch()).isEqualTo("HEAD");
+    }
+
+    @Test
+    void shouldReadLooseObjects() throws Exception {
+        var dir = fixture();
+        assertSameAsGit(dir);
+        assertSameAsGit(Files.createDirectories(dir.resolve("sub/dir")));
+    }
+
+    @Test
+    void shouldReadNewTags() throws Exception {
+        var dir = fixture();
+        assertSameAsGit(dir);
+        git(dir, "tag", "v1.2");
+        assertSameAsGit(dir);
+        assertThat(GitRepository.find(dir).nearestTag(git(dir, "rev-parse", "HEAD")).name()).isEqualTo("v1.2");
+    }
+
+    @Test
+    void shouldReadPackedObjects() throws Exception {
+        var dir = fixture();
+        git(dir, "gc", "-q", "--aggressive", "--prune=now");
+        assertThat(dir.resolve(".git/packed-refs")).exists();
+        assertSameAsGit(dir);
+    }
+
+    @Test
+    void shouldReadRepackedObjects() throws Exception {
+        var dir = fixture();
+        assertSameAsGit(dir);
+        commit(dir, "commit 7");
+        git(dir, "gc", "-q", "--prune=now");
+        assertSameAsGit(dir);
+    }
+
+    @Test
+    void shouldReadWorktree() throws Exception {
+        var dir = fixture();
+        var worktree = tmpDir.resolve("worktree");
+        git(dir, "worktree", "add", "-q", "-b", "other", worktree.toString(), "HEAD~1");
+        assertSameAsGit(worktree);
+        assertThat(GitRepository.find(worktree).branch()).isEqualTo("other");
+    }
+
+    @Test
+    void shouldThrowExceptionWithoutRepository() {
+        assertThatCode(() -> GitRepository.find(tmpDir)).isInstanceOf(IOException.class)
+                .hasMessageContaining("No Git repository found");
+    }
+}
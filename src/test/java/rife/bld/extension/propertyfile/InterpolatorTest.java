@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class InterpolatorTest {
+
+    private static final Map<String, String> ENV = Map.of("HOST", "example.com", "ctx", "env");
+
+    private static Properties properties(String... keyValues) {
+        var p = new Properties();
+        for (var i = 0; i < keyValues.length; i += 2) {
+            p.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return p;
+    }
+
+    @Test
+    void shouldDetectCycles() {
+        var interpolator = new Interpolator(properties("a", "${b}", "b", "x${c}", "c", "${a}", "d", "${d}"),
+                ENV::get);
+        assertThatCode(() -> interpolator.resolve("a")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circular reference: a -> b -> c -> a");
+        assertThatCode(() -> interpolator.interpolate("${d}")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circular reference: d -> d");
+    }
+
+    @Test
+    void shouldInvalidateDependentsOnly() {
+        var p = properties("host", "localhost", "port", "8080", "url", "${host}:${port}", "other", "${port}");
+        var interpolator = new Interpolator(p, ENV::get);
+        assertThat(interpolator.interpolate("${url} ${other}")).isEqualTo("localhost:8080 8080");
+
+        p.setProperty("port", "9090");
+        assertThat(interpolator.resolve("url")).as("memoized").isEqualTo("localhost:8080");
+
+        p.setProperty("host", "example.org");
+        interpolator.invalidate("host");
+        assertThat(interpolator.resolve("url")).as("port not invalidated").isEqualTo("example.org:8080");
+        assertThat(interpolator.resolve("other")).as("not a dependent of host").isEqualTo("8080");
+
+        interpolator.invalidate("port");
+        assertThat(interpolator.resolve("url")).isEqualTo("example.org:9090");
+        assertThat(interpolator.resolve("other")).isEqualTo("9090");
+    }
+
+    @Test
+    void shouldPreferPropertiesOverEnvironmentAndSystemProperties() {
+        var key = "interpolator.test.key";
+        System.setProperty(key, "system");
+        try {
+            var interpolator = new Interpolator(properties("ctx", "file", "url", "${HOST}/${ctx}/${" + key + "}"),
+                    ENV::get);
+            assertThat(interpolator.resolve("url")).isEqualTo("example.com/file/system");
+        } finally {
+            System.clearProperty(key);
+        }
+    }
+
+    @Test
+    void shouldRejectUndefinedReferences() {
+        var interpolator = new Interpolator(properties("a", "${b}"), ENV::get);
+        assertThat(interpolator.resolve("foo")).isNull();
+        assertThatCode(() -> interpolator.resolve("a")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Undefined reference: ${b}");
+        assertThatCode(() -> interpolator.interpolate("${foo}")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Undefined reference: ${foo}");
+    }
+
+    @Test
+    void shouldResolveDeepChains() {
+        var p = new Properties();
+        var depth = 100_000;
+        p.setProperty("k0", "v");
+        for (var i = 1; i <= depth; i++) {
+            p.setProperty("k" + i, "${k" + (i - 1) + '}');
+        }
+        var interpolator = new Interpolator(p, ENV::get);
+        assertThat(interpolator.resolve("k" + depth)).isEqualTo("v");
+    }
+
+    @Test
+    void shouldResolveNestedReferences() {
+        var interpolator = new Interpolator(properties("host", "localhost", "port", "8080", "ctx", "app",
+                "base", "${host}:${port}", "app.url", "http://${base}/${ctx}"), ENV::get);
+        assertThat(interpolator.resolve("app.url")).isEqualTo("http://localhost:8080/app");
+        assertThat(interpolator.interpolate("$${host} is ${host}")).isEqualTo("${host} is localhost");
+    }
+}
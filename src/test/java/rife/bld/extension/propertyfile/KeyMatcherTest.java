@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class KeyMatcherTest {
+
+    private static List<Integer> all(KeyMatcher matcher, String key) {
+        var indexes = new ArrayList<Integer>();
+        var i = matcher.first(key);
+        while (i != -1) {
+            indexes.add(i);
+            i = matcher.next(key, i + 1);
+        }
+        return indexes;
+    }
+
+    private static KeyMatcher matcher(String... regexes) {
+        var patterns = new ArrayList<Pattern>();
+        for (var regex : regexes) {
+            patterns.add(Pattern.compile(regex));
+        }
+        return new KeyMatcher(patterns);
+    }
+
+    @Test
+    void shouldFindAllMatches() {
+        var matcher = matcher(".*\\.timeout", "db\\..*", "(a)(b)?c", "db\\.(read|write)\\.timeout");
+
+        assertThat(all(matcher, "db.read.timeout")).containsExactly(0, 1, 3);
+        assertThat(all(matcher, "http.timeout")).containsExactly(0);
+        assertThat(all(matcher, "db.url")).containsExactly(1);
+        assertThat(all(matcher, "ac")).containsExactly(2);
+        assertThat(all(matcher, "timeout")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchBackReferences() {
+        var matcher = matcher("(x)y", "(a)\\1", "(?<c>b)\\k<c>");
+
+        assertThat(all(matcher, "aa")).containsExactly(1);
+        assertThat(all(matcher, "bb")).containsExactly(2);
+        assertThat(all(matcher, "xy")).containsExactly(0);
+        assertThat(all(matcher, "ab")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchNonCombinablePatterns() {
+        var named = matcher("(?<n>a)b", "(?<n>c)d");
+
+        assertThat(all(named, "ab")).containsExactly(0);
+        assertThat(all(named, "cd")).containsExactly(1);
+        assertThat(all(named, "ad")).isEmpty();
+
+        var quoted = matcher("\\Qa.b", "x", "\\Qa.b\\E|y");
+
+        assertThat(all(quoted, "a.b")).containsExactly(0, 2);
+        assertThat(all(quoted, "x")).containsExactly(1);
+        assertThat(all(quoted, "y")).containsExactly(2);
+        assertThat(all(quoted, "axb")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchWholeKey() {
+        var matcher = matcher("timeout", "(?i)port");
+
+        assertThat(all(matcher, "timeout")).containsExactly(0);
+        assertThat(all(matcher, "http.timeout")).isEmpty();
+        assertThat(all(matcher, "PORT")).containsExactly(1);
+        assertThat(all(matcher, "TIMEOUT")).as("inline flags are scoped").isEmpty();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class LayeredPropertiesTest {
+
+    private static Properties parent() {
+        var parent = new Properties();
+        parent.setProperty("a", "1");
+        parent.setProperty("b", "2");
+        return parent;
+    }
+
+    @Test
+    void shouldClear() {
+        var parent = parent();
+        var layer = new LayeredProperties(parent);
+        layer.clear();
+        layer.setProperty("c", "3");
+
+        assertThat(layer.getProperty("a")).isNull();
+        assertThat(layer.containsKey("b")).isFalse();
+        assertThat(layer.stringPropertyNames()).containsExactly("c");
+        assertThat(parent).hasSize(2);
+    }
+
+    @Test
+    void shouldComputeInLayer() {
+        var parent = parent();
+        var layer = new LayeredProperties(parent);
+
+        assertThat(layer.compute("a", (k, v) -> v + "0")).isEqualTo("10");
+        assertThat(layer.computeIfAbsent("b", k -> "x")).as("inherited").isEqualTo("2");
+        assertThat(layer.computeIfAbsent("c", k -> "3")).isEqualTo("3");
+        assertThat(layer.computeIfPresent("b", (k, v) -> null)).isNull();
+        assertThat(layer.merge("c", "3", (v, w) -> v + "+" + w)).isEqualTo("3+3");
+
+        assertThat(layer.getProperty("a")).isEqualTo("10");
+        assertThat(layer.containsKey("b")).as("removed").isFalse();
+        assertThat(layer.changedKeys()).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(parent).as("parent").isEqualTo(parent());
+    }
+
+    @Test
+    void shouldFallThroughToParent() {
+        var layer = new LayeredProperties(parent());
+
+        assertThat(layer.getProperty("a")).isEqualTo("1");
+        assertThat(layer.getProperty("x", "default")).isEqualTo("default");
+        assertThat(layer.containsKey("b")).isTrue();
+        assertThat(layer.size()).isEqualTo(2);
+        assertThat(layer.isEmpty()).isFalse();
+    }
+
+    @Test
+    void shouldHideRemovedKeys() {
+        var parent = parent();
+        var layer = new LayeredProperties(parent);
+
+        assertThat(layer.remove("a")).isEqualTo("1");
+        assertThat(layer.getProperty("a")).isNull();
+        assertThat(layer.containsKey("a")).isFalse();
+        assertThat(layer.size()).isEqualTo(1);
+        assertThat(parent.getProperty("a")).as("parent").isEqualTo("1");
+
+        layer.setProperty("a", "new");
+        assertThat(layer.getProperty("a")).isEqualTo("new");
+        layer.remove("a");
+        assertThat(layer.getProperty("a")).isNull();
+    }
+
+    @Test
+    void shouldKeepInitialEntries() {
+        var own = new Properties();
+        own.setProperty("a", "1");
+        var layer = new LayeredProperties(parent(), own);
+
+        assertThat(layer.layer()).as("same as inherited").isEqualTo(Map.of("a", "1"));
+        assertThat(layer.changedKeys()).containsExactly("a");
+    }
+
+    @Test
+    void shouldKeepOwnEntries() {
+        var layer = new LayeredProperties(parent());
+        layer.setProperty("b", "two");
+        layer.setProperty("c", "3");
+        layer.setProperty("a", "1");
+
+        assertThat(layer.layer()).isEqualTo(Map.of("b", "two", "c", "3"));
+    }
+
+    @Test
+    void shouldMergeEntries() {
+        var layer = new LayeredProperties(parent());
+        layer.setProperty("b", "two");
+        layer.setProperty("c", "3");
+        layer.remove("a");
+
+        var entries = new HashMap<>();
+        for (var e : layer.entrySet()) {
+            entries.put(e.getKey(), e.getValue());
+        }
+        assertThat(entries).isEqualTo(Map.of("b", "two", "c", "3"));
+        assertThat(layer.stringPropertyNames()).containsExactlyInAnyOrder("b", "c");
+    }
+
+    @Test
+    void shouldOverrideParent() {
+        var parent = parent();
+        var layer = new LayeredProperties(parent);
+
+        assertThat(layer.setProperty("a", "one")).isEqualTo("1");
+        assertThat(layer.getProperty("a")).isEqualTo("one");
+        assertThat(parent.getProperty("a")).as("parent").isEqualTo("1");
+    }
+
+    @Test
+    void shouldReplaceInLayer() {
+        var parent = parent();
+        var layer = new LayeredProperties(parent);
+
+        assertThat(layer.replace("a", "10")).isEqualTo("1");
+        assertThat(layer.replace("x", "0")).as("absent").isNull();
+        assertThat(layer.replace("b", "x", "20")).as("mismatch").isFalse();
+        assertThat(layer.replace("b", "2", "20")).isTrue();
+        assertThat(layer.remove("a", "1")).as("mismatch").isFalse();
+        assertThat(layer.containsKey("x")).isFalse();
+        assertThat(layer.layer()).hasSize(2).containsEntry("a", "10").containsEntry("b", "20");
+
+        layer.replaceAll((k, v) -> v + "!");
+        assertThat(layer.getProperty("a")).isEqualTo("10!");
+        assertThat(layer.getProperty("b")).isEqualTo("20!");
+        assertThat(layer.remove("a", "10!")).isTrue();
+        assertThat(layer.keySet()).containsExactly("b");
+        assertThat(parent).as("parent").isEqualTo(parent());
+    }
+
+    @Test
+    void shouldStackLayers() {
+        var middle = new LayeredProperties(parent());
+        middle.setProperty("b", "two");
+        middle.remove("a");
+        var top = new LayeredProperties(middle);
+        top.setProperty("c", "3");
+
+        assertThat(top.getProperty("a")).isNull();
+        assertThat(top.getProperty("b")).isEqualTo("two");
+        assertThat(top.stringPropertyNames()).containsExactlyInAnyOrder("b", "c");
+    }
+
+    @Test
+    void shouldRefreshMergedView() {
+        var layer = new LayeredProperties(parent());
+        var keys = layer.keySet();
+        assertThat(keys).containsExactlyInAnyOrder("a", "b");
+
+        layer.setProperty("c", "3");
+        assertThat(keys).as("previous view").containsExactlyInAnyOrder("a", "b");
+        assertThat(layer.keySet()).containsExactlyInAnyOrder("a", "b", "c");
+        layer.remove("a");
+        assertThat(layer.size()).isEqualTo(2);
+        layer.clear();
+        assertThat(layer.entrySet()).isEmpty();
+    }
+
+    @Test
+    void shouldTrackChangedKeys() {
+        var layer = new LayeredProperties(parent());
+        layer.setProperty("a", "1");
+        layer.setProperty("c", "3");
+        layer.remove("b");
+
+        assertThat(layer.changedKeys()).containsExactlyInAnyOrder("b", "c");
+        assertThat(layer.isCleared()).isFalse();
+        layer.clear();
+        assertThat(layer.isCleared()).isTrue();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class LazyValueTest {
+
+    @Test
+    void shouldComputeOnceConcurrently() throws Exception {
+        var calls = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var value = new LazyValue(() -> {
+            calls.incrementAndGet();
+            return "value";
+        });
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<Object>>();
+            for (var i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return value.get();
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldComputeOnFirstUse() {
+        var calls = new AtomicInteger();
+        var value = new LazyValue(calls::incrementAndGet);
+        assertThat(value.isDone()).isFalse();
+        assertThat(calls.get()).isEqualTo(0);
+
+        value.prefetch();
+        assertThat(value.isDone()).isTrue();
+        assertThat(value.get()).isEqualTo(1);
+        assertThat(value.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRethrowSupplierException() {
+        var calls = new AtomicInteger();
+        var value = new LazyValue(() -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("failed");
+        });
+
+        value.prefetch();
+        assertThatCode(value::get).isInstanceOf(IllegalArgumentException.class).hasMessage("failed");
+        assertThatCode(value::get).isInstanceOf(IllegalArgumentException.class).hasMessage("failed");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResolveObjects() {
+        assertThat(LazyValue.resolve("value")).isEqualTo("value");
+        assertThat(LazyValue.resolve(null)).isNull();
+        assertThat(LazyValue.resolve(new LazyValue(() -> "lazy"))).isEqualTo("lazy");
+    }
+
+    @Test
+    void shouldWrapSupplierException() {
+        var value = new LazyValue(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        assertThatCode(value::get).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("failed")
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(LazyValue.of(null)).isNull();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class NumericCodecTest {
+
+    private static final List<String> PATTERNS = List.of("", "#", "0", "0000", "#,##0", "#,###", "#,##,##0",
+            "v#", "#ms", "build-0000", "#.##", "0000.00", "#%", "'#'#", "0.###E0", "#;(#)");
+    private static final long[] VALUES = {0, 1, -1, 9, 10, 999, 1000, 1234, -1234, 123456, 1234567, -1234567,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+
+    private static String parseWith(DecimalFormat fmt, String text) {
+        try {
+            var number = fmt.parse(text);
+            return number.intValue() + "/" + number.longValue();
+        } catch (ParseException e) {
+            return "error";
+        }
+    }
+
+    private static String parseWith(NumericCodec codec, String text) {
+        try {
+            return codec.parseInt(text) + "/" + codec.parseLong(text);
+        } catch (ParseException e) {
+            return "error";
+        }
+    }
+
+    @Test
+    void shouldCacheCodec() {
+        assertThat(NumericCodec.of("0000")).isSameAs(NumericCodec.of("0000"));
+    }
+
+    @Test
+    void shouldFallBackOnExoticPatterns() {
+        assertThat(NumericCodec.of("0000.00").isFast()).as("fraction digits").isFalse();
+        assertThat(NumericCodec.of("#%").isFast()).as("percent").isFalse();
+        assertThat(NumericCodec.of("0.###E0").isFast()).as("exponent").isFalse();
+    }
+
+    @Test
+    void shouldFormatDecimalLikeDecimalFormat() {
+        for (var pattern : PATTERNS) {
+            var codec = NumericCodec.of(pattern);
+            var fmt = new DecimalFormat(pattern);
+            fmt.setRoundingMode(RoundingMode.HALF_UP);
+            for (var text : List.of("0", "1.00", "-1234", "1234.5", "-2.5", "1E+3", "123456789012345678901234")) {
+                var value = new BigDecimal(text);
+                assertThat(codec.format(value, RoundingMode.HALF_UP)).as("[%s] %s", pattern, text)
+                        .isEqualTo(fmt.format(value));
+            }
+        }
+    }
+
+    @Test
+    void shouldFormatLikeDecimalFormat() {
+        for (var pattern : PATTERNS) {
+            var codec = NumericCodec.of(pattern);
+            var fmt = new DecimalFormat(pattern);
+            for (var value : VALUES) {
+                assertThat(codec.format(value)).as("[%s] %d", pattern, value).isEqualTo(fmt.format(value));
+            }
+        }
+    }
+
+    @Test
+    void shouldParseLikeDecimalFormat() {
+        for (var pattern : PATTERNS) {
+            var codec = NumericCodec.of(pattern);
+            var fmt = new DecimalFormat(pattern);
+            for (var value : VALUES) {
+                var formatted = fmt.format(value);
+                for (var text : List.of(formatted, String.valueOf(value), formatted + "x", "+" + formatted,
+                        " " + formatted, formatted + ".5", "1,2,3", "-0", "99999999999999999999")) {
+                    assertThat(parseWith(codec, text)).as("[%s] %s", pattern, text).isEqualTo(parseWith(fmt, text));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldParseDecimal() throws ParseException {
+        assertThat(NumericCodec.of("#,##0").parseDecimal("1,234")).isEqualTo(new BigDecimal("1234"));
+        assertThat(NumericCodec.of("").parseDecimal("-12.50")).isEqualTo(new BigDecimal("-12.50"));
+        assertThat(NumericCodec.of("").parseDecimal("123456789012345678901234"))
+                .isEqualTo(new BigDecimal("123456789012345678901234"));
+    }
+
+    @Test
+    void shouldRecognizeCommonPatterns() {
+        for (var pattern : List.of("", "#", "0000", "#,##0", "v#", "#ms", "build-0000")) {
+            assertThat(NumericCodec.of(pattern).isFast()).as("[%s]", pattern).isTrue();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidPattern() {
+        assertThatCode(() -> NumericCodec.of("0#")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class PropertiesSnapshotTest {
+
+    @TempDir
+    private Path tmpDir;
+
+    private static boolean load(Path file, Path snapshot, Properties p) {
+        return PropertiesSnapshot.load(file, snapshot, p, StandardCharsets.UTF_8);
+    }
+
+    private static Properties properties(String... keyValues) {
+        var p = new Properties();
+        for (var i = 0; i < keyValues.length; i += 2) {
+            p.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return p;
+    }
+
+    private static void save(Path file, Path snapshot, Properties p) throws IOException {
+        PropertiesSnapshot.save(file, snapshot, p, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldIgnoreCharsetChange() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "foo=bar\n");
+        var snapshot = PropertiesSnapshot.snapshotFile(tmpDir.resolve("state"), file);
+        save(file, snapshot, properties("foo", "bar"));
+        assertThat(PropertiesSnapshot.load(file, snapshot, new Properties(), StandardCharsets.ISO_8859_1)).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreCorruptSnapshot() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "foo=bar\n");
+        var snapshot = PropertiesSnapshot.snapshotFile(tmpDir.resolve("state"), file);
+        save(file, snapshot, properties("foo", "bar"));
+
+        var bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 2));
+        var p = new Properties();
+        assertThat(load(file, snapshot, p)).as("truncated").isFalse();
+        assertThat(p).isEmpty();
+
+        Files.writeString(snapshot, "not a snapshot");
+        assertThat(load(file, snapshot, p)).as("garbage").isFalse();
+        assertThat(p).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreMissingSnapshot() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "foo=bar\n");
+        assertThat(load(file, tmpDir.resolve("missing.snapshot"), new Properties())).isFalse();
+    }
+
+    @Test
+    void shouldInvalidateModifiedFile() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "foo=bar\n");
+        var snapshot = PropertiesSnapshot.snapshotFile(tmpDir.resolve("state"), file);
+        save(file, snapshot, properties("foo", "bar"));
+        var modified = Files.getLastModifiedTime(file);
+
+        // same size and modification time, different content
+        Files.writeString(file, "foo=baz\n");
+        Files.setLastModifiedTime(file, modified);
+        assertThat(load(file, snapshot, new Properties())).as("content").isFalse();
+
+        Files.writeString(file, "foo=bar\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertThat(load(file, snapshot, new Properties())).as("touched").isFalse();
+    }
+
+    @Test
+    void shouldRoundTrip() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "foo=bar\nempty=\n");
+        var snapshot = PropertiesSnapshot.snapshotFile(tmpDir.resolve("state"), file);
+        assertThat(snapshot.getFileName().toString()).startsWith("test.properties-").endsWith(".snapshot");
+
+        save(file, snapshot, properties("foo", "bar", "empty", ""));
+        var p = new Properties();
+        assertThat(load(file, snapshot, p)).isTrue();
+        assertThat(p).hasSize(2).containsEntry("foo", "bar").containsEntry("empty", "");
+    }
+
+    @Test
+    void shouldRoundTripLargeFile() throws Exception {
+        var content = new StringBuilder();
+        var expected = new Properties();
+        for (var i = 0; i < 2000; i++) {
+            content.append("key").append(i).append("=value").append(i).append('\n');
+            expected.setProperty("key" + i, "value" + i);
+        }
+        var file = Files.writeString(tmpDir.resolve("large.properties"), content);
+        var snapshot = PropertiesSnapshot.snapshotFile(tmpDir.resolve("state"), file);
+        save(file, snapshot, expected);
+
+        var p = new Properties();
+        assertThat(load(file, snapshot, p)).isTrue();
+        assertThat(p).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldRoundTripUnicode() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "caf\\u00e9=\\u65e5\\u672c\n");
+        var snapshot = PropertiesSnapshot.snapshotFile(tmpDir.resolve("state"), file);
+        save(file, snapshot, properties("caf\u00e9", "\u65e5\u672c", "emoji", "\ud83d\ude00"));
+
+        var p = new Properties();
+        assertThat(load(file, snapshot, p)).isTrue();
+        assertThat(p).containsEntry("caf\u00e9", "\u65e5\u672c").containsEntry("emoji", "\ud83d\ude00");
+    }
+
+    @Test
+    void shouldRoundTripUnpairedSurrogates() throws Exception {
+        // as parsed from the escaped unpaired surrogates of the file
+        var expected = properties("high", "\ud800", "low", "a\udc00b");
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "high=\\ud800\nlow=a\\udc00b\n");
+        var snapshot = PropertiesSnapshot.snapshotFile(tmpDir.resolve("state"), file);
+        save(file, snapshot, expected);
+
+        var p = new Properties();
+        assertThat(load(file, snapshot, p)).isTrue();
+        assertThat(p).isEqualTo(expected);
+    }
+}
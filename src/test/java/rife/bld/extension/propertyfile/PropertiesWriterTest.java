@@ -0,0 +1,216 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class PropertiesWriterTest {
+
+    private static final List<String> STRINGS = List.of("", "foo", " leading", "trailing ", "in side", "a=b",
+            "a:b", "#hash", "!bang", "back\\slash", "tab\there", "new\nline", "cr\rlf", "form\ffeed", "caf\u00e9",
+            "\u65e5\u672c", "\ud83d\ude00", "\u0001", "~\u007f", "{}[]");
+
+    @TempDir
+    private Path tmpDir;
+
+    private static Properties large(int count) {
+        var p = new Properties();
+        for (var i = 0; i < count; i++) {
+            p.setProperty("key.caf\u00e9." + i, "\u65e5\u672c " + i);
+        }
+        return p;
+    }
+
+    private static Properties load(byte[] bytes) throws Exception {
+        var p = new Properties();
+        p.load(new ByteArrayInputStream(bytes));
+        return p;
+    }
+
+    // Properties.store output lines, without the date line.
+    private static List<String> store(Properties p, String comment) throws Exception {
+        var out = new ByteArrayOutputStream();
+        p.store(out, comment);
+        var lines = new ArrayList<>(List.of(out.toString(StandardCharsets.ISO_8859_1)
+                .split(System.lineSeparator(), -1)));
+        lines.removeIf(line -> line.matches("#\\w{3} \\w{3} \\d{2} \\d{2}:\\d{2}:\\d{2} \\S+ \\d{4}"));
+        return lines;
+    }
+
+    private static List<String> write(Properties p, String comment) {
+        return List.of(new String(PropertiesWriter.toBytes(p, comment, null), StandardCharsets.ISO_8859_1)
+                .split("\n", -1));
+    }
+
+    @Test
+    void shouldEscapeLikeStore() throws Exception {
+        var p = new Properties();
+        for (var i = 0; i < STRINGS.size(); i++) {
+            p.setProperty(STRINGS.get(i), STRINGS.get(STRINGS.size() - 1 - i));
+        }
+        assertThat(write(p, null)).containsExactlyInAnyOrderElementsOf(store(p, null));
+        assertThat(load(PropertiesWriter.toBytes(p, null, null))).isEqualTo(p);
+    }
+
+    @Test
+    void shouldIgnoreInsertionOrder() {
+        var a = new Properties();
+        var b = new Properties();
+        for (var i = 0; i < 100; i++) {
+            a.setProperty("key" + i, "value" + i);
+            b.setProperty("key" + (99 - i), "value" + (99 - i));
+        }
+        assertThat(PropertiesWriter.toBytes(a, "comment", null))
+                .isEqualTo(PropertiesWriter.toBytes(b, "comment", null));
+    }
+
+    @Test
+    void shouldWriteCommentsLikeStore() throws Exception {
+        var p = new Properties();
+        for (var comment : List.of("", "simple", "multi\nline", "crlf\r\nline", "cr\rline", "keep\n#hash",
+                "keep\n!bang", "trailing\n", "caf\u00e9 \u65e5\u672c")) {
+            assertThat(write(p, comment)).as(comment).isEqualTo(store(p, comment));
+        }
+    }
+
+    @Test
+    void shouldWriteCharsetDirectly() throws Exception {
+        var p = new Properties();
+        for (var i = 0; i < STRINGS.size(); i++) {
+            p.setProperty(STRINGS.get(i), STRINGS.get(STRINGS.size() - 1 - i));
+        }
+        var bytes = PropertiesWriter.toBytes(p, "caf\u00e9 \u65e5\u672c", null, StandardCharsets.UTF_8);
+        var text = new String(bytes, StandardCharsets.UTF_8);
+        assertThat(text).startsWith("#caf\u00e9 \u65e5\u672c\n").contains("\u65e5\u672c=in side")
+                .contains("\ud83d\ude00=trailing ").contains("\\u0001=\\ leading").doesNotContain("\\u00E9");
+
+        var loaded = new Properties();
+        loaded.load(new StringReader(text));
+        assertThat(loaded).isEqualTo(p);
+    }
+
+    @Test
+    void shouldEscapeUnencodableCharacters() {
+        var p = new Properties();
+        p.setProperty("key", "caf\u00e9 \u65e5\u672c \ud83d\ude00 \ud83d");
+        assertThat(new String(PropertiesWriter.toBytes(p, null, null, Charset.forName("windows-1252")),
+                Charset.forName("windows-1252")))
+                .isEqualTo("key=caf\u00e9 \\u65E5\\u672C \\uD83D\\uDE00 \\uD83D\n");
+        assertThat(new String(PropertiesWriter.toBytes(p, null, null, StandardCharsets.UTF_8), StandardCharsets.UTF_8))
+                .isEqualTo("key=caf\u00e9 \u65e5\u672c \ud83d\ude00 \\uD83D\n");
+    }
+
+    @Test
+    void shouldWriteConcurrently() throws Exception {
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var tasks = new ArrayList<Callable<Boolean>>();
+            for (var i = 0; i < 32; i++) {
+                var file = tmpDir.resolve(i + ".properties");
+                var p = large(i * 100);
+                tasks.add(() -> PropertiesWriter.write(file, p, null, null, StandardCharsets.UTF_8)
+                        && Arrays.equals(Files.readAllBytes(file),
+                        PropertiesWriter.toBytes(p, null, null, StandardCharsets.UTF_8)));
+            }
+            for (var future : executor.invokeAll(tasks)) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldWriteFile() throws Exception {
+        var file = tmpDir.resolve("test.properties");
+        for (var charset : List.of(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8, StandardCharsets.UTF_16)) {
+            // spans several buffers
+            var p = large(20_000);
+            assertThat(PropertiesWriter.write(file, p, "comment", null, charset)).as(charset.name()).isTrue();
+            assertThat(Files.readAllBytes(file)).as(charset.name())
+                    .isEqualTo(PropertiesWriter.toBytes(p, "comment", null, charset));
+            assertThat(PropertiesWriter.write(file, p, "comment", null, charset)).as("unchanged").isFalse();
+
+            // truncated
+            p = large(1);
+            assertThat(PropertiesWriter.write(file, p, "comment", null, charset)).as(charset.name()).isTrue();
+            assertThat(Files.readAllBytes(file)).as(charset.name())
+                    .isEqualTo(PropertiesWriter.toBytes(p, "comment", null, charset));
+        }
+    }
+
+    @Test
+    void shouldWriteTimestamp() {
+        var bytes = PropertiesWriter.toBytes(new Properties(), "comment", Instant.ofEpochSecond(1_700_000_000L));
+        assertThat(new String(bytes, StandardCharsets.ISO_8859_1))
+                .isEqualTo("#comment\n#Tue Nov 14 22:13:20 UTC 2023\n");
+    }
+
+    @Test
+    void shouldWriteWithinMemoryBudget() throws Exception {
+        var file = tmpDir.resolve("test.properties");
+        var p = large(5_000);
+        for (var s : STRINGS) {
+            p.setProperty(s, s);
+        }
+        var timestamp = Instant.ofEpochSecond(1_700_000_000L);
+        var temp = Files.createDirectory(tmpDir.resolve("temp"));
+        for (var charset : List.of(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8, StandardCharsets.UTF_16)) {
+            // spilled to many runs, merged two at a time
+            assertThat(PropertiesWriter.write(file, p, "comment\nline", timestamp, charset, 4096, temp))
+                    .as(charset.name()).isTrue();
+            assertThat(Files.readAllBytes(file)).as(charset.name())
+                    .isEqualTo(PropertiesWriter.toBytes(p, "comment\nline", timestamp, charset));
+            assertThat(PropertiesWriter.write(file, p, "comment\nline", timestamp, charset, 4096, temp))
+                    .as("unchanged").isFalse();
+        }
+
+        // merged in a single pass
+        assertThat(PropertiesWriter.write(file, p, null, null, StandardCharsets.UTF_8, 256 * 1024, temp)).isTrue();
+        assertThat(Files.readAllBytes(file)).isEqualTo(PropertiesWriter.toBytes(p, null, null,
+                StandardCharsets.UTF_8));
+
+        // fits the budget
+        var small = large(10);
+        assertThat(PropertiesWriter.write(file, small, null, null, StandardCharsets.UTF_8, 1024 * 1024, temp))
+                .isTrue();
+        assertThat(Files.readAllBytes(file)).isEqualTo(PropertiesWriter.toBytes(small, null, null,
+                StandardCharsets.UTF_8));
+        try (var files = Files.list(temp)) {
+            assertThat(files.count()).as("temporary files").isZero();
+        }
+    }
+}
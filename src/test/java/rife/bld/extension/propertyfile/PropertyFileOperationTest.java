@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import rife.bld.Project;
 import rife.bld.extension.testing.LoggingExtension;
 import rife.bld.extension.testing.TestLogHandler;
@@ -30,12 +31,26 @@ import rife.bld.operations.exceptions.ExitStatusException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -80,6 +95,22 @@ class PropertyFileOperationTest {
         properties = new Properties();
     }
 
+    @Test
+    void shouldChecksumFiles() throws Exception {
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new EntryChecksum("checksum.src").file("src").include("**/*.java"))
+                .entry(new EntryChecksum("checksum.readme").file("README.md").algorithm("MD5"))
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties.getProperty("checksum.src")).hasSize(64);
+        assertThat(properties.getProperty("checksum.readme")).hasSize(32);
+    }
+
     @Test
     void shouldClear() throws Exception {
         var bar = "bar";
@@ -149,6 +180,103 @@ class PropertyFileOperationTest {
         assertThat(properties).containsOnlyKeys(VERSION_MAJOR, VERSION_MINOR, VERSION_PATCH);
     }
 
+    @Test
+    void shouldInterpolateWithUpdatedValues() throws Exception {
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new Entry("host").set("localhost"))
+                .entry(new Entry("port").set("8080"))
+                .entry(new Entry("url").set("${host}:${port}").interpolate())
+                .entry(new Entry("port").set("9090"))
+                .entry(new Entry("url.new").set("${host}:${port}").interpolate())
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties.getProperty("url")).isEqualTo("localhost:8080");
+        assertThat(properties.getProperty("url.new")).isEqualTo("localhost:9090");
+    }
+
+    @Test
+    void shouldEvaluateSuppliersLazily() throws Exception {
+        // given
+        var calls = new AtomicInteger();
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new Entry("existing").set("value"))
+                .execute();
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new Entry("existing").defaultValue(calls::incrementAndGet))
+                .entry(new Entry("deleted").set(calls::incrementAndGet).delete())
+                .entry(new Entry("new").set(() -> "new" + calls.incrementAndGet()))
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(calls.get()).as("only the new value supplier").isEqualTo(1);
+        assertThat(properties).containsEntry("existing", "value").containsEntry("new", "new1")
+                .doesNotContainKey("deleted");
+    }
+
+    @Test
+    void shouldPrefetchSuppliersConcurrently() throws Exception {
+        // each supplier waits for the other, which can only complete if both run at the same time
+        var latch = new CountDownLatch(2);
+        Supplier<String> supplier = () -> {
+            latch.countDown();
+            try {
+                return String.valueOf(latch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "interrupted";
+            }
+        };
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new Entry("first").set(supplier))
+                .entry(new Entry("second").defaultValue(supplier))
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties).containsEntry("first", "true").containsEntry("second", "true");
+    }
+
+    @Test
+    void shouldWarnOnFailedSupplier() {
+        Supplier<String> supplier = () -> {
+            throw new IllegalStateException("unavailable");
+        };
+
+        assertThatCode(() -> new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .failOnWarning(true)
+                .entry(new Entry("failed").set(supplier))
+                .execute()).isInstanceOf(ExitStatusException.class);
+    }
+
+    @Test
+    void shouldTreatNullSupplierAsNullValue() {
+        assertThatCode(() -> new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .failOnWarning(true)
+                .entry(new Entry("missing").set(null).defaultValue(null))
+                .execute()).as("no value").isInstanceOf(ExitStatusException.class);
+        assertThat(TEST_LOG_HANDLER.containsMessage("An entry must be set or have a default value: missing")).isTrue();
+    }
+
     @Test
     void shouldHaveDefaultValue() {
         var op = new PropertyFileOperation()
@@ -193,6 +321,473 @@ class PropertyFileOperationTest {
         assertThat(properties.getProperty(VERSION_MAJOR)).isEqualTo("3");
     }
 
+    @Test
+    void shouldIncrementLongAndDecimal() throws Exception {
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new EntryLong("build.number").defaultValue(4_294_967_295L).pattern("#").calcLong(v -> v + 1))
+                .entry(new EntryDecimal("build.ratio").set(1.0).scale(3))
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties.getProperty("build.number")).isEqualTo("4294967296");
+        assertThat(properties.getProperty("build.ratio")).isEqualTo("1.000");
+    }
+
+    @Test
+    void shouldEvaluateDerivedEntriesLast() throws Exception {
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new EntryDerived("version.tag").expression("v${version.full}"))
+                .entry(new EntryDerived("version.full").expression("${version}+${build}"))
+                .entry(new EntryVersion("version").bump(EntryVersion.Bump.MINOR))
+                .entry(new EntryInt("build").defaultValue(0).calc(ADD))
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties.getProperty("version.full")).isEqualTo("0.1.0+1");
+        assertThat(properties.getProperty("version.tag")).isEqualTo("v0.1.0+1");
+    }
+
+    @Test
+    void shouldWarnOnCircularDerivedEntries() {
+        var op = new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .failOnWarning(true)
+                .entry(new EntryDerived("a").expression("${b}"))
+                .entry(new EntryDerived("b").expression("${a}"));
+
+        assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+    }
+
+    @Test
+    void shouldSortWithinMemoryBudget(@TempDir Path tmpDir) throws Exception {
+        var file = Files.createFile(tmpDir.resolve("large.properties"));
+        var expected = Files.createFile(tmpDir.resolve("expected.properties"));
+        var operation = new PropertyFileOperation().fromProject(new Project()).timestamp(false);
+        for (var i = 0; i < 1_000; i++) {
+            operation.entry(new Entry("key." + i).set(String.valueOf(i)));
+        }
+
+        // when
+        operation.file(file).sortMemory(1024).execute();
+        operation.file(expected).sortMemory(0).execute();
+
+        // then
+        assertThat(Files.readString(file)).isEqualTo(Files.readString(expected)).startsWith("#\nkey.0=0\nkey.1=1\n");
+    }
+
+    @Test
+    void shouldSkipWhenUpToDate(@TempDir File buildDir) throws Exception {
+        var project = new Project() {
+            @Override
+            public File buildDirectory() {
+                return buildDir;
+            }
+        };
+        var op = new PropertyFileOperation()
+                .fromProject(project)
+                .file(tmpFile)
+                .incremental(true)
+                .entry(new Entry(FOO).set("bar"));
+
+        // when
+        op.execute();
+        TEST_LOG_HANDLER.clear();
+        op.execute();
+
+        // then
+        assertThat(TEST_LOG_HANDLER.containsMessage("Properties file is up-to-date")).isTrue();
+        loadProperties();
+        assertThat(properties).containsEntry(FOO, "bar");
+
+        // when
+        Files.writeString(tmpFile.toPath(), FOO + "=baz\n");
+        TEST_LOG_HANDLER.clear();
+        op.execute();
+
+        // then
+        assertThat(TEST_LOG_HANDLER.containsMessage("Properties file is up-to-date")).as("modified").isFalse();
+        loadProperties();
+        assertThat(properties).containsEntry(FOO, "bar");
+    }
+
+    @Test
+    void shouldNotSkipWhenTimestampChanges(@TempDir File buildDir) throws Exception {
+        var project = new Project() {
+            @Override
+            public File buildDirectory() {
+                return buildDir;
+            }
+        };
+        var op = new PropertyFileOperation()
+                .fromProject(project)
+                .file(tmpFile)
+                .incremental(true)
+                .timestamp(false)
+                .entry(new Entry(FOO).set("bar"));
+
+        // when
+        op.execute();
+        TEST_LOG_HANDLER.clear();
+        op.timestamp(Instant.ofEpochSecond(0)).execute();
+
+        // then
+        assertThat(TEST_LOG_HANDLER.containsMessage("Properties file is up-to-date")).as("pinned").isFalse();
+        assertThat(Files.readString(tmpFile.toPath())).contains("1970");
+
+        // when
+        TEST_LOG_HANDLER.clear();
+        op.timestamp(Instant.ofEpochSecond(0)).execute();
+
+        // then
+        assertThat(TEST_LOG_HANDLER.containsMessage("Properties file is up-to-date")).as("same").isTrue();
+
+        // when
+        TEST_LOG_HANDLER.clear();
+        op.timestamp(false).execute();
+
+        // then
+        assertThat(TEST_LOG_HANDLER.containsMessage("Properties file is up-to-date")).as("disabled").isFalse();
+        assertThat(Files.readString(tmpFile.toPath())).isEqualTo("#\n" + FOO + "=bar\n");
+    }
+
+    @Test
+    void shouldUseSnapshot(@TempDir File buildDir) throws Exception {
+        var project = new Project() {
+            @Override
+            public File buildDirectory() {
+                return buildDir;
+            }
+        };
+        var op = new PropertyFileOperation()
+                .fromProject(project)
+                .file(tmpFile)
+                .snapshot(true)
+                .entry(new Entry("count").defaultValue("0").modify("1", (a, b) -> String.valueOf(
+                        Integer.parseInt(a) + Integer.parseInt(b))));
+
+        // when
+        op.execute();
+        op.execute();
+
+        // then
+        assertThat(Arrays.stream(new File(buildDir, "property-file").list())
+                .anyMatch(name -> name.endsWith(".snapshot"))).isTrue();
+        loadProperties();
+        assertThat(properties).containsEntry("count", "2");
+
+        // when
+        Files.writeString(tmpFile.toPath(), "count=10\n");
+        op.execute();
+
+        // then
+        loadProperties();
+        assertThat(properties).as("modified").containsEntry("count", "11");
+    }
+
+    @Test
+    void shouldWriteReproducibleFile() throws Exception {
+        var op = new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .comment("Generated")
+                .timestamp(false)
+                .entry(new Entry("b").set("2"))
+                .entry(new Entry("a").set("1"));
+
+        // when
+        op.execute();
+        var modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(tmpFile.toPath(), modified);
+        op.execute();
+
+        // then
+        assertThat(Files.readString(tmpFile.toPath())).isEqualTo("#Generated\na=1\nb=2\n");
+        assertThat(Files.getLastModifiedTime(tmpFile.toPath())).as("unchanged").isEqualTo(modified);
+
+        // when
+        op.timestamp(Instant.ofEpochSecond(0)).execute();
+
+        // then
+        assertThat(Files.readString(tmpFile.toPath()))
+                .isEqualTo("#Generated\n#Thu Jan 01 00:00:00 UTC 1970\na=1\nb=2\n");
+    }
+
+    @Test
+    void shouldWarnOnMalformedInput() throws Exception {
+        Files.writeString(tmpFile.toPath(), "name=caf\u00e9\n", StandardCharsets.ISO_8859_1);
+
+        assertThatCode(() -> new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .charset(StandardCharsets.UTF_8)
+                .failOnWarning(true)
+                .entry(new Entry("greeting").set("hello"))
+                .execute()).isInstanceOf(ExitStatusException.class);
+        assertThat(Files.readString(tmpFile.toPath(), StandardCharsets.ISO_8859_1)).as("unchanged")
+                .isEqualTo("name=caf\u00e9\n");
+    }
+
+    @Test
+    void shouldWriteUtf8() throws Exception {
+        Files.writeString(tmpFile.toPath(), "legacy=caf\\u00e9\n", StandardCharsets.UTF_8);
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .charset(StandardCharsets.UTF_8)
+                .timestamp(false)
+                .entry(new Entry("greeting").set("\u3053\u3093\u306b\u3061\u306f"))
+                .execute();
+
+        // then
+        assertThat(Files.readString(tmpFile.toPath(), StandardCharsets.UTF_8))
+                .isEqualTo("#\ngreeting=\u3053\u3093\u306b\u3061\u306f\nlegacy=caf\u00e9\n");
+    }
+
+    @Test
+    void shouldEditMatches() throws Exception {
+        Files.writeString(tmpFile.toPath(), "http.timeout=60000\ndb.timeout=1000\nlegacy.a=1\nlegacy.b=2\n");
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new EntryMatch(".*\\.timeout").when(v -> Long.parseLong(v) > 30000).set(30000))
+                .entry(new EntryMatch("legacy\\.[ab]").delete())
+                .entry(new Entry("summary").set("${http.timeout}").interpolate())
+                .entry(new EntryMatch("db\\..*").modify((v, k) -> v + "0"))
+                .entry(new EntryMatch("[").delete())
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties.stringPropertyNames()).containsExactlyInAnyOrder("http.timeout", "db.timeout",
+                "summary");
+        assertThat(properties.getProperty("http.timeout")).isEqualTo("30000");
+        assertThat(properties.getProperty("db.timeout")).isEqualTo("10000");
+        assertThat(properties.getProperty("summary")).isEqualTo("30000");
+        assertThat(TEST_LOG_HANDLER.containsMessage("Matched 2 property(ies): legacy\\.[ab]")).isTrue();
+        assertThat(TEST_LOG_HANDLER.containsMessage("Matched 1 property(ies): db\\..*")).isTrue();
+    }
+
+    @Test
+    void shouldEditPrefixes() throws Exception {
+        Files.writeString(tmpFile.toPath(), "feature.legacy.a=1\nfeature.legacy.b=2\nfeature.beta.c=3\nother=4\n");
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new Entry("feature.legacy.d").set("5"))
+                .entry(new EntryPrefix("feature.legacy.*").copyTo("archive.legacy."))
+                .entry(new EntryPrefix("feature.legacy.").delete())
+                .entry(new EntryPrefix("feature.beta.").renamePrefix("feature."))
+                .entry(new Entry("summary").set("${archive.legacy.d}/${feature.c}").interpolate())
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties.stringPropertyNames()).containsExactlyInAnyOrder("archive.legacy.a",
+                "archive.legacy.b", "archive.legacy.d", "feature.c", "other", "summary");
+        assertThat(properties.getProperty("summary")).isEqualTo("5/3");
+    }
+
+    @Test
+    void shouldEditLayer(@TempDir Path tmpDir) throws Exception {
+        var defaults = Files.writeString(tmpDir.resolve("defaults.properties"), "port=80\nhost=localhost\n");
+        var region = Files.writeString(tmpDir.resolve("region.properties"), "host=eu.example.com\n");
+        // the same as inherited, but must be kept
+        var host = Files.writeString(tmpDir.resolve("host.properties"), "name=web1\nhost=eu.example.com\n");
+        var flat = tmpDir.resolve("effective.properties");
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .layer(defaults)
+                .layer(region.toFile())
+                .file(host)
+                .flatten(flat)
+                .timestamp(false)
+                .entry(new EntryInt("port").pattern("#").calc(v -> v + 8000))
+                .entry(new Entry("host").defaultValue("example.com"))
+                .entry(new Entry("url").set("http://${host}:${port}").interpolate())
+                .execute();
+
+        // then
+        assertThat(Files.readString(host))
+                .isEqualTo("#\nhost=eu.example.com\nname=web1\nport=8080\nurl=http\\://eu.example.com\\:8080\n");
+        assertThat(Files.readString(defaults)).as("defaults").isEqualTo("port=80\nhost=localhost\n");
+        assertThat(Files.readString(region)).as("region").isEqualTo("host=eu.example.com\n");
+        assertThat(Files.readString(flat)).as("flatten")
+                .isEqualTo("#\nhost=eu.example.com\nname=web1\nport=8080\nurl=http\\://eu.example.com\\:8080\n");
+    }
+
+    @Test
+    void shouldDateFlattenedFileLikeFile(@TempDir Path tmpDir) throws Exception {
+        var file = Files.writeString(tmpDir.resolve("app.properties"), "name=app\n");
+        var flat = tmpDir.resolve("flat.properties");
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(file)
+                .flatten(flat)
+                .entry(new Entry("version").set("1.0"))
+                .execute();
+
+        // then
+        assertThat(Files.readString(file)).startsWith("#\n#").contains("version=1.0\n");
+        assertThat(Files.readString(flat)).as("same date").isEqualTo(Files.readString(file));
+    }
+
+    @Test
+    void shouldKeepValuesEqualToLayer(@TempDir Path tmpDir) throws Exception {
+        var defaults = Files.writeString(tmpDir.resolve("defaults.properties"), "timeout=30\n");
+        var host = Files.writeString(tmpDir.resolve("host.properties"), "timeout=30\nname=web1\n");
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .layer(defaults)
+                .file(host)
+                .timestamp(false)
+                .entry(new Entry("name").set("web2"))
+                .execute();
+
+        // then
+        assertThat(Files.readString(host)).isEqualTo("#\nname=web2\ntimeout=30\n");
+    }
+
+    @Test
+    void shouldEditShards(@TempDir Path tmpDir) throws Exception {
+        var file = Files.writeString(tmpDir.resolve("app.properties"), "db.url=jdbc\nui.color=red\nname=app\n");
+        var flat = tmpDir.resolve("flat.properties");
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(file)
+                .shards("db.", "ui.")
+                .timestamp(false)
+                .entry(new Entry("ui.color").set("blue"))
+                .execute();
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(file)
+                .shards("db.", "ui.")
+                .flatten(flat)
+                .timestamp(false)
+                .entry(new Entry("db.url").delete())
+                .execute();
+
+        // then
+        var shards = ShardedProperties.directory(file);
+        assertThat(Files.readString(shards.resolve("shard-0.properties"))).isEqualTo("#\n");
+        assertThat(Files.readString(shards.resolve("shard-1.properties"))).isEqualTo("#\nui.color=blue\n");
+        assertThat(Files.readString(shards.resolve("shard-2.properties"))).isEqualTo("#\nname=app\n");
+        assertThat(Files.readString(flat)).as("flatten").isEqualTo("#\nname=app\nui.color=blue\n");
+        assertThat(Files.readString(file)).as("unchanged").isEqualTo("db.url=jdbc\nui.color=red\nname=app\n");
+    }
+
+    @Test
+    void shouldWarnOnMissingShardedFile(@TempDir Path tmpDir) {
+        var file = tmpDir.resolve("app.properties");
+
+        assertThatCode(() -> new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(file)
+                .shards(2)
+                .failOnWarning(true)
+                .entry(new Entry("name").set("app"))
+                .execute()).isInstanceOf(ExitStatusException.class);
+        assertThat(TEST_LOG_HANDLER.containsMessage("Please specify a valid properties file location.")).isTrue();
+        assertThat(ShardedProperties.directory(file)).doesNotExist();
+    }
+
+    @Test
+    void shouldWarnOnMissingLayer(@TempDir Path tmpDir) throws Exception {
+        var host = Files.writeString(tmpDir.resolve("host.properties"), "name=web1\n");
+
+        assertThatCode(() -> new PropertyFileOperation()
+                .fromProject(new Project())
+                .layer(tmpDir.resolve("missing.properties").toString())
+                .file(host)
+                .failOnWarning(true)
+                .entry(new Entry("name").set("web2"))
+                .execute()).isInstanceOf(ExitStatusException.class);
+        assertThat(Files.readString(host)).isEqualTo("name=web1\n");
+    }
+
+    @Test
+    void shouldUpdateArchiveEntry(@TempDir Path tmpDir) throws Exception {
+        var jar = tmpDir.resolve("test.jar");
+        try (var out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("META-INF/build-info.properties"));
+            out.write("version=1.0\n".getBytes(StandardCharsets.ISO_8859_1));
+            out.putNextEntry(new ZipEntry("Main.class"));
+            out.write(new byte[]{(byte) 0xca, (byte) 0xfe});
+        }
+        var op = new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(jar)
+                .archiveEntry("META-INF/build-info.properties")
+                .timestamp(false)
+                .entry(new EntryInt("build").defaultValue(0).calc(ADD));
+
+        // when
+        op.execute();
+        op.execute();
+
+        // then
+        try (var zip = new ZipFile(jar.toFile())) {
+            try (var in = zip.getInputStream(zip.getEntry("META-INF/build-info.properties"))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.ISO_8859_1))
+                        .isEqualTo("#\nbuild=2\nversion=1.0\n");
+            }
+            try (var in = zip.getInputStream(zip.getEntry("Main.class"))) {
+                assertThat(in.readAllBytes()).isEqualTo(new byte[]{(byte) 0xca, (byte) 0xfe});
+            }
+        }
+    }
+
+    @Test
+    void shouldInitializeAndBumpVersionComponents() throws Exception {
+        // when
+        for (var i = 0; i < 2; i++) {
+            new PropertyFileOperation()
+                    .fromProject(new Project())
+                    .file(tmpFile)
+                    .entry(new EntryVersion("version").components().bump(EntryVersion.Bump.PATCH))
+                    .execute();
+        }
+
+        // then
+        loadProperties();
+        assertThat(properties).containsOnlyKeys(VERSION_MAJOR, VERSION_MINOR, VERSION_PATCH);
+        assertThat(properties.getProperty(VERSION_PATCH)).isEqualTo("2");
+
+        // when
+        new PropertyFileOperation()
+                .fromProject(new Project())
+                .file(tmpFile)
+                .entry(new EntryVersion("version").components().delete())
+                .execute();
+
+        // then
+        loadProperties();
+        assertThat(properties).as("properties should be empty").isEmpty();
+    }
+
     @Test
     void shouldInitializeVersionProperties() throws Exception {
         // when
@@ -538,10 +1133,40 @@ class PropertyFileOperationTest {
             assertThat(op.file()).isEqualTo(FOO_FILE);
         }
 
+        @Test
+        void shouldHandleNullFile() {
+            var op = new PropertyFileOperation().fromProject(new Project()).file((File) null).failOnWarning(true)
+                    .entry(new Entry("foo").set("bar"));
+            assertThat(op.file()).isNull();
+            assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+            assertThat(TEST_LOG_HANDLER.containsMessage("A properties file must be specified.")).isTrue();
+        }
+
         @Test
         void shouldHandlePath() {
             var op = new PropertyFileOperation().file(FOO_FILE.toPath());
             assertThat(op.file()).isEqualTo(FOO_FILE);
+            assertThat(op.path()).isEqualTo(FOO_FILE.toPath());
+        }
+
+        @Test
+        void shouldHandleZipFileSystem(@TempDir Path tmpDir) throws Exception {
+            var zip = tmpDir.resolve("test.zip");
+            try (var fs = FileSystems.newFileSystem(zip, Map.of("create", "true"))) {
+                var file = Files.writeString(Files.createDirectories(fs.getPath("/config")).resolve("test.properties"),
+                        "foo=bar\n");
+                var op = new PropertyFileOperation()
+                        .fromProject(new Project())
+                        .file(file)
+                        .timestamp(false)
+                        .entry(new Entry("version").set("1.0"));
+
+                op.execute();
+                op.execute();
+
+                assertThat(op.path()).isSameAs(file);
+                assertThat(Files.readString(file)).isEqualTo("#\nfoo=bar\nversion=1.0\n");
+            }
         }
 
         @Test
@@ -21,17 +21,33 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import rife.bld.extension.testing.LoggingExtension;
 import rife.bld.extension.testing.TestLogHandler;
 import rife.bld.operations.exceptions.ExitStatusException;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.DeflaterOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -91,6 +107,36 @@ class PropertyFileUtilsTest {
         tempFile.deleteOnExit();
     }
 
+    @Nested
+    @DisplayName("Checksum Operations Tests")
+    class ChecksumOperationsTest {
+
+        @Test
+        void shouldSetChecksum() {
+            var properties = new Properties();
+            var entry = new EntryChecksum("checksum").file("src/main").include("**/*.java");
+
+            PropertyFileUtils.processChecksum(properties, entry);
+            assertThat(properties.getProperty("checksum")).hasSize(64);
+        }
+
+        @Test
+        void shouldThrowExceptionForInvalidAlgorithm() {
+            var entry = new EntryChecksum("checksum").file("src/main").algorithm("FOO");
+
+            assertThatCode(() -> PropertyFileUtils.processChecksum(new Properties(), entry))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Could not compute checksum for \"checksum\"");
+        }
+
+        @Test
+        void shouldThrowExceptionWithoutFiles() {
+            assertThatCode(() -> PropertyFileUtils.processChecksum(new Properties(), new EntryChecksum("checksum")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("No files");
+        }
+    }
+
     @Nested
     @DisplayName("Current Value Tests")
     class CurrentValueTest {
@@ -164,6 +210,85 @@ class PropertyFileUtilsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Git Operations Tests")
+    class GitOperationsTest {
+
+        @TempDir
+        private Path repoDir;
+
+        // Writes a loose commit object, returning its id.
+        private String commit(Path gitDir, String parent) throws Exception {
+            var content = "tree 4b825dc642cb6eb9a060e54bf8d69288fbee4904\n"
+                    + (parent != null ? "parent " + parent + '\n' : "")
+                    + "author Test <test@example.com> 0 +0000\n\nmessage\n";
+            var bytes = content.getBytes(StandardCharsets.UTF_8);
+            var header = ("commit " + bytes.length + '\0').getBytes(StandardCharsets.UTF_8);
+            var md = MessageDigest.getInstance("SHA-1");
+            md.update(header);
+            var id = HexFormat.of().formatHex(md.digest(bytes));
+
+            var out = new ByteArrayOutputStream();
+            try (var deflater = new DeflaterOutputStream(out)) {
+                deflater.write(header);
+                deflater.write(bytes);
+            }
+            var file = gitDir.resolve("objects").resolve(id.substring(0, 2)).resolve(id.substring(2));
+            Files.createDirectories(file.getParent());
+            Files.write(file, out.toByteArray());
+            return id;
+        }
+
+        // HEAD -> main -> c3 -> c2 (tag v1, if tagged) -> c1
+        private String[] repository(boolean tagged) throws Exception {
+            var gitDir = Files.createDirectories(repoDir.resolve(".git"));
+            var c1 = commit(gitDir, null);
+            var c2 = commit(gitDir, c1);
+            var c3 = commit(gitDir, c2);
+            Files.writeString(gitDir.resolve("HEAD"), "ref: refs/heads/main\n");
+            Files.writeString(gitDir.resolve("packed-refs"), "# pack-refs with: peeled fully-peeled sorted\n"
+                    + c3 + " refs/heads/main\n" + (tagged ? c2 + " refs/tags/v1\n" : ""));
+            return new String[]{c1, c2, c3};
+        }
+
+        @Test
+        void shouldSetGitInformation() throws Exception {
+            var commits = repository(true);
+            var properties = new Properties();
+            for (var info : EntryGit.Info.values()) {
+                PropertyFileUtils.processGit(properties, new EntryGit(info.name()).directory(repoDir).info(info));
+            }
+            assertThat(properties).containsEntry("BRANCH", "main")
+                    .containsEntry("COMMIT", commits[2])
+                    .containsEntry("COMMIT_COUNT", "3")
+                    .containsEntry("SHORT_COMMIT", commits[2].substring(0, 7))
+                    .containsEntry("TAG", "v1")
+                    .containsEntry("TAG_DISTANCE", "1");
+        }
+
+        @Test
+        void shouldThrowExceptionWithoutRepository() {
+            var entry = new EntryGit("git").directory(repoDir);
+            assertThatCode(() -> PropertyFileUtils.processGit(new Properties(), entry))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Could not read Git repository for \"git\"");
+        }
+
+        @Test
+        void shouldUseDefaultValueWithoutTag() throws Exception {
+            repository(false);
+            var properties = new Properties();
+            PropertyFileUtils.processGit(properties,
+                    new EntryGit("tag").directory(repoDir).info(EntryGit.Info.TAG).defaultValue("none"));
+            assertThat(properties).containsEntry("tag", "none");
+
+            var entry = new EntryGit("tag").directory(repoDir).info(EntryGit.Info.TAG_DISTANCE);
+            assertThatCode(() -> PropertyFileUtils.processGit(properties, entry))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("No tag found for \"tag\"");
+        }
+    }
+
     @Nested
     @DisplayName("Integer Operations Tests")
     class IntegerOperationsTest {
@@ -208,6 +333,237 @@ class PropertyFileUtilsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Decimal Operations Tests")
+    class DecimalOperationsTest {
+
+        @Test
+        void shouldApplyScaleAndRoundingMode() {
+            var properties = new Properties();
+            var entry = new EntryDecimal("ratio").set(new BigDecimal("2.345")).scale(2)
+                    .roundingMode(RoundingMode.HALF_UP);
+
+            PropertyFileUtils.processDecimal(properties, entry);
+            assertThat(properties.getProperty(entry.key())).as("2.345 -> 2.35").isEqualTo("2.35");
+        }
+
+        @Test
+        void shouldCalcDecimal() {
+            var properties = new Properties();
+            properties.setProperty("price", "19.99");
+            var entry = new EntryDecimal("price").calcDecimal(v -> v.add(new BigDecimal("0.01")));
+
+            PropertyFileUtils.processDecimal(properties, entry);
+            assertThat(properties.getProperty(entry.key())).as("19.99 + 0.01").isEqualTo("20.00");
+        }
+
+        @Test
+        void shouldFormatDecimalWithPattern() {
+            var properties = new Properties();
+            var entry = new EntryDecimal("total").set(new BigDecimal("1234567.5")).pattern("00000000");
+
+            PropertyFileUtils.processDecimal(properties, entry);
+            assertThat(properties.getProperty(entry.key())).as("rounded half even").isEqualTo("01234568");
+        }
+
+        @Test
+        void shouldIgnoreLocaleWithoutPattern() {
+            var locale = Locale.getDefault(Locale.Category.FORMAT);
+            try {
+                Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+                var properties = new Properties();
+                properties.setProperty("ratio", "1.5");
+                var entry = new EntryDecimal("ratio").calcDecimal(v -> v.add(BigDecimal.ONE));
+
+                PropertyFileUtils.processDecimal(properties, entry);
+                assertThat(properties.getProperty(entry.key())).as("1.5 + 1").isEqualTo("2.5");
+            } finally {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+            }
+        }
+
+        @Test
+        void shouldKeepPrecision() {
+            var properties = new Properties();
+            var entry = new EntryDecimal("big").defaultValue("12345678901234567890.123456789").calc(Calc.ADD);
+
+            assertThatCode(() -> PropertyFileUtils.processDecimal(properties, entry))
+                    .as("int calc on non-integral value").isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Non-decimal value");
+
+            entry.calcDecimal(v -> v.add(BigDecimal.ONE));
+            PropertyFileUtils.processDecimal(properties, entry);
+            assertThat(properties.getProperty(entry.key())).as("no truncation")
+                    .isEqualTo("12345678901234567891.123456789");
+        }
+    }
+
+    @Nested
+    @DisplayName("Derived Operations Tests")
+    class DerivedOperationsTest {
+
+        @Test
+        void shouldDeriveValue() {
+            var properties = new Properties();
+            properties.setProperty("version.major", "1");
+            properties.setProperty("version.minor", "2");
+            var entry = new EntryDerived("version").expression("${version.major}.${version.minor}");
+
+            PropertyFileUtils.processDerived(properties, entry);
+            assertThat(properties.getProperty("version")).isEqualTo("1.2");
+        }
+
+        @Test
+        void shouldThrowExceptionForUndefinedReference() {
+            var properties = new Properties();
+            var entry = new EntryDerived("version").expression("${version.major}");
+
+            assertThatCode(() -> PropertyFileUtils.processDerived(properties, entry))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Could not derive \"version\"")
+                    .hasMessageContaining("${version.major}");
+            assertThat(properties).doesNotContainKey("version");
+        }
+    }
+
+    @Nested
+    @DisplayName("Long Operations Tests")
+    class LongOperationsTest {
+
+        @Test
+        void shouldIncrementBeyondIntRange() {
+            var properties = new Properties();
+            properties.setProperty("build.number", String.valueOf(Integer.MAX_VALUE));
+            var entry = new EntryLong("build.number").pattern("#").calcLong(Calc.ADD_LONG);
+
+            PropertyFileUtils.processLong(properties, entry);
+            assertThat(properties.getProperty(entry.key())).as("no overflow").isEqualTo("2147483648");
+        }
+
+        @Test
+        void shouldKeepEpochMillis() {
+            var properties = new Properties();
+            var entry = new EntryLong("build.time").set(1_760_000_000_123L).pattern("#");
+
+            PropertyFileUtils.processLong(properties, entry);
+            assertThat(properties.getProperty(entry.key())).as("epoch millis").isEqualTo("1760000000123");
+        }
+
+        @Test
+        void shouldRejectIntCalcOnLargeValue() {
+            var properties = new Properties();
+            properties.setProperty("big", "9999999999");
+            var entry = new EntryLong("big").pattern("#").calc(Calc.ADD);
+
+            assertThatCode(() -> PropertyFileUtils.processLong(properties, entry))
+                    .as("int calc overflow").isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Non-long value");
+        }
+
+        @Test
+        void shouldUseIntCalc() {
+            var properties = new Properties();
+            var entry = new EntryLong("counter").defaultValue("0041").pattern("0000").calc(Calc.ADD);
+
+            PropertyFileUtils.processLong(properties, entry);
+            assertThat(properties.getProperty(entry.key())).as("41 + 1").isEqualTo("0042");
+        }
+    }
+
+    @Nested
+    @DisplayName("Match Operations Tests")
+    class MatchOperationsTest {
+
+        @Test
+        void shouldApplyMatchesInOnePass() {
+            var p = new Properties();
+            p.setProperty("http.timeout", "60000");
+            p.setProperty("db.timeout", "1000");
+            p.setProperty("db.url", "jdbc:h2:mem");
+            p.setProperty("debug", "true");
+            var modified = new ArrayList<String>();
+
+            var counts = PropertyFileUtils.processMatches(p, List.of(
+                    new EntryMatch(".*\\.timeout").when(v -> Long.parseLong(v) > 30000).set(30000),
+                    new EntryMatch("db\\..*").modify((v, k) -> k + '=' + v),
+                    new EntryMatch("debug").delete()), modified);
+
+            assertThat(counts).isEqualTo(new int[]{1, 2, 1});
+            assertThat(p.getProperty("http.timeout")).isEqualTo("30000");
+            assertThat(p.getProperty("db.timeout")).isEqualTo("db.timeout=1000");
+            assertThat(p.getProperty("db.url")).isEqualTo("db.url=jdbc:h2:mem");
+            assertThat(p.containsKey("debug")).isFalse();
+            assertThat(modified).containsExactlyInAnyOrder("http.timeout", "db.timeout", "db.url", "debug");
+        }
+    }
+
+    @Nested
+    @DisplayName("Prefix Operations Tests")
+    class PrefixOperationsTest {
+
+        private Properties properties() {
+            var p = new Properties();
+            p.setProperty("feature.legacy.a", "1");
+            p.setProperty("feature.legacy.b.c", "2");
+            p.setProperty("feature.legacyX", "3");
+            p.setProperty("feature.new", "4");
+            return p;
+        }
+
+        @Test
+        void shouldCopyPrefix() {
+            var p = properties();
+            var modified = PropertyFileUtils.processPrefix(p,
+                    new EntryPrefix("feature.legacy.").copyTo("feature.old."), new TreeSet<>(p.stringPropertyNames()));
+
+            assertThat(modified).containsExactly("feature.old.a", "feature.old.b.c");
+            assertThat(p.getProperty("feature.legacy.a")).isEqualTo("1");
+            assertThat(p.getProperty("feature.old.a")).isEqualTo("1");
+            assertThat(p.getProperty("feature.old.b.c")).isEqualTo("2");
+            assertThat(p).hasSize(6);
+        }
+
+        @Test
+        void shouldDeletePrefix() {
+            var p = properties();
+            var modified = PropertyFileUtils.processPrefix(p, new EntryPrefix("feature.legacy.*").delete(),
+                    new TreeSet<>(p.stringPropertyNames()));
+
+            assertThat(modified).containsExactly("feature.legacy.a", "feature.legacy.b.c");
+            assertThat(p.stringPropertyNames()).containsExactlyInAnyOrder("feature.legacyX", "feature.new");
+        }
+
+        @Test
+        void shouldRenamePrefix() {
+            var p = properties();
+            PropertyFileUtils.processPrefix(p, new EntryPrefix("feature.legacy.").renamePrefix("feature.legacy.v1."),
+                    new TreeSet<>(p.stringPropertyNames()));
+
+            assertThat(p.stringPropertyNames()).containsExactlyInAnyOrder("feature.legacy.v1.a",
+                    "feature.legacy.v1.b.c", "feature.legacyX", "feature.new");
+            assertThat(p.getProperty("feature.legacy.v1.b.c")).isEqualTo("2");
+        }
+
+        @Test
+        void shouldRenamePrefixWithWildcards() {
+            var p = properties();
+            PropertyFileUtils.processPrefix(p, new EntryPrefix("feature.legacy.*").renamePrefix("feature.old.*"),
+                    new TreeSet<>(p.stringPropertyNames()));
+
+            assertThat(p.stringPropertyNames()).containsExactlyInAnyOrder("feature.old.a", "feature.old.b.c",
+                    "feature.legacyX", "feature.new");
+        }
+
+        @Test
+        void shouldThrowExceptionWithoutOperation() {
+            var p = properties();
+            assertThatCode(() -> PropertyFileUtils.processPrefix(p, new EntryPrefix("feature."),
+                    new TreeSet<>(p.stringPropertyNames())))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("feature.");
+        }
+    }
+
     @Nested
     @DisplayName("Load Properties Error Handling Tests")
     class LoadPropertiesErrorTest {
@@ -288,6 +644,26 @@ class PropertyFileUtilsTest {
     @DisplayName("Process Date Additional Tests")
     class ProcessDateAdditionalTest {
 
+        @Test
+        void shouldFormatWithoutOffsetLikeZonedDateTime() {
+            var pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS";
+            var formatter = DateTimeFormatter.ofPattern(pattern);
+            var instant = Instant.parse("2025-01-15T10:30:45.123Z");
+            var zoned = instant.atZone(ZoneId.systemDefault());
+            var calendar = Calendar.getInstance();
+            calendar.setTime(Date.from(instant));
+            var values = List.of(instant, Date.from(instant), calendar, zoned.toLocalDateTime());
+
+            var properties = new Properties();
+            for (var value : values) {
+                var entryDate = new EntryDate("testDate").pattern(pattern);
+                entryDate.newValue(value);
+                PropertyFileUtils.processDate(properties, entryDate);
+                assertThat(properties.getProperty(entryDate.key())).as(value.getClass().getSimpleName())
+                        .isEqualTo(formatter.format(zoned));
+            }
+        }
+
         @Test
         void shouldHandleCalendarType() {
             var properties = new Properties();
@@ -807,6 +1183,88 @@ class PropertyFileUtilsTest {
             PropertyFileUtils.processString(PROPERTIES, entry);
             assertThat(PROPERTIES.getProperty(entry.key())).as("replace(t, T)").isEqualTo("TesT");
         }
+
+        @Test
+        void shouldInterpolateReferences() {
+            var properties = new Properties();
+            properties.setProperty("host", "localhost");
+            properties.setProperty("port", "8080");
+            properties.setProperty("base", "${host}:${port}");
+            var entry = new Entry("app.url").set("http://${base}/app").interpolate();
+
+            PropertyFileUtils.processString(properties, entry);
+            assertThat(properties.getProperty("app.url")).isEqualTo("http://localhost:8080/app");
+        }
+
+        @Test
+        void shouldNotInterpolateByDefault() {
+            var properties = new Properties();
+            PropertyFileUtils.processString(properties, new Entry("app.url").set("${host}"));
+            assertThat(properties.getProperty("app.url")).isEqualTo("${host}");
+        }
+
+        @Test
+        void shouldThrowExceptionForUnresolvedReference() {
+            var properties = new Properties();
+            var entry = new Entry("app.url").set("${app.host.undefined}").interpolate();
+
+            assertThatCode(() -> PropertyFileUtils.processString(properties, entry))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Could not interpolate \"app.url\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("Version Operations Tests")
+    class VersionOperationsTest {
+
+        @Test
+        void shouldBumpComponents() {
+            var properties = new Properties();
+            properties.setProperty("version.major", "1");
+            properties.setProperty("version.minor", "2");
+            properties.setProperty("version.patch", "3");
+            properties.setProperty("version.prerelease", "beta.1");
+            var entry = new EntryVersion("version").components().bump(EntryVersion.Bump.MINOR);
+
+            PropertyFileUtils.processVersion(properties, entry);
+            assertThat(properties).as("1.3.0").containsEntry("version.major", "1")
+                    .containsEntry("version.minor", "3").containsEntry("version.patch", "0")
+                    .doesNotContainKey("version.prerelease").doesNotContainKey("version.build");
+        }
+
+        @Test
+        void shouldBumpSingleKey() {
+            var properties = new Properties();
+            properties.setProperty("version", "1.2.3-beta.1");
+            var entry = new EntryVersion("version").bump(EntryVersion.Bump.PRERELEASE);
+
+            PropertyFileUtils.processVersion(properties, entry);
+            assertThat(properties.getProperty("version")).isEqualTo("1.2.3-beta.2");
+        }
+
+        @Test
+        void shouldStartFromDefaultValue() {
+            var properties = new Properties();
+            var entry = new EntryVersion("version").defaultValue("0.9.0").bump(EntryVersion.Bump.MINOR);
+
+            PropertyFileUtils.processVersion(properties, entry);
+            assertThat(properties.getProperty("version")).isEqualTo("0.10.0");
+
+            PropertyFileUtils.processVersion(properties, new EntryVersion("other").bump(EntryVersion.Bump.PATCH));
+            assertThat(properties.getProperty("other")).isEqualTo("0.0.1");
+        }
+
+        @Test
+        void shouldThrowExceptionForInvalidVersion() {
+            var properties = new Properties();
+            properties.setProperty("version", "1.x");
+            var entry = new EntryVersion("version").bump(EntryVersion.Bump.MAJOR);
+
+            assertThatCode(() -> PropertyFileUtils.processVersion(properties, entry))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Invalid version for \"version\"");
+        }
     }
 
     @Nested
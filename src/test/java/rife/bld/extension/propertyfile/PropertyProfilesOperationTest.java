@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import rife.bld.Project;
+import rife.bld.extension.testing.LoggingExtension;
+import rife.bld.extension.testing.TestLogHandler;
+import rife.bld.operations.exceptions.ExitStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@ExtendWith(LoggingExtension.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class PropertyProfilesOperationTest {
+
+    @SuppressWarnings("LoggerInitializedWithForeignClass")
+    private static final Logger LOGGER = Logger.getLogger(PropertyProfilesOperation.class.getName());
+    private static final TestLogHandler TEST_LOG_HANDLER = new TestLogHandler();
+
+    @RegisterExtension
+    @SuppressWarnings("unused")
+    private static final LoggingExtension LOGGING_EXTENSION = new LoggingExtension(
+            LOGGER,
+            TEST_LOG_HANDLER,
+            Level.ALL
+    );
+
+    @TempDir
+    private Path tmpDir;
+
+    private static Properties load(Path file) throws IOException {
+        var p = new Properties();
+        try (var in = Files.newInputStream(file)) {
+            p.load(in);
+        }
+        return p;
+    }
+
+    @Test
+    void shouldGenerateProfiles() throws Exception {
+        var base = tmpDir.resolve("app.properties");
+        Files.writeString(base, "db.url=jdbc:h2:mem\nlog.level=INFO\npool.size=10\n");
+
+        // when
+        new PropertyProfilesOperation()
+                .fromProject(new Project())
+                .base(base)
+                .profile(new PropertyFileOperation()
+                        .file(tmpDir.resolve("app-dev.properties"))
+                        .entry(new Entry("log.level").set("DEBUG"))
+                        .entry(new EntryInt("pool.size").calc(v -> v / 2)))
+                .profile(new PropertyFileOperation()
+                        .file(tmpDir.resolve("app-prod.properties").toString())
+                        .entry(new Entry("db.url").set("jdbc:postgresql://db/app"))
+                        .entry(new Entry("log.level").delete()))
+                .execute();
+
+        // then
+        var dev = load(tmpDir.resolve("app-dev.properties"));
+        assertThat(dev.getProperty("db.url")).isEqualTo("jdbc:h2:mem");
+        assertThat(dev.getProperty("log.level")).isEqualTo("DEBUG");
+        assertThat(dev.getProperty("pool.size")).isEqualTo("5");
+
+        var prod = load(tmpDir.resolve("app-prod.properties"));
+        assertThat(prod.getProperty("db.url")).isEqualTo("jdbc:postgresql://db/app");
+        assertThat(prod.containsKey("log.level")).isFalse();
+        assertThat(prod.getProperty("pool.size")).isEqualTo("10");
+
+        assertThat(Files.readString(base)).as("base")
+                .isEqualTo("db.url=jdbc:h2:mem\nlog.level=INFO\npool.size=10\n");
+        assertThat(TEST_LOG_HANDLER.containsMessage("Generated 2 profile(s) from: " + base)).isTrue();
+    }
+
+    @Test
+    void shouldWarnOnMissingBase() {
+        assertThatCode(() -> new PropertyProfilesOperation()
+                .fromProject(new Project())
+                .base(tmpDir.resolve("missing.properties").toFile())
+                .profile(new PropertyFileOperation().file(tmpDir.resolve("app-dev.properties")))
+                .failOnWarning(true)
+                .execute()).isInstanceOf(ExitStatusException.class);
+        assertThat(Files.exists(tmpDir.resolve("app-dev.properties"))).isFalse();
+    }
+
+    @Test
+    void shouldWarnOnMissingProfileFile() throws IOException {
+        var base = Files.writeString(tmpDir.resolve("app.properties"), "a=1\n");
+
+        assertThatCode(() -> new PropertyProfilesOperation()
+                .fromProject(new Project())
+                .base(base)
+                .profile(new PropertyFileOperation().entry(new Entry("a").set("2")))
+                .failOnWarning(true)
+                .execute()).isInstanceOf(ExitStatusException.class);
+        assertThat(TEST_LOG_HANDLER.containsMessage("A profile properties file must be specified.")).isTrue();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import rife.bld.Project;
+import rife.bld.extension.testing.LoggingExtension;
+import rife.bld.extension.testing.TestLogHandler;
+import rife.bld.operations.exceptions.ExitStatusException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@ExtendWith(LoggingExtension.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ResourceBundleOperationTest {
+
+    @SuppressWarnings("LoggerInitializedWithForeignClass")
+    private static final Logger LOGGER = Logger.getLogger(ResourceBundleOperation.class.getName());
+    private static final TestLogHandler TEST_LOG_HANDLER = new TestLogHandler();
+
+    @RegisterExtension
+    @SuppressWarnings("unused")
+    private static final LoggingExtension LOGGING_EXTENSION = new LoggingExtension(
+            LOGGER,
+            TEST_LOG_HANDLER,
+            Level.ALL
+    );
+
+    @TempDir
+    private Path tmpDir;
+
+    @Test
+    void shouldEditEveryLocale() throws Exception {
+        var bundle = Files.writeString(tmpDir.resolve("messages.properties"), "hello=Hello\nold=Old\nbye=Bye\n");
+        Files.writeString(tmpDir.resolve("messages_fr.properties"), "hello=Bonjour\nold=Vieux\n");
+        Files.writeString(tmpDir.resolve("messages_pt_BR.properties"), "hello=Ol\\u00e1\nbye=Tchau\nextra=Mais\n");
+        Files.writeString(tmpDir.resolve("messages_admin.properties"), "old=Old\n");
+        Files.writeString(tmpDir.resolve("other_fr.properties"), "old=Vieux\n");
+
+        var op = new ResourceBundleOperation()
+                .fromProject(new Project())
+                .bundle(bundle)
+                .timestamp(false)
+                .entry(new Entry("old").delete())
+                .entry(new Entry("title").defaultValue("Title"));
+
+        // when
+        op.execute();
+
+        // then
+        assertThat(Files.readString(bundle)).isEqualTo("#\nbye=Bye\nhello=Hello\ntitle=Title\n");
+        assertThat(Files.readString(tmpDir.resolve("messages_fr.properties")))
+                .isEqualTo("#\nhello=Bonjour\ntitle=Title\n");
+        assertThat(Files.readString(tmpDir.resolve("messages_pt_BR.properties")))
+                .isEqualTo("#\nbye=Tchau\nextra=Mais\nhello=Ol\\u00E1\ntitle=Title\n");
+        assertThat(Files.readString(tmpDir.resolve("messages_admin.properties"))).as("not a locale")
+                .isEqualTo("old=Old\n");
+        assertThat(Files.readString(tmpDir.resolve("other_fr.properties"))).as("other bundle")
+                .isEqualTo("old=Vieux\n");
+
+        assertThat(op.missingKeys()).isEqualTo(Map.of("fr", Set.of("bye")));
+        assertThat(op.extraKeys()).isEqualTo(Map.of("pt_BR", Set.of("extra")));
+        assertThat(TEST_LOG_HANDLER.containsMessage("Locale fr is missing 1 key(s): bye")).isTrue();
+        assertThat(TEST_LOG_HANDLER.containsMessage("Locale pt_BR has extra 1 key(s): extra")).isTrue();
+        assertThat(TEST_LOG_HANDLER.containsMessage("Updated 2 locale(s) of: " + bundle)).isTrue();
+    }
+
+    @Test
+    void shouldWarnOnMissingBundle() {
+        assertThatCode(() -> new ResourceBundleOperation()
+                .fromProject(new Project())
+                .bundle(tmpDir.resolve("messages.properties").toString())
+                .failOnWarning(true)
+                .execute()).isInstanceOf(ExitStatusException.class);
+        assertThat(TEST_LOG_HANDLER.containsMessage("Please specify a valid bundle file location.")).isTrue();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import rife.bld.Project;
+import rife.bld.extension.testing.LoggingExtension;
+import rife.bld.extension.testing.TestLogHandler;
+import rife.bld.operations.exceptions.ExitStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@ExtendWith(LoggingExtension.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ResourceFilterOperationTest {
+
+    @SuppressWarnings("LoggerInitializedWithForeignClass")
+    private static final Logger LOGGER = Logger.getLogger(ResourceFilterOperation.class.getName());
+    private static final TestLogHandler TEST_LOG_HANDLER = new TestLogHandler();
+
+    @RegisterExtension
+    @SuppressWarnings("unused")
+    private static final LoggingExtension LOGGING_EXTENSION = new LoggingExtension(
+            LOGGER,
+            TEST_LOG_HANDLER,
+            Level.ALL
+    );
+
+    @TempDir
+    private Path tmpDir;
+
+    private Path createResources() throws IOException {
+        Files.writeString(tmpDir.resolve("build.properties"), "version=1.0\nbuild.date=2025-01-01\n");
+        var src = Files.createDirectories(tmpDir.resolve("src/nested"));
+        Files.writeString(src.resolve("about.html"), "<p>v@version@ (${build.date}) \u00e9</p>",
+                StandardCharsets.UTF_8);
+        Files.writeString(src.getParent().resolve("app.txt"), "version=${version}\n");
+        Files.writeString(src.getParent().resolve("plain.txt"), "nothing to see\n");
+        return src.getParent();
+    }
+
+    @Test
+    void shouldCopyUndecodableFile() throws Exception {
+        var src = createResources();
+        var binary = new byte[]{(byte) 0xff, (byte) 0xfe, '@', 'v', 'e', 'r', 's', 'i', 'o', 'n', '@'};
+        Files.write(src.resolve("image.png"), binary);
+        var dest = tmpDir.resolve("build/resources");
+
+        // when
+        new ResourceFilterOperation()
+                .fromProject(new Project())
+                .properties(tmpDir.resolve("build.properties"))
+                .source(src)
+                .destination(dest)
+                .execute();
+
+        // then
+        assertThat(Files.readAllBytes(dest.resolve("image.png"))).isEqualTo(binary);
+        assertThat(Files.readString(dest.resolve("app.txt"))).isEqualTo("version=1.0\n");
+        assertThat(TEST_LOG_HANDLER.containsMessage("Filtered 4 file(s), 4 written.")).isTrue();
+    }
+
+    @Test
+    void shouldFilterInPlace() throws Exception {
+        var src = createResources();
+        Files.setLastModifiedTime(src.resolve("plain.txt"), FileTime.fromMillis(0));
+
+        // when
+        new ResourceFilterOperation()
+                .fromProject(new Project())
+                .properties(tmpDir.resolve("build.properties"))
+                .source(src)
+                .execute();
+
+        // then
+        assertThat(Files.readString(src.resolve("nested/about.html"), StandardCharsets.UTF_8))
+                .isEqualTo("<p>v1.0 (2025-01-01) \u00e9</p>");
+        assertThat(Files.readString(src.resolve("app.txt"))).isEqualTo("version=1.0\n");
+        assertThat(Files.getLastModifiedTime(src.resolve("plain.txt"))).as("unchanged")
+                .isEqualTo(FileTime.fromMillis(0));
+        assertThat(TEST_LOG_HANDLER.containsMessage("Filtered 3 file(s), 2 written.")).isTrue();
+    }
+
+    @Test
+    void shouldFilterToDestination() throws Exception {
+        var src = createResources();
+        var dest = tmpDir.resolve("build/resources");
+        var op = new ResourceFilterOperation()
+                .fromProject(new Project())
+                .properties(tmpDir.resolve("build.properties").toFile())
+                .source(src.toString())
+                .destination(dest)
+                .delimiters("${", "}")
+                .include("**/*.html", "*.txt");
+
+        // when
+        op.execute();
+
+        // then
+        assertThat(Files.readString(dest.resolve("nested/about.html"), StandardCharsets.UTF_8))
+                .isEqualTo("<p>v@version@ (2025-01-01) \u00e9</p>");
+        assertThat(Files.readString(dest.resolve("app.txt"))).isEqualTo("version=1.0\n");
+        assertThat(Files.readString(dest.resolve("plain.txt"))).isEqualTo("nothing to see\n");
+        assertThat(Files.readString(src.resolve("app.txt"))).as("source").isEqualTo("version=${version}\n");
+
+        // when
+        TEST_LOG_HANDLER.clear();
+        op.execute();
+
+        // then
+        assertThat(TEST_LOG_HANDLER.containsMessage("Filtered 3 file(s), 0 written.")).isTrue();
+    }
+
+    @Test
+    void shouldIncludeMatchingFiles() throws Exception {
+        var src = createResources();
+
+        // when
+        new ResourceFilterOperation()
+                .fromProject(new Project())
+                .properties(tmpDir.resolve("build.properties"))
+                .source(src)
+                .include("*.txt")
+                .execute();
+
+        // then
+        assertThat(Files.readString(src.resolve("app.txt"))).isEqualTo("version=1.0\n");
+        assertThat(Files.readString(src.resolve("nested/about.html"), StandardCharsets.UTF_8))
+                .isEqualTo("<p>v@version@ (${build.date}) \u00e9</p>");
+    }
+
+    @Test
+    void shouldIncludeTopLevelFilesWithAnyDirectory() throws Exception {
+        var src = createResources();
+        Files.writeString(src.resolve("index.html"), "@version@");
+
+        // when
+        new ResourceFilterOperation()
+                .fromProject(new Project())
+                .properties(tmpDir.resolve("build.properties"))
+                .source(src)
+                .include("**/*.html")
+                .execute();
+
+        // then
+        assertThat(Files.readString(src.resolve("index.html"))).isEqualTo("1.0");
+        assertThat(Files.readString(src.resolve("nested/about.html"), StandardCharsets.UTF_8))
+                .isEqualTo("<p>v1.0 (2025-01-01) \u00e9</p>");
+        assertThat(Files.readString(src.resolve("app.txt"))).isEqualTo("version=${version}\n");
+    }
+
+    @Test
+    void shouldReadPropertiesCharset() throws Exception {
+        var src = createResources();
+        Files.writeString(tmpDir.resolve("build.properties"), "version=1.0 \u00e9\n", StandardCharsets.UTF_8);
+
+        // when
+        new ResourceFilterOperation()
+                .fromProject(new Project())
+                .properties(tmpDir.resolve("build.properties"))
+                .propertiesCharset(StandardCharsets.UTF_8)
+                .source(src)
+                .include("app.txt")
+                .execute();
+
+        // then
+        assertThat(Files.readString(src.resolve("app.txt"), StandardCharsets.UTF_8)).isEqualTo("version=1.0 \u00e9\n");
+    }
+
+    @Test
+    void shouldWarnOnMissingSource() {
+        assertThatCode(() -> new ResourceFilterOperation()
+                .fromProject(new Project())
+                .properties(tmpDir.resolve("build.properties"))
+                .source(tmpDir.resolve("missing"))
+                .failOnWarning(true)
+                .execute()).isInstanceOf(ExitStatusException.class);
+        assertThat(TEST_LOG_HANDLER.containsMessage("Please specify a valid source directory.")).isTrue();
+    }
+}
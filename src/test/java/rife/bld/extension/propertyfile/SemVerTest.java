@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static rife.bld.extension.propertyfile.EntryVersion.Bump.*;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class SemVerTest {
+
+    private static String next(String version, EntryVersion.Bump bump, String label, String meta) {
+        return SemVer.parse(version).next(bump, label, meta).toString();
+    }
+
+    @Test
+    void shouldBumpAndResetLowerComponents() {
+        assertThat(next("1.2.3-beta.1+build.5", MAJOR, null, null)).isEqualTo("2.0.0");
+        assertThat(next("1.2.3", MINOR, null, null)).isEqualTo("1.3.0");
+        assertThat(next("1.2.3", PATCH, null, null)).isEqualTo("1.2.4");
+        assertThat(next("1.2.3", MINOR, "rc", "42")).isEqualTo("1.3.0-rc+42");
+    }
+
+    @Test
+    void shouldBumpBuild() {
+        assertThat(next("1.2.3", BUILD, null, null)).isEqualTo("1.2.3+1");
+        assertThat(next("1.2.3-beta+build.9", BUILD, null, null)).isEqualTo("1.2.3-beta+build.10");
+        assertThat(next("1.2.3+sha", BUILD, null, "abc123")).isEqualTo("1.2.3+abc123");
+    }
+
+    @Test
+    void shouldBumpPrerelease() {
+        assertThat(next("1.2.3", PRERELEASE, null, null)).isEqualTo("1.2.4-1");
+        assertThat(next("1.2.3", PRERELEASE, "beta", null)).isEqualTo("1.2.4-beta.1");
+        assertThat(next("1.2.4-beta.1", PRERELEASE, "beta", null)).isEqualTo("1.2.4-beta.2");
+        assertThat(next("1.2.4-beta", PRERELEASE, null, null)).isEqualTo("1.2.4-beta.1");
+        assertThat(next("1.2.4-beta.2", PRERELEASE, "rc", null)).isEqualTo("1.2.4-rc.1");
+    }
+
+    @Test
+    void shouldKeepVersionWithoutBump() {
+        assertThat(next("1.2.3-beta+5", null, null, null)).isEqualTo("1.2.3-beta+5");
+        assertThat(next("1.2.3", null, "alpha", null)).isEqualTo("1.2.3-alpha");
+    }
+
+    @Test
+    void shouldParseVersion() {
+        var version = SemVer.parse("10.20.30-rc.1+build-7.sha");
+        assertThat(version.major()).isEqualTo(10L);
+        assertThat(version.minor()).isEqualTo(20L);
+        assertThat(version.patch()).isEqualTo(30L);
+        assertThat(version.prerelease()).isEqualTo("rc.1");
+        assertThat(version.build()).isEqualTo("build-7.sha");
+        assertThat(SemVer.parse("1.0.0+exp-1").prerelease()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectInvalidVersions() {
+        for (var version : List.of("", "1", "1.2", "1.2.x", "01.2.3", "1.2.3-", "1.2.3+", "1.2.3-a..b", "1.2.3_4")) {
+            assertThatCode(() -> SemVer.parse(version)).as(version).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ShardedPropertiesTest {
+
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+    @TempDir
+    private Path tmpDir;
+
+    private static Properties load(Path file) throws Exception {
+        var properties = new Properties();
+        try (var in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static void set(ShardedProperties sharded, String key, String value) throws Exception {
+        var changes = new LayeredProperties(sharded.load(CHARSET));
+        changes.setProperty(key, value);
+        sharded.save(changes, "", null, CHARSET, 0);
+    }
+
+    @Test
+    void shouldExist() throws Exception {
+        var file = tmpDir.resolve("app.properties");
+        var sharded = new ShardedProperties(file, 2, List.of());
+        assertThat(sharded.exists()).as("missing").isFalse();
+
+        set(sharded, "a", "1");
+        assertThat(sharded.exists()).as("sharded").isTrue();
+        assertThat(new ShardedProperties(Files.writeString(tmpDir.resolve("other.properties"), "a=1\n"), 2,
+                List.of()).exists()).as("file").isTrue();
+    }
+
+    @Test
+    void shouldKeepConcurrentEdits() throws Exception {
+        var file = tmpDir.resolve("app.properties");
+        var first = new ShardedProperties(file, 1, List.of());
+        first.save(new LayeredProperties(first.load(CHARSET)), "", null, CHARSET, 0);
+
+        // both are loaded before either is saved
+        var a = new ShardedProperties(file, 1, List.of());
+        var b = new ShardedProperties(file, 1, List.of());
+        var changesA = new LayeredProperties(a.load(CHARSET));
+        var changesB = new LayeredProperties(b.load(CHARSET));
+        changesA.setProperty("a", "1");
+        changesB.setProperty("b", "2");
+        a.save(changesA, "", null, CHARSET, 0);
+        b.save(changesB, "", null, CHARSET, 0);
+
+        assertThat(load(a.shardFile(0))).containsEntry("a", "1").containsEntry("b", "2");
+    }
+
+    @Test
+    void shouldMigrateFile() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("app.properties"), "db.url=jdbc\nui.color=red\nname=app\n");
+        var sharded = new ShardedProperties(file, 3, List.of("db.", "ui."));
+
+        var changes = new LayeredProperties(sharded.load(CHARSET));
+        changes.remove("ui.color");
+        assertThat(sharded.save(changes, "", null, CHARSET, 0)).as("written").isEqualTo(3);
+
+        var directory = ShardedProperties.directory(file);
+        assertThat(load(directory.resolve(ShardedProperties.MANIFEST))).containsEntry("partition", "prefix")
+                .containsEntry("shards", "3").containsEntry("prefix.0", "db.").containsEntry("prefix.1", "ui.");
+        assertThat(load(sharded.shardFile(0))).containsOnlyKeys("db.url");
+        assertThat(load(sharded.shardFile(1))).isEmpty();
+        assertThat(load(sharded.shardFile(2))).containsOnlyKeys("name");
+    }
+
+    @Test
+    void shouldPartitionByHash() {
+        var sharded = new ShardedProperties(tmpDir.resolve("app.properties"), 4, List.of());
+        for (var key : List.of("a", "version.major", "\u00e9t\u00e9", "")) {
+            assertThat(sharded.shard(key)).as(key).isEqualTo(Math.floorMod(key.hashCode(), 4));
+        }
+    }
+
+    @Test
+    void shouldPartitionByPrefix() {
+        var sharded = new ShardedProperties(tmpDir.resolve("app.properties"), 0, List.of("db.", "d"));
+        assertThat(sharded.shard("db.url")).isZero();
+        assertThat(sharded.shard("debug")).isEqualTo(1);
+        assertThat(sharded.shard("name")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectInvalidManifest() throws Exception {
+        var file = tmpDir.resolve("app.properties");
+        var directory = Files.createDirectories(ShardedProperties.directory(file));
+        Files.writeString(directory.resolve(ShardedProperties.MANIFEST), "partition=hash\nshards=x\n");
+
+        assertThatCode(() -> new ShardedProperties(file, 2, List.of()).load(CHARSET))
+                .isInstanceOf(IOException.class).hasMessageContaining("Invalid shard manifest");
+    }
+
+    @Test
+    void shouldRewriteOnlyTouchedShards() throws Exception {
+        var file = tmpDir.resolve("app.properties");
+        var sharded = new ShardedProperties(file, 2, List.of("a"));
+        set(sharded, "a1", "1");
+        set(sharded, "b1", "1");
+        var other = sharded.shardFile(1);
+        var modified = Files.getLastModifiedTime(other);
+        Files.writeString(other, "b1=untouched\n");
+        Files.setLastModifiedTime(other, modified);
+
+        var reloaded = new ShardedProperties(file, 2, List.of("a"));
+        var changes = new LayeredProperties(reloaded.load(CHARSET));
+        changes.setProperty("a2", "2");
+        changes.setProperty("b1", "untouched");
+        assertThat(reloaded.save(changes, "", null, CHARSET, 0)).as("written").isEqualTo(1);
+
+        assertThat(load(reloaded.shardFile(0))).containsEntry("a1", "1").containsEntry("a2", "2");
+        assertThat(Files.readString(other)).isEqualTo("b1=untouched\n");
+    }
+
+    @Test
+    void shouldRepartition() throws Exception {
+        var file = tmpDir.resolve("app.properties");
+        var sharded = new ShardedProperties(file, 4, List.of());
+        for (var i = 0; i < 20; i++) {
+            set(sharded, "key" + i, String.valueOf(i));
+        }
+
+        var repartitioned = new ShardedProperties(file, 2, List.of());
+        var changes = new LayeredProperties(repartitioned.load(CHARSET));
+        assertThat(changes).hasSize(20);
+        repartitioned.save(changes, "", null, CHARSET, 0);
+
+        assertThat(load(repartitioned.shardFile(0)).size() + load(repartitioned.shardFile(1)).size()).isEqualTo(20);
+        assertThat(sharded.shardFile(2)).doesNotExist();
+        assertThat(sharded.shardFile(3)).doesNotExist();
+        assertThat(ShardedProperties.directory(file).resolve("shard-3.lock")).doesNotExist();
+        assertThat(new ShardedProperties(file, 2, List.of()).load(CHARSET)).hasSize(20);
+    }
+}
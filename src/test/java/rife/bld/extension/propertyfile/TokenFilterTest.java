@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class TokenFilterTest {
+
+    // Leftmost-longest, one token at a time.
+    private static String naive(Map<String, String> replacements, String text) {
+        var sb = new StringBuilder();
+        var pos = 0;
+        while (pos < text.length()) {
+            String longest = null;
+            for (var token : replacements.keySet()) {
+                if (!token.isEmpty() && text.startsWith(token, pos)
+                        && (longest == null || token.length() > longest.length())) {
+                    longest = token;
+                }
+            }
+            if (longest == null) {
+                sb.append(text.charAt(pos++));
+            } else {
+                sb.append(replacements.get(longest));
+                pos += longest.length();
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void shouldFilterLikeNaiveReplacement() {
+        var random = new Random(42);
+        for (var round = 0; round < 200; round++) {
+            var replacements = new HashMap<String, String>();
+            for (var i = 0; i < 1 + random.nextInt(8); i++) {
+                var token = new StringBuilder();
+                for (var j = 0; j < 1 + random.nextInt(4); j++) {
+                    token.append((char) ('a' + random.nextInt(3)));
+                }
+                replacements.put(token.toString(), "<" + i + ">");
+            }
+            var text = new StringBuilder();
+            for (var j = 0; j < random.nextInt(60); j++) {
+                text.append((char) ('a' + random.nextInt(4)));
+            }
+            assertThat(new TokenFilter(replacements).filter(text.toString())).as("%s in %s", replacements, text)
+                    .isEqualTo(naive(replacements, text.toString()));
+        }
+    }
+
+    @Test
+    void shouldPreferLeftmostLongest() {
+        var filter = new TokenFilter(Map.of("@a@", "1", "a@b", "2", "@a@b@", "3"));
+        assertThat(filter.filter("x@a@b@y")).isEqualTo("x3y");
+        assertThat(filter.filter("x@a@by")).isEqualTo("x1by");
+        assertThat(filter.filter("xa@b@a@")).isEqualTo("x21");
+    }
+
+    @Test
+    void shouldReplaceTokens() {
+        var filter = new TokenFilter(Map.of("@version@", "1.0", "${version}", "1.0", "${build.date}", "2025-01-01",
+                "@name@", "caf\u00e9"));
+        assertThat(filter.filter("v@version@ ${version} built ${build.date} by @name@ @missing@ ${version"))
+                .isEqualTo("v1.0 1.0 built 2025-01-01 by caf\u00e9 @missing@ ${version");
+    }
+
+    @Test
+    void shouldReturnSameTextWithoutTokens() {
+        var text = "nothing to replace @here@";
+        assertThat(new TokenFilter(Map.of("@version@", "1.0")).filter(text)).isSameAs(text);
+        assertThat(new TokenFilter(Map.of()).filter(text)).isSameAs(text);
+        assertThat(new TokenFilter(Map.of("", "x")).filter(text)).isSameAs(text);
+    }
+
+    @Test
+    void shouldScaleWithManyTokens() {
+        var replacements = new HashMap<String, String>();
+        for (var i = 0; i < 10_000; i++) {
+            replacements.put("@key" + i + "@", "value" + i);
+        }
+        var filter = new TokenFilter(replacements);
+        var sb = new StringBuilder();
+        for (var i = 0; i < 10_000; i += 7) {
+            sb.append("@key").append(i).append("@ ");
+        }
+        var expected = new StringBuilder();
+        for (var i = 0; i < 10_000; i += 7) {
+            expected.append("value").append(i).append(' ');
+        }
+        assertThat(filter.filter(sb.toString())).isEqualTo(expected.toString());
+        assertThat(List.of(filter.filter("@key9999@@key0@"))).containsExactly("value9999value0");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class UpToDateCheckTest {
+
+    @TempDir
+    private Path tmpDir;
+
+    private static String plan(EntryBase<?>... entries) {
+        return UpToDateCheck.plan(List.of(entries), "", false, StandardCharsets.ISO_8859_1, null);
+    }
+
+    @Test
+    void shouldDetectChangedFile() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.properties"), "foo=bar\n");
+        var check = new UpToDateCheck(UpToDateCheck.stateFile(tmpDir.resolve("state"), file), "plan");
+        assertThat(check.isUpToDate(file)).as("no state").isFalse();
+
+        check.save(file);
+        assertThat(check.isUpToDate(file)).isTrue();
+        assertThat(new UpToDateCheck(UpToDateCheck.stateFile(tmpDir.resolve("state"), file), "other")
+                .isUpToDate(file)).as("other plan").isFalse();
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        assertThat(check.isUpToDate(file)).as("touched").isTrue();
+
+        Files.writeString(file, "foo=baz\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        assertThat(check.isUpToDate(file)).as("modified").isFalse();
+
+        Files.delete(file);
+        assertThat(check.isUpToDate(file)).as("deleted").isFalse();
+    }
+
+    @Test
+    void shouldFingerprintDeterministicEntries() {
+        var plan = plan(new Entry("a").set("1"), new EntryInt("b").set(2).pattern("00"),
+                new EntryDate("c").set(LocalDate.of(2025, 1, 1)), new EntryVersion("d").set("1.0.0"),
+                new EntryDerived("e").expression("${a}"), new Entry("f").set(() -> "x").delete());
+        assertThat(plan).isNotNull().isEqualTo(plan(new Entry("a").set("1"), new EntryInt("b").set(2).pattern("00"),
+                new EntryDate("c").set(LocalDate.of(2025, 1, 1)), new EntryVersion("d").set("1.0.0"),
+                new EntryDerived("e").expression("${a}"), new Entry("f").set(() -> "y").delete()));
+        assertThat(plan(new Entry("a").set("2"))).isNotEqualTo(plan(new Entry("a").set("1")));
+        assertThat(plan(new Entry("a").set("1"))).isNotEqualTo(plan(new Entry("a").defaultValue("1")));
+        assertThat(UpToDateCheck.plan(List.of(new Entry("a").set("1")), "comment", false,
+                StandardCharsets.ISO_8859_1, null)).isNotEqualTo(plan(new Entry("a").set("1")));
+        assertThat(UpToDateCheck.plan(List.of(new Entry("a").set("1")), "", false, StandardCharsets.UTF_8, null))
+                .isNotEqualTo(plan(new Entry("a").set("1")));
+        assertThat(UpToDateCheck.plan(List.of(new Entry("a").set("1")), "", false, StandardCharsets.ISO_8859_1,
+                Instant.EPOCH)).isNotEqualTo(plan(new Entry("a").set("1")));
+        assertThat(plan(new EntryPrefix("a.").copyTo("b."))).isNotNull()
+                .isNotEqualTo(plan(new EntryPrefix("a.").renamePrefix("b.")));
+        assertThat(plan(new EntryMatch("a.*").set("1"))).isNotNull();
+    }
+
+    @Test
+    void shouldNotFingerprintOtherEntries() {
+        assertThat(plan(new Entry("a").set(() -> "1"))).as("supplier").isNull();
+        assertThat(plan(new EntryInt("a").calc(Calc.ADD))).as("calc").isNull();
+        assertThat(plan(new Entry("a").modify("x", String::concat))).as("modify").isNull();
+        assertThat(plan(new Entry("a").set("${b}").interpolate())).as("interpolate").isNull();
+        assertThat(plan(new EntryDate("a").now())).as("now").isNull();
+        assertThat(plan(new EntryVersion("a").bump(EntryVersion.Bump.PATCH))).as("bump").isNull();
+        assertThat(plan(new EntryChecksum("a").file("src"))).as("checksum").isNull();
+        assertThat(plan(new EntryGit("a"))).as("git").isNull();
+        assertThat(plan(new EntryMatch("a.*").when(String::isEmpty).set("1"))).as("when").isNull();
+    }
+
+    @Test
+    void shouldUseStateFilePerPropertiesFile() {
+        var state = tmpDir.resolve("state");
+        assertThat(UpToDateCheck.stateFile(state, Path.of("a/version.properties")))
+                .isEqualTo(UpToDateCheck.stateFile(state, Path.of("a/../a/version.properties")))
+                .isNotEqualTo(UpToDateCheck.stateFile(state, Path.of("b/version.properties")));
+        assertThat(UpToDateCheck.stateFile(state, Path.of("version.properties")).getFileName().toString())
+                .startsWith("version.properties-").endsWith(".state");
+    }
+}
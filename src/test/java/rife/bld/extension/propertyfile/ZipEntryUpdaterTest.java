@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension.propertyfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ZipEntryUpdaterTest {
+
+    private static final String BUILD_INFO = "META-INF/build-info.properties";
+
+    @TempDir
+    private Path tmpDir;
+
+    private static Map<String, byte[]> contents() {
+        var random = new Random(42);
+        var big = new byte[200_000];
+        random.nextBytes(big);
+        var contents = new LinkedHashMap<String, byte[]>();
+        contents.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        contents.put("a.txt", "a".repeat(10_000).getBytes(StandardCharsets.UTF_8));
+        contents.put(BUILD_INFO, "version=1.0\n".getBytes(StandardCharsets.UTF_8));
+        contents.put("b.bin", big);
+        contents.put("c.txt", "c".getBytes(StandardCharsets.UTF_8));
+        return contents;
+    }
+
+    private static Path createZip(Path zip, Map<String, byte[]> contents) throws IOException {
+        try (var out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.setComment("archive comment");
+            for (var e : contents.entrySet()) {
+                var entry = new ZipEntry(e.getKey());
+                if (e.getKey().endsWith(".bin")) {
+                    // stored
+                    var crc = new CRC32();
+                    crc.update(e.getValue());
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(e.getValue().length);
+                    entry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(entry);
+                out.write(e.getValue());
+                out.closeEntry();
+            }
+        }
+        return zip;
+    }
+
+    // Checks the archive with both the central directory and the local headers.
+    private static void verify(Path zip, Map<String, byte[]> expected) throws IOException {
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            assertThat(zipFile.size()).isEqualTo(expected.size());
+            assertThat(zipFile.getComment()).isEqualTo("archive comment");
+            for (var e : expected.entrySet()) {
+                try (var in = zipFile.getInputStream(zipFile.getEntry(e.getKey()))) {
+                    assertThat(in.readAllBytes()).as(e.getKey()).isEqualTo(e.getValue());
+                }
+            }
+        }
+        var count = 0;
+        try (var in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (var entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                assertThat(in.readAllBytes()).as(entry.getName()).isEqualTo(expected.get(entry.getName()));
+                count++;
+            }
+        }
+        assertThat(count).as("local entries").isEqualTo(expected.size());
+    }
+
+    @Test
+    void shouldAddEntry() throws Exception {
+        var contents = contents();
+        var zip = createZip(tmpDir.resolve("test.jar"), contents);
+
+        var updater = new ZipEntryUpdater(zip, "META-INF/new.properties");
+        assertThat(updater.exists()).isFalse();
+        assertThatCode(updater::read).isInstanceOf(IOException.class);
+        updater.write("new=true\n".getBytes(StandardCharsets.UTF_8), null);
+
+        contents.put("META-INF/new.properties", "new=true\n".getBytes(StandardCharsets.UTF_8));
+        verify(zip, contents);
+    }
+
+    @Test
+    void shouldDateEntry() throws Exception {
+        var zip = createZip(tmpDir.resolve("test.jar"), contents());
+
+        new ZipEntryUpdater(zip, "META-INF/new.properties").write(new byte[]{'a'}, null);
+        var timestamp = Instant.parse("2024-05-06T07:08:10Z");
+        new ZipEntryUpdater(zip, BUILD_INFO).write(new byte[]{'b'}, timestamp);
+        var time = LocalDateTime.of(2000, 1, 2, 3, 4, 6);
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            time = zipFile.getEntry("c.txt").getTimeLocal();
+            assertThat(zipFile.getEntry("META-INF/new.properties").getTimeLocal())
+                    .isEqualTo(LocalDateTime.of(1980, 1, 1, 0, 0));
+            assertThat(zipFile.getEntry(BUILD_INFO).getTimeLocal())
+                    .isEqualTo(LocalDateTime.ofInstant(timestamp, ZoneOffset.UTC));
+        }
+
+        // the time of the replaced entry is kept
+        new ZipEntryUpdater(zip, "c.txt").write(new byte[]{'c'}, null);
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            assertThat(zipFile.getEntry("c.txt").getTimeLocal()).isEqualTo(time);
+        }
+    }
+
+    @Test
+    void shouldNotRewriteUnchangedEntry() throws Exception {
+        var contents = contents();
+        var zip = createZip(tmpDir.resolve("test.jar"), contents);
+        var original = Files.readAllBytes(zip);
+
+        assertThat(new ZipEntryUpdater(zip, BUILD_INFO).write(contents.get(BUILD_INFO), Instant.now())).isFalse();
+        assertThat(Files.readAllBytes(zip)).isEqualTo(original);
+    }
+
+    @Test
+    void shouldReadEntries() throws Exception {
+        var contents = contents();
+        var zip = createZip(tmpDir.resolve("test.jar"), contents);
+        for (var e : contents.entrySet()) {
+            var updater = new ZipEntryUpdater(zip, e.getKey());
+            assertThat(updater.exists()).isTrue();
+            assertThat(updater.read()).as(e.getKey()).isEqualTo(e.getValue());
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidArchive() throws Exception {
+        var file = Files.writeString(tmpDir.resolve("test.jar"), "not a zip");
+        assertThatCode(() -> new ZipEntryUpdater(file, BUILD_INFO)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a zip archive");
+    }
+
+    @Test
+    void shouldReplaceEntry() throws Exception {
+        var contents = contents();
+        var zip = createZip(tmpDir.resolve("test.jar"), contents);
+        var size = Files.size(zip);
+
+        // too large to fit, so the following entries are shifted
+        var sb = new StringBuilder();
+        for (var i = 0; i < 100; i++) {
+            sb.append("key").append(i).append('=').append(i * 7919).append('\n');
+        }
+        var content = sb.toString().getBytes(StandardCharsets.UTF_8);
+        new ZipEntryUpdater(zip, BUILD_INFO).write(content, null);
+        contents.put(BUILD_INFO, content);
+        verify(zip, contents);
+        assertThat(new ZipEntryUpdater(zip, BUILD_INFO).read()).isEqualTo(content);
+        assertThat(Files.size(zip)).isGreaterThan(size);
+
+        // smaller, so padded in place
+        size = Files.size(zip);
+        var shorter = "v=3\n".getBytes(StandardCharsets.UTF_8);
+        new ZipEntryUpdater(zip, BUILD_INFO).write(shorter, null);
+        contents.put(BUILD_INFO, shorter);
+        verify(zip, contents);
+        assertThat(Files.size(zip)).isEqualTo(size);
+    }
+
+    @Test
+    void shouldReplaceEntryInPlace() throws Exception {
+        var contents = contents();
+        var zip = createZip(tmpDir.resolve("test.jar"), contents);
+        var original = Files.readAllBytes(zip);
+
+        for (var i = 1; i < 10; i++) {
+            var content = ("version=1." + i + '\n').getBytes(StandardCharsets.UTF_8);
+            assertThat(new ZipEntryUpdater(zip, BUILD_INFO).write(content, null)).isTrue();
+            contents.put(BUILD_INFO, content);
+            verify(zip, contents);
+            assertThat(Files.size(zip)).as("same size").isEqualTo(original.length);
+        }
+        // the entries around it are untouched
+        var updated = Files.readAllBytes(zip);
+        var offset = new String(original, StandardCharsets.ISO_8859_1).indexOf(BUILD_INFO) - 30;
+        assertThat(Arrays.copyOf(updated, offset)).isEqualTo(Arrays.copyOf(original, offset));
+    }
+
+    @Test
+    void shouldReplaceStoredEntry() throws Exception {
+        var contents = contents();
+        var zip = createZip(tmpDir.resolve("test.jar"), contents);
+
+        var size = Files.size(zip);
+        new ZipEntryUpdater(zip, "b.bin").write(new byte[]{1, 2, 3}, null);
+        contents.put("b.bin", new byte[]{1, 2, 3});
+        verify(zip, contents);
+        assertThat(Files.size(zip)).as("shifted back").isLessThan(size - 100_000);
+    }
+}